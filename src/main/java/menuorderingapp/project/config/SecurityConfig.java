@@ -1,6 +1,8 @@
 package menuorderingapp.project.config;
 
 import menuorderingapp.project.security.CashierUserDetailsService;
+import menuorderingapp.project.security.PosTokenAuthenticationFilter;
+import menuorderingapp.project.security.PosTokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,24 +12,34 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.session.SessionManagementFilter;
 
 @Configuration
 public class SecurityConfig {
 
     private final CashierUserDetailsService cashierUserDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final PosTokenService posTokenService;
 
-    public SecurityConfig(CashierUserDetailsService cashierUserDetailsService, PasswordEncoder passwordEncoder) {
+    public SecurityConfig(CashierUserDetailsService cashierUserDetailsService, PasswordEncoder passwordEncoder,
+                          PosTokenService posTokenService) {
         this.cashierUserDetailsService = cashierUserDetailsService;
         this.passwordEncoder = passwordEncoder;
+        this.posTokenService = posTokenService;
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf
                         .ignoringRequestMatchers(
-                                "/ws/**"
+                                "/ws/**",
+                                "/api/payments/callback",
+                                // Returns the token in the body and sets no cookie, so there is no session to forge
+                                "/auth/api/pos-token"
                         )
+                        // Browsers never attach a bearer token on their own, so these requests cannot be forged
+                        .ignoringRequestMatchers(request -> posTokenService.isEnabled()
+                                && PosTokenAuthenticationFilter.hasBearerToken(request))
                 )
 //            csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
@@ -38,8 +50,10 @@ public class SecurityConfig {
                                 "/customer/**",
                                 "/auth/login",
                                 "/auth/api/login",
+                                "/auth/api/pos-token",
                                 "/api/menus",
                                 "/api/categories",
+                                "/api/payments/callback",
                                 "/ws/**",
                                 "/setup/**",
                                 "/static/**",
@@ -103,6 +117,12 @@ public class SecurityConfig {
                         )
                 );
 
+        // After session management, which would otherwise take the token's authentication for a fresh login
+        // and register a session for it
+        if (posTokenService.isEnabled()) {
+            http.addFilterAfter(new PosTokenAuthenticationFilter(posTokenService), SessionManagementFilter.class);
+        }
+
         return http.build();
     }
 
@@ -1,10 +1,25 @@
 package menuorderingapp.project.config;
 
+import menuorderingapp.project.session.CompactSessionAttributeCodec;
+import menuorderingapp.project.session.JavaSessionAttributeCodec;
+import menuorderingapp.project.session.NearCacheSessionRepository;
+import menuorderingapp.project.session.SessionAttributeCodec;
+import menuorderingapp.project.session.SessionNearCache;
+import menuorderingapp.project.session.SessionTable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
 import org.springframework.session.web.http.CookieSerializer;
 import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.util.ClassUtils;
 
 @Configuration
 public class SessionConfig {
@@ -26,4 +41,38 @@ public class SessionConfig {
         serializer.setSameSite(useSecureCookies ? "Strict" : "Lax");
         return serializer;
     }
+
+    @Bean
+    public SessionAttributeCodec sessionAttributeCodec(@Value("${app.session.codec:compact}") String codec) {
+        SessionAttributeCodec java = new JavaSessionAttributeCodec(ClassUtils.getDefaultClassLoader());
+        // Switching to java only changes what is written; rows already stored compact must still load
+        return new CompactSessionAttributeCodec(java, !"java".equalsIgnoreCase(codec));
+    }
+
+    // Picked up by name by Spring Session JDBC to write and read SPRING_SESSION_ATTRIBUTES
+    @Bean
+    public ConversionService springSessionConversionService(SessionAttributeCodec sessionAttributeCodec) {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, sessionAttributeCodec::encode);
+        conversionService.addConverter(byte[].class, Object.class, sessionAttributeCodec::decode);
+        return conversionService;
+    }
+
+    // Wraps the auto-configured JDBC repository so schema setup, timeout and expiry cleanup stay Spring Boot's
+    @Bean
+    @ConditionalOnProperty(name = "app.session.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor sessionNearCachePostProcessor(ObjectProvider<SessionNearCache> nearCache,
+                                                                  ObjectProvider<SessionTable> sessionTable) {
+        return new BeanPostProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JdbcIndexedSessionRepository jdbcRepository) {
+                    SessionRepository<Session> delegate = (SessionRepository<Session>) (SessionRepository<?>) jdbcRepository;
+                    return new NearCacheSessionRepository<>(delegate, nearCache.getObject(), sessionTable.getObject());
+                }
+                return bean;
+            }
+        };
+    }
 }
@@ -2,6 +2,8 @@ package menuorderingapp.project.controller;
 
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.dto.*;
+import menuorderingapp.project.security.PosTokenAuthenticationFilter;
+import menuorderingapp.project.security.PosTokenService;
 import menuorderingapp.project.service.AuthService;
 import menuorderingapp.project.service.CashierService;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +15,9 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Controller
 @RequestMapping("/auth")
 public class AuthController extends BaseController {
@@ -85,6 +90,24 @@ public class AuthController extends BaseController {
         }
     }
 
+    // For dedicated POS terminals: send the token as "Authorization: Bearer <token>" instead of a session cookie
+    @PostMapping("/api/pos-token")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<PosTokenResponse>> issuePosToken(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            PosTokenService.IssuedToken issued =
+                    authService.issuePosToken(loginRequest.getUsername(), loginRequest.getPassword());
+
+            PosTokenResponse response = new PosTokenResponse(issued.token(),
+                    LocalDateTime.ofInstant(issued.expiresAt(), ZoneId.systemDefault()),
+                    convertToCashierDto(issued.cashier()));
+            return success(response);
+
+        } catch (Exception e) {
+            return unauthorized(e.getMessage());
+        }
+    }
+
     @PostMapping("/logout")
     public String logout(HttpSession session) {
         String sessionToken = (String) session.getAttribute("sessionToken");
@@ -98,6 +121,11 @@ public class AuthController extends BaseController {
     @PostMapping("/api/logout")
     @ResponseBody
     public ResponseEntity<ApiResponse<Void>> apiLogout(HttpServletRequest request) {
+        if (PosTokenAuthenticationFilter.hasBearerToken(request)) {
+            authService.revokePosToken(request.getHeader("Authorization")
+                    .substring(PosTokenAuthenticationFilter.BEARER_PREFIX.length()));
+        }
+
         String sessionToken = request.getHeader("X-Session-Token");
         if (sessionToken != null) {
             authService.logout(sessionToken);
@@ -1,6 +1,7 @@
 package menuorderingapp.project.controller;
 
 import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.model.dto.PaymentResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,6 +21,10 @@ public class BaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Created successfully", data));
     }
 
+    protected <T> ResponseEntity<ApiResponse<T>> accepted(T data) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Accepted", data));
+    }
+
     protected <T> ResponseEntity<ApiResponse<T>> error(String message) {
         return ResponseEntity.badRequest().body(ApiResponse.error(message));
     }
@@ -35,4 +40,12 @@ public class BaseController {
     protected <T> ResponseEntity<ApiResponse<T>> unauthorized(String message) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(message));
     }
+
+    protected PaymentResponse pendingPaymentResponse(String orderNumber, String reference) {
+        PaymentResponse response = new PaymentResponse(true, "Waiting for payment confirmation");
+        response.setOrderNumber(orderNumber);
+        response.setPaymentReference(reference);
+        response.setStatus("PENDING");
+        return response;
+    }
 }
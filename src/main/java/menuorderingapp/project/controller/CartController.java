@@ -7,6 +7,7 @@ import menuorderingapp.project.model.dto.ApiResponse;
 import menuorderingapp.project.model.dto.CartItemRequest;
 import menuorderingapp.project.model.dto.CartItemResponse;
 import menuorderingapp.project.model.dto.CartResponse;
+import menuorderingapp.project.service.CartStore;
 import menuorderingapp.project.service.MenuService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -16,17 +17,19 @@ import org.springframework.web.bind.annotation.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/customer")
 public class CartController extends BaseController {
 
     private final MenuService menuService;
-    private static final String CART_SESSION_KEY = "shopping_cart";
+    private final CartStore cartStore;
+    // Carts used to be stored in the session; left-over ones are moved into the cart store on first use
+    private static final String LEGACY_CART_SESSION_KEY = "shopping_cart";
 
-    public CartController(MenuService menuService) {
+    public CartController(MenuService menuService, CartStore cartStore) {
         this.menuService = menuService;
+        this.cartStore = cartStore;
     }
 
     // ========== API ENDPOINTS ==========
@@ -38,38 +41,16 @@ public class CartController extends BaseController {
             @Valid @RequestBody CartItemRequest request,
             HttpSession session) {
         try {
-            // Get or create cart from session
-            ShoppingCart cart = getCartFromSession(session);
-
-            // Get menu details
-            Optional<Menu> menuOpt = menuService.getMenuById(request.getMenuId());
-            if (menuOpt.isEmpty()) {
-                return error("Menu tidak ditemukan");
-            }
-
-            Menu menu = menuOpt.get();
-            if (!menu.getAvailable()) {
-                return error("Menu tidak tersedia");
+            // Available menus come from the in-memory catalog; the database is only asked to word the error
+            Menu menu = menuService.getMenusByIds(List.of(request.getMenuId())).get(request.getMenuId());
+            if (menu == null) {
+                return error(menuService.getMenuById(request.getMenuId()).isPresent()
+                        ? "Menu tidak tersedia" : "Menu tidak ditemukan");
             }
 
-            // Add or update cart item
-            CartItem existingItem = cart.getItems().get(request.getMenuId());
-            if (existingItem != null) {
-                existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
-            } else {
-                CartItem newItem = new CartItem(
-                        request.getMenuId(),
-                        menu.getName(),
-                        menu.getCurrentPrice(),
-                        request.getQuantity(),
-                        menu.getImageUrl()
-                );
-                cart.getItems().put(request.getMenuId(), newItem);
-            }
+            Map<Long, Integer> items = cartStore.add(cartId(session), request.getMenuId(), request.getQuantity());
 
-            session.setAttribute(CART_SESSION_KEY, cart);
-
-            CartResponse response = buildCartResponse(cart);
+            CartResponse response = buildCartResponse(items);
             return success("Item berhasil ditambahkan ke keranjang", response);
 
         } catch (Exception e) {
@@ -81,8 +62,7 @@ public class CartController extends BaseController {
     @GetMapping("/api/cart")
     @ResponseBody
     public ResponseEntity<ApiResponse<CartResponse>> getCart(HttpSession session) {
-        ShoppingCart cart = getCartFromSession(session);
-        CartResponse response = buildCartResponse(cart);
+        CartResponse response = buildCartResponse(cartStore.getItems(cartId(session)));
         return success(response);
     }
 
@@ -90,9 +70,11 @@ public class CartController extends BaseController {
     @GetMapping("/api/cart/count")
     @ResponseBody
     public ResponseEntity<ApiResponse<Map<String, Integer>>> getCartCount(HttpSession session) {
-        ShoppingCart cart = getCartFromSession(session);
-        int count = cart.getItems().values().stream()
-                .mapToInt(CartItem::getQuantity)
+        Map<Long, Integer> items = cartStore.getItems(cartId(session));
+        Map<Long, Menu> menus = menuService.getMenusByIds(items.keySet());
+        int count = items.entrySet().stream()
+                .filter(item -> menus.containsKey(item.getKey()))
+                .mapToInt(Map.Entry::getValue)
                 .sum();
 
         Map<String, Integer> response = new HashMap<>();
@@ -112,17 +94,12 @@ public class CartController extends BaseController {
                 return error("Quantity harus minimal 1");
             }
 
-            ShoppingCart cart = getCartFromSession(session);
-            CartItem item = cart.getItems().get(menuId);
-
-            if (item == null) {
+            Optional<Map<Long, Integer>> items = cartStore.update(cartId(session), menuId, quantity);
+            if (items.isEmpty()) {
                 return error("Item tidak ditemukan di keranjang");
             }
 
-            item.setQuantity(quantity);
-            session.setAttribute(CART_SESSION_KEY, cart);
-
-            CartResponse response = buildCartResponse(cart);
+            CartResponse response = buildCartResponse(items.get());
             return success("Quantity berhasil diupdate", response);
 
         } catch (Exception e) {
@@ -137,16 +114,12 @@ public class CartController extends BaseController {
             @PathVariable Long menuId,
             HttpSession session) {
         try {
-            ShoppingCart cart = getCartFromSession(session);
-            CartItem removedItem = cart.getItems().remove(menuId);
-
-            if (removedItem == null) {
+            Optional<Map<Long, Integer>> items = cartStore.remove(cartId(session), menuId);
+            if (items.isEmpty()) {
                 return error("Item tidak ditemukan di keranjang");
             }
 
-            session.setAttribute(CART_SESSION_KEY, cart);
-
-            CartResponse response = buildCartResponse(cart);
+            CartResponse response = buildCartResponse(items.get());
             return success("Item berhasil dihapus dari keranjang", response);
 
         } catch (Exception e) {
@@ -158,7 +131,7 @@ public class CartController extends BaseController {
     @DeleteMapping("/api/cart/clear")
     @ResponseBody
     public ResponseEntity<ApiResponse<Map<String, String>>> clearCart(HttpSession session) {
-        session.removeAttribute(CART_SESSION_KEY);
+        cartStore.clear(cartId(session));
         Map<String, String> response = new HashMap<>();
         response.put("message", "Keranjang berhasil dikosongkan");
         return success(response);
@@ -167,34 +140,38 @@ public class CartController extends BaseController {
     // Show cart page
     @GetMapping("/cart")
     public String showCartPage(Model model, HttpSession session) {
-        ShoppingCart cart = getCartFromSession(session);
-        model.addAttribute("cart", buildCartResponse(cart));
+        model.addAttribute("cart", buildCartResponse(cartStore.getItems(cartId(session))));
         return "customer/cart";
     }
 
     // ========== HELPER METHODS ==========
 
-    private ShoppingCart getCartFromSession(HttpSession session) {
-        ShoppingCart cart = (ShoppingCart) session.getAttribute(CART_SESSION_KEY);
-        if (cart == null) {
-            cart = new ShoppingCart();
-            session.setAttribute(CART_SESSION_KEY, cart);
+    private String cartId(HttpSession session) {
+        String cartId = session.getId();
+        if (session.getAttribute(LEGACY_CART_SESSION_KEY) instanceof ShoppingCart legacy) {
+            legacy.getItems().values().forEach(item -> cartStore.add(cartId, item.getMenuId(), item.getQuantity()));
+            session.removeAttribute(LEGACY_CART_SESSION_KEY);
         }
-        return cart;
+        return cartId;
     }
 
-    private CartResponse buildCartResponse(ShoppingCart cart) {
-        List<CartItemResponse> itemResponses = cart.getItems().values().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-
-        BigDecimal subtotal = cart.getItems().values().stream()
-                .map(item -> item.getPrice().multiply(new BigDecimal(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int totalItems = cart.getItems().values().stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum();
+    // Names and prices are read from the current catalog; items whose menu is no longer available are left out
+    private CartResponse buildCartResponse(Map<Long, Integer> items) {
+        Map<Long, Menu> menus = menuService.getMenusByIds(items.keySet());
+
+        List<CartItemResponse> itemResponses = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int totalItems = 0;
+        for (Map.Entry<Long, Integer> item : items.entrySet()) {
+            Menu menu = menus.get(item.getKey());
+            if (menu == null) {
+                continue;
+            }
+            CartItemResponse itemResponse = convertToResponse(menu, item.getValue());
+            itemResponses.add(itemResponse);
+            subtotal = subtotal.add(itemResponse.getSubtotal());
+            totalItems += item.getValue();
+        }
 
         CartResponse response = new CartResponse();
         response.setItems(itemResponses);
@@ -205,21 +182,21 @@ public class CartController extends BaseController {
         return response;
     }
 
-    private CartItemResponse convertToResponse(CartItem item) {
+    private CartItemResponse convertToResponse(Menu menu, int quantity) {
         CartItemResponse response = new CartItemResponse();
-        response.setMenuId(item.getMenuId());
-        response.setMenuName(item.getMenuName());
-        response.setPrice(item.getPrice());
-        response.setQuantity(item.getQuantity());
-        response.setSubtotal(item.getPrice().multiply(new BigDecimal(item.getQuantity())));
-        response.setImageUrl(item.getImageUrl());
+        response.setMenuId(menu.getId());
+        response.setMenuName(menu.getName());
+        response.setPrice(menu.getCurrentPrice());
+        response.setQuantity(quantity);
+        response.setSubtotal(menu.getCurrentPrice().multiply(new BigDecimal(quantity)));
+        response.setImageUrl(menu.getImageUrl());
         return response;
     }
 
     // ========== INNER CLASSES (Keep in same file) ==========
 
     /**
-     * Shopping cart stored in HTTP session
+     * Shopping cart as it used to be stored in the HTTP session; only read to migrate existing sessions
      */
     public static class ShoppingCart implements Serializable {
         private static final long serialVersionUID = 1L;
@@ -6,10 +6,16 @@ import menuorderingapp.project.service.*;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import menuorderingapp.project.util.SecurityUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,13 +43,16 @@ public class CashierController extends BaseController{
     private final MenuAuditService menuAuditService;
     private final ObjectMapper objectMapper;
     private final CashierService cashierService;
+    private final ActiveOrderBoard activeOrderBoard;
+    private final LiveDashboard liveDashboard;
 
     public CashierController(OrderService orderService, MenuService menuService,
                              PaymentService paymentService, ReportService reportService,
                              InvoiceService invoiceService, AuthService authService,
                              OrderWebSocketController webSocketController,
                              MenuAuditService menuAuditService, ObjectMapper objectMapper,
-                             CashierService cashierService) {
+                             CashierService cashierService, ActiveOrderBoard activeOrderBoard,
+                             LiveDashboard liveDashboard) {
         this.orderService = orderService;
         this.menuService = menuService;
         this.paymentService = paymentService;
@@ -54,6 +63,8 @@ public class CashierController extends BaseController{
         this.menuAuditService = menuAuditService;
         this.objectMapper = objectMapper;
         this.cashierService = cashierService;
+        this.activeOrderBoard = activeOrderBoard;
+        this.liveDashboard = liveDashboard;
     }
 
     @GetMapping("/dashboard")
@@ -62,44 +73,38 @@ public class CashierController extends BaseController{
             return "redirect:/auth/login";
         }
 
-        long pendingOrders = orderService.getPendingOrdersCount();
-        double todayRevenue = orderService.getTotalRevenueToday();
-        List<Order> recentOrders = orderService.getTodayOrders();
+        DashboardSnapshot snapshot = liveDashboard.getSnapshot();
 
-        model.addAttribute("pendingOrders", pendingOrders);
-        model.addAttribute("todayRevenue", todayRevenue);
-        model.addAttribute("recentOrders", recentOrders);
+        model.addAttribute("pendingOrders", snapshot.getPendingOrders());
+        model.addAttribute("todayRevenue", snapshot.getTodayRevenue());
+        model.addAttribute("recentOrders", activeOrderBoard.getActiveOrders());
         model.addAttribute("cashier", session.getAttribute("cashier"));
         model.addAttribute("currentPath", "/cashier/dashboard");
 
         return "cashier/dashboard";
     }
 
-    @GetMapping("/api/dashboard/stats")
+    // Also serves clients that missed a /topic/dashboard event and need the state at a known sequence
+    @GetMapping({"/api/dashboard/stats", "/api/dashboard/resync"})
     @ResponseBody
-    public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats(HttpSession session) {
+    public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats() {
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
 
         try {
-            long pendingOrders = orderService.getPendingOrdersCount();
-            double todayRevenue = orderService.getTotalRevenueToday();
-            List<Order> recentOrders = orderService.getTodayOrders();
-            long availableMenus = menuService.getAvailableMenus().size();
-            long todayOrdersCount = (long) recentOrders.size();
-
-            List<OrderResponse> orderResponses = recentOrders.stream()
-                    .map(this::convertToOrderResponse)
-                    .collect(Collectors.toList());
+            // Counters and open orders are both held in memory; no queries here
+            DashboardSnapshot snapshot = liveDashboard.getSnapshot();
 
             DashboardStatsResponse stats = new DashboardStatsResponse(
-                    todayRevenue,
-                    todayOrdersCount,
-                    pendingOrders,
-                    availableMenus,
-                    orderResponses
+                    snapshot.getTodayRevenue(),
+                    snapshot.getTodayOrders(),
+                    snapshot.getPendingOrders(),
+                    snapshot.getAvailableMenus(),
+                    activeOrderBoard.getActiveOrders()
             );
+            stats.setOrdersByStatus(snapshot.getOrdersByStatus());
+            stats.setSequence(snapshot.getSequence());
 
             return success(stats);
 
@@ -115,41 +120,71 @@ public class CashierController extends BaseController{
             return "redirect:/auth/login";
         }
 
-        List<Order> orders = orderService.getAllOrders();
-        model.addAttribute("orders", orders);
+        // Orders are loaded page by page from /api/orders/page
         model.addAttribute("cashier", session.getAttribute("cashier"));
         model.addAttribute("currentPath", "/cashier/orders");
 
         return "cashier/orders";
     }
 
-    // Get All Orders API
-    @GetMapping("/api/orders/all")
+    // Get Orders Page API (keyset pagination, newest first)
+    @GetMapping("/api/orders/page")
     @ResponseBody
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders(HttpSession session) {
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> getOrderPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) Order.PaymentStatus paymentStatus,
+            @RequestParam(required = false) Order.PaymentMethod paymentMethod,
+            @RequestParam(required = false) Order.OrderType orderType,
+            @RequestParam(required = false) Long cashierId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
 
         try {
-            List<Order> orders = orderService.getAllOrders();
+            OrderFilter filter = new OrderFilter();
+            filter.setStatus(status);
+            filter.setPaymentStatus(paymentStatus);
+            filter.setPaymentMethod(paymentMethod);
+            filter.setOrderType(orderType);
+            filter.setCashierId(cashierId);
+            filter.setDate(date);
 
+            CursorPage<Order> page = orderService.getOrderPage(filter, cursor, size);
 
-            List<OrderResponse> orderResponses = orders.stream()
+            List<OrderResponse> orderResponses = page.getItems().stream()
                     .map(this::convertToOrderResponse)
                     .collect(Collectors.toList());
 
-            return success(orderResponses);
+            return success(new CursorPage<>(orderResponses, page.getNextCursor()));
 
         } catch (Exception e) {
             return error("Failed to fetch orders: " + e.getMessage());
         }
     }
 
+    // Get Active Orders API (served from memory, kept current over /topic/orders)
+    @GetMapping("/api/orders/active")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> getActiveOrders() {
+        if (!isAuthenticatedCashier()) {
+            return unauthorized("Not authenticated");
+        }
+
+        try {
+            return success(activeOrderBoard.getActiveOrders());
+
+        } catch (Exception e) {
+            return error("Failed to fetch active orders: " + e.getMessage());
+        }
+    }
+
     // Get Today's Orders API
     @GetMapping("/api/orders/today")
     @ResponseBody
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getTodayOrders(HttpSession session) {
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> getTodayOrders() {
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
@@ -172,8 +207,7 @@ public class CashierController extends BaseController{
     @GetMapping("/api/orders/by-date")
     @ResponseBody
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByDate(
-            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            HttpSession session) {
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
@@ -199,8 +233,7 @@ public class CashierController extends BaseController{
     @PostMapping("/api/orders")
     @ResponseBody
     public ResponseEntity<ApiResponse<OrderResponse>> createCashierOrder(
-            @Valid @RequestBody OrderRequest orderRequest,
-            HttpSession session) {
+            @Valid @RequestBody OrderRequest orderRequest) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -224,22 +257,14 @@ public class CashierController extends BaseController{
             order.setPaymentStatus(Order.PaymentStatus.PENDING);
             order.setCashier(cashierOpt.get());
 
-            // Add items to order
-            for (OrderItemRequest itemRequest : orderRequest.getItems()) {
-                Optional<Menu> menu = menuService.getMenuById(itemRequest.getMenuId());
-                if (menu.isPresent() && menu.get().getAvailable()) {
-                    OrderItem orderItem = new OrderItem(menu.get(), itemRequest.getQuantity());
-                    order.addOrderItem(orderItem);
-                }
-            }
+            // Resolve all menus in one lookup
+            Map<Long, Menu> menus = menuService.getMenusByIds(orderRequest.getItems().stream()
+                    .map(OrderItemRequest::getMenuId)
+                    .collect(Collectors.toSet()));
 
-            Order savedOrder = orderService.createOrder(order);
+            Order savedOrder = orderService.createOrder(order, orderRequest.getItems(), menus);
             OrderResponse orderResponse = convertToOrderResponse(savedOrder);
 
-            // Broadcast order creation via WebSocket
-            webSocketController.broadcastOrderUpdate(orderResponse);
-            webSocketController.broadcastDashboardUpdate();
-
             return created(orderResponse);
 
         } catch (Exception e) {
@@ -252,8 +277,7 @@ public class CashierController extends BaseController{
     @ResponseBody
     public ResponseEntity<ApiResponse<OrderResponse>> updateOrderStatus(
             @PathVariable Long orderId,
-            @RequestParam Order.OrderStatus status,
-            HttpSession session) {
+            @RequestParam Order.OrderStatus status) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -263,10 +287,6 @@ public class CashierController extends BaseController{
             Order updatedOrder = orderService.updateOrderStatus(orderId, status);
             OrderResponse orderResponse = convertToOrderResponse(updatedOrder);
 
-            // Broadcast order update via WebSocket
-            webSocketController.broadcastOrderUpdate(orderResponse);
-            webSocketController.broadcastDashboardUpdate();
-
             return success("Order status updated", orderResponse);
 
         } catch (Exception e) {
@@ -278,8 +298,7 @@ public class CashierController extends BaseController{
     @PostMapping("/api/payments")
     @ResponseBody
     public ResponseEntity<ApiResponse<PaymentResponse>> processCashierPayment(
-            @Valid @RequestBody PaymentRequest paymentRequest,
-            HttpSession session) {
+            @Valid @RequestBody PaymentRequest paymentRequest) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -289,10 +308,11 @@ public class CashierController extends BaseController{
             boolean paymentSuccess = false;
 
             if (paymentRequest.getPaymentMethod() == Order.PaymentMethod.QR_CODE) {
-                paymentSuccess = paymentService.processQRPayment(
-                        paymentRequest.getOrderNumber(),
-                        paymentRequest.getQrData()
-                );
+                // Confirmation arrives asynchronously; the invoice is generated when it does
+                var currentCashier = SecurityUtils.getCurrentCashier();
+                String reference = paymentService.submitQRPayment(paymentRequest.getOrderNumber(),
+                        currentCashier != null ? currentCashier.getCashierId() : null);
+                return accepted(pendingPaymentResponse(paymentRequest.getOrderNumber(), reference));
             } else if (paymentRequest.getPaymentMethod() == Order.PaymentMethod.CASH) {
                 paymentSuccess = paymentService.processCashPayment(
                         paymentRequest.getOrderNumber(),
@@ -304,6 +324,7 @@ public class CashierController extends BaseController{
             paymentResponse.setSuccess(paymentSuccess);
             paymentResponse.setOrderNumber(paymentRequest.getOrderNumber());
             paymentResponse.setMessage(paymentSuccess ? "Payment successful" : "Payment failed");
+            paymentResponse.setStatus(paymentSuccess ? "PAID" : "FAILED");
 
             // Calculate change for cash payments
             if (paymentSuccess && paymentRequest.getPaymentMethod() == Order.PaymentMethod.CASH) {
@@ -320,11 +341,6 @@ public class CashierController extends BaseController{
                 Optional<Order> orderOpt = orderService.getOrderByNumber(paymentRequest.getOrderNumber());
                 if (orderOpt.isPresent() && currentCashier != null) {
                     invoiceService.generateInvoice(orderOpt.get(), currentCashier.getCashierId());
-
-                    // Broadcast payment update via WebSocket
-                    OrderResponse orderResponse = convertToOrderResponse(orderOpt.get());
-                    webSocketController.broadcastOrderUpdate(orderResponse);
-                    webSocketController.broadcastDashboardUpdate();
                 }
 
                 return success(paymentResponse);
@@ -348,20 +364,19 @@ public class CashierController extends BaseController{
         return "cashier/reports";
     }
 
+    // Report screen summary, counted in the database rather than from downloaded orders
     @GetMapping("/api/reports/sales")
     @ResponseBody
     public ResponseEntity<ApiResponse<SalesReportResponse>> getSalesReport(
-            @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate,
-            HttpSession session) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
 
         try {
-            SalesReportResponse response = new SalesReportResponse();
-            return success(response);
+            return success(reportService.getOrderSummary(startDate, endDate));
         } catch (Exception e) {
             return error("Failed to generate report: " + e.getMessage());
         }
@@ -370,7 +385,7 @@ public class CashierController extends BaseController{
     // Generate Missing Invoices for Paid Orders
     @PostMapping("/api/invoices/generate-missing")
     @ResponseBody
-    public ResponseEntity<ApiResponse<Map<String, Object>>> generateMissingInvoices(HttpSession session) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> generateMissingInvoices() {
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
         }
@@ -385,34 +400,19 @@ public class CashierController extends BaseController{
             Long cashierId = currentCashier.getCashierId();
             System.out.println("Generating missing invoices for cashier ID: " + cashierId);
 
-            // Get all PAID orders
-            List<Order> allOrders = orderService.getAllOrders();
-            List<Order> paidOrders = allOrders.stream()
-                    .filter(order -> order.getPaymentStatus() == Order.PaymentStatus.PAID)
-                    .collect(Collectors.toList());
-
-            System.out.println("Found " + paidOrders.size() + " paid orders");
-
-            int createdCount = 0;
-            int skippedCount = 0;
-
-            for (Order order : paidOrders) {
-                // Check if invoice already exists
-                Optional<Invoice> existingInvoice = invoiceService.getInvoiceByOrder(order);
-                if (existingInvoice.isEmpty()) {
-                    invoiceService.generateInvoice(order, cashierId);
-                    createdCount++;
-                } else {
-                    skippedCount++;
-                }
-            }
+            // Anti-join + batched inserts in chunks; progress goes out over WebSocket per chunk
+            InvoiceBackfillProgress progress = invoiceService.generateMissingInvoices(cashierId,
+                    webSocketController::broadcastInvoiceBackfillProgress);
 
             Map<String, Object> result = new HashMap<>();
-            result.put("totalPaidOrders", paidOrders.size());
-            result.put("invoicesCreated", createdCount);
-            result.put("invoicesSkipped", skippedCount);
+            result.put("totalPaidOrders", progress.getTotalPaidOrders());
+            result.put("invoicesCreated", progress.getInvoicesCreated());
+            result.put("invoicesSkipped", progress.getInvoicesSkipped());
+            result.put("chunks", progress.getChunksCompleted());
+            result.put("elapsedMillis", progress.getElapsedMillis());
 
-            System.out.println("Created " + createdCount + " invoices, skipped " + skippedCount);
+            System.out.println("Created " + progress.getInvoicesCreated() + " invoices, skipped "
+                    + progress.getInvoicesSkipped() + " in " + progress.getElapsedMillis() + " ms");
 
             return success("Successfully generated missing invoices", result);
         } catch (Exception e) {
@@ -427,8 +427,7 @@ public class CashierController extends BaseController{
     @ResponseBody
     public ResponseEntity<ApiResponse<List<InvoiceResponse>>> getInvoicesByDateRange(
             @RequestParam("startDate") String startDate,
-            @RequestParam("endDate") String endDate,
-            HttpSession session) {
+            @RequestParam("endDate") String endDate) {
 
         System.out.println("=== GET INVOICES BY DATE RANGE ===");
         System.out.println("Start Date: " + startDate);
@@ -479,8 +478,7 @@ public class CashierController extends BaseController{
     @PutMapping("/api/menus/{menuId}/availability")
     @ResponseBody
     public ResponseEntity<ApiResponse<MenuResponse>> toggleMenuAvailability(
-            @PathVariable Long menuId,
-            HttpSession session) {
+            @PathVariable Long menuId) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -519,8 +517,7 @@ public class CashierController extends BaseController{
     @PostMapping("/api/menus")
     @ResponseBody
     public ResponseEntity<ApiResponse<MenuResponse>> createMenu(
-            @Valid @RequestBody MenuRequest menuRequest,
-            HttpSession session) {
+            @Valid @RequestBody MenuRequest menuRequest) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -568,8 +565,7 @@ public class CashierController extends BaseController{
     @ResponseBody
     public ResponseEntity<ApiResponse<MenuResponse>> updateMenu(
             @PathVariable Long menuId,
-            @Valid @RequestBody MenuRequest menuRequest,
-            HttpSession session) {
+            @Valid @RequestBody MenuRequest menuRequest) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -635,8 +631,7 @@ public class CashierController extends BaseController{
     @DeleteMapping("/api/menus/{menuId}")
     @ResponseBody
     public ResponseEntity<ApiResponse<String>> deleteMenu(
-            @PathVariable Long menuId,
-            HttpSession session) {
+            @PathVariable Long menuId) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -785,8 +780,7 @@ public class CashierController extends BaseController{
     // Create New Category
     @PostMapping("/api/categories")
     public String createCategory(
-            @Valid @ModelAttribute CategoryRequest categoryRequest,
-            HttpSession session) {
+            @Valid @ModelAttribute CategoryRequest categoryRequest) {
 
         if (!isAuthenticatedCashier()) {
             return "redirect:/auth/login";
@@ -815,8 +809,7 @@ public class CashierController extends BaseController{
     @DeleteMapping("/api/categories/{categoryId}")
     @ResponseBody
     public ResponseEntity<ApiResponse<Void>> deleteCategory(
-            @PathVariable Long categoryId,
-            HttpSession session) {
+            @PathVariable Long categoryId) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -835,8 +828,7 @@ public class CashierController extends BaseController{
     @GetMapping("/api/invoices/order/{orderNumber}")
     @ResponseBody
     public ResponseEntity<ApiResponse<Invoice>> getInvoiceByOrderNumber(
-            @PathVariable String orderNumber,
-            HttpSession session) {
+            @PathVariable String orderNumber) {
 
         if (!isAuthenticatedCashier()) {
             return unauthorized("Not authenticated");
@@ -862,21 +854,27 @@ public class CashierController extends BaseController{
 
     // Download Invoice PDF
     @GetMapping("/api/invoices/{invoiceId}/pdf")
-    public ResponseEntity<byte[]> downloadInvoicePdf(
+    public ResponseEntity<StreamingResponseBody> downloadInvoicePdf(
             @PathVariable Long invoiceId,
-            HttpSession session) {
+            WebRequest webRequest) {
 
         if (!isAuthenticatedCashier()) {
             return ResponseEntity.status(401).build();
         }
 
         try {
-            byte[] pdfBytes = invoiceService.generateInvoicePdf(invoiceId);
+            InvoiceDocument document = invoiceService.getInvoiceDocument(invoiceId);
+            String eTag = "\"" + invoiceService.getInvoicePdfKey(document) + "\"";
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
 
             return ResponseEntity.ok()
-                    .header("Content-Type", "application/pdf")
-                    .header("Content-Disposition", "attachment; filename=invoice-" + invoiceId + ".pdf")
-                    .body(pdfBytes);
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invoice-" + invoiceId + ".pdf")
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(eTag)
+                    .body(out -> invoiceService.writeInvoicePdf(document, out));
 
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
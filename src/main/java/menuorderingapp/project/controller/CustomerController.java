@@ -6,14 +6,24 @@ import menuorderingapp.project.service.InvoiceService;
 import menuorderingapp.project.service.MenuService;
 import menuorderingapp.project.service.OrderService;
 import menuorderingapp.project.service.PaymentService;
+import menuorderingapp.project.util.JsonResponseCache;
+import menuorderingapp.project.util.QRCodeImageCache;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Controller
@@ -24,12 +34,15 @@ public class CustomerController extends BaseController {
     private final OrderService orderService;
     private final PaymentService paymentService;
     private final InvoiceService invoiceService;
+    private final JsonResponseCache menuResponseCache;
 
-    public CustomerController(MenuService menuService, OrderService orderService, PaymentService paymentService, InvoiceService invoiceService) {
+    public CustomerController(MenuService menuService, OrderService orderService, PaymentService paymentService,
+                              InvoiceService invoiceService, JsonResponseCache menuResponseCache) {
         this.menuService = menuService;
         this.orderService = orderService;
         this.paymentService = paymentService;
         this.invoiceService = invoiceService;
+        this.menuResponseCache = menuResponseCache;
     }
 
     @GetMapping("/menu")
@@ -76,24 +89,47 @@ public class CustomerController extends BaseController {
 
     @GetMapping("/api/menus")
     @ResponseBody
-    public ResponseEntity<ApiResponse<List<MenuResponse>>> getAvailableMenus(
+    public ResponseEntity<byte[]> getAvailableMenus(
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        List<Menu> menus;
+        String key;
+        Supplier<List<Menu>> menus;
         if (search != null && !search.trim().isEmpty()) {
-            menus = menuService.searchMenus(search);
+            key = "search:" + search.trim().toLowerCase(Locale.ROOT);
+            menus = () -> menuService.searchMenus(search);
         } else if (categoryId != null) {
-            menus = menuService.getMenusByCategory(categoryId);
+            key = "category:" + categoryId;
+            menus = () -> menuService.getMenusByCategory(categoryId);
         } else {
-            menus = menuService.getAvailableMenus();
+            key = "all";
+            menus = menuService::getAvailableMenus;
         }
 
-        List<MenuResponse> menuResponses = menus.stream()
-                .map(this::convertToMenuResponse)
-                .collect(Collectors.toList());
+        JsonResponseCache.CachedJson cached = menuResponseCache.get(key, menuService.getCatalogVersion(),
+                () -> ApiResponse.success(menus.get().stream()
+                        .map(this::convertToMenuResponse)
+                        .collect(Collectors.toList())));
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (cached.matches(ifNoneMatch, gzip)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cached.getETag(gzip))
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
 
-        return success(menuResponses);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(cached.getETag(gzip))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(cached.getBody(gzip));
     }
 
 
@@ -108,15 +144,11 @@ public class CustomerController extends BaseController {
             order.setStatus(Order.OrderStatus.PENDING);
             order.setPaymentStatus(Order.PaymentStatus.PENDING);
 
-            for (OrderItemRequest itemRequest : orderRequest.getItems()) {
-                Optional<Menu> menu = menuService.getMenuById(itemRequest.getMenuId());
-                if (menu.isPresent() && menu.get().getAvailable()) {
-                    OrderItem orderItem = new OrderItem(menu.get(), itemRequest.getQuantity());
-                    order.addOrderItem(orderItem);
-                }
-            }
+            Map<Long, Menu> menus = menuService.getMenusByIds(orderRequest.getItems().stream()
+                    .map(OrderItemRequest::getMenuId)
+                    .collect(Collectors.toSet()));
 
-            Order savedOrder = orderService.createOrder(order);
+            Order savedOrder = orderService.createOrder(order, orderRequest.getItems(), menus);
             OrderResponse orderResponse = convertToOrderResponse(savedOrder);
 
             return created(orderResponse);
@@ -198,20 +230,25 @@ public class CustomerController extends BaseController {
 
     @GetMapping("/api/orders/{orderNumber}/qr-code")
     @ResponseBody
-    public ResponseEntity<ApiResponse<PaymentResponse>> generateQRCode(@PathVariable String orderNumber) {
+    public ResponseEntity<ApiResponse<PaymentResponse>> generateQRCode(
+            @PathVariable String orderNumber,
+            @RequestParam(defaultValue = "true") boolean inline) {
         try {
             Optional<Order> orderOpt = orderService.getOrderByNumber(orderNumber);
             if (orderOpt.isEmpty()) {
                 return notFound("Order not found");
             }
 
-            Order order = orderOpt.get();
-            String qrCode = paymentService.generatePaymentQRCode(order);
+            QRCodeImageCache.QRCodeImage qrCode = paymentService.getPaymentQRCodeImage(orderOpt.get());
 
             PaymentResponse paymentResponse = new PaymentResponse();
             paymentResponse.setSuccess(true);
             paymentResponse.setOrderNumber(orderNumber);
-            paymentResponse.setQrCodeImage(qrCode);
+            // inline=false leaves out the base64 copy; clients load the PNG from qrCodeUrl instead
+            if (inline) {
+                paymentResponse.setQrCodeImage(qrCode.getDataUri());
+            }
+            paymentResponse.setQrCodeUrl("/customer/api/orders/" + orderNumber + "/qr-code.png?v=" + qrCode.getVersion());
             paymentResponse.setMessage("QR code generated successfully");
 
             return success(paymentResponse);
@@ -222,6 +259,40 @@ public class CustomerController extends BaseController {
     }
 
 
+    @GetMapping(value = "/api/orders/{orderNumber}/qr-code.png", produces = MediaType.IMAGE_PNG_VALUE)
+    @ResponseBody
+    public ResponseEntity<byte[]> getQRCodePng(
+            @PathVariable String orderNumber,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        Optional<Order> orderOpt = orderService.getOrderByNumber(orderNumber);
+        if (orderOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        QRCodeImageCache.QRCodeImage qrCode = paymentService.getPaymentQRCodeImage(orderOpt.get());
+
+        // A versioned URL always names the same bytes, so it can be cached for good
+        CacheControl cacheControl = qrCode.getVersion().equals(version)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+
+        if (qrCode.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(qrCode.getETag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(qrCode.getETag())
+                .cacheControl(cacheControl)
+                .body(qrCode.getPng());
+    }
+
+
     @PostMapping("/api/orders/{orderNumber}/simulate-payment")
     @ResponseBody
     public ResponseEntity<ApiResponse<PaymentResponse>> simulatePayment(@PathVariable String orderNumber) {
@@ -231,22 +302,17 @@ public class CustomerController extends BaseController {
                 return notFound("Order not found");
             }
 
-            Order order = orderOpt.get();
-
-            order.setPaymentStatus(Order.PaymentStatus.PAID);
-            order.setPaymentMethod(Order.PaymentMethod.QR_CODE);
-            order.setStatus(Order.OrderStatus.CONFIRMED);
-
-            Order updatedOrder = orderService.createOrder(order);
-
-            // Auto-generate invoice for the paid order
-            // Use cashier ID if available, otherwise use null for customer self-service
-            Long cashierId = updatedOrder.getCashier() != null ? updatedOrder.getCashier().getId() : null;
-            invoiceService.generateInvoice(updatedOrder, cashierId);
+            // Approve immediately through the same path as a provider callback (invoice + WebSocket push)
+            String reference = paymentService.submitQRPayment(orderNumber, null);
+            if (!paymentService.confirmQRPayment(reference, true)) {
+                return error("Order is no longer payable");
+            }
 
             PaymentResponse paymentResponse = new PaymentResponse();
             paymentResponse.setSuccess(true);
             paymentResponse.setOrderNumber(orderNumber);
+            paymentResponse.setPaymentReference(reference);
+            paymentResponse.setStatus("PAID");
             paymentResponse.setMessage("Payment simulated successfully (TEST MODE)");
 
             return success(paymentResponse);
@@ -264,10 +330,9 @@ public class CustomerController extends BaseController {
             boolean paymentSuccess = false;
 
             if (paymentRequest.getPaymentMethod() == Order.PaymentMethod.QR_CODE) {
-                paymentSuccess = paymentService.processQRPayment(
-                        paymentRequest.getOrderNumber(),
-                        paymentRequest.getQrData()
-                );
+                // Returns at once; the result is pushed to /topic/payments/{orderNumber}
+                String reference = paymentService.submitQRPayment(paymentRequest.getOrderNumber(), null);
+                return accepted(pendingPaymentResponse(paymentRequest.getOrderNumber(), reference));
             } else if (paymentRequest.getPaymentMethod() == Order.PaymentMethod.CASH) {
                 paymentSuccess = paymentService.processCashPayment(
                         paymentRequest.getOrderNumber(),
@@ -299,6 +364,19 @@ public class CustomerController extends BaseController {
 
 
 
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     private MenuResponse convertToMenuResponse(Menu menu) {
         MenuResponse response = new MenuResponse();
         response.setId(menu.getId());
@@ -1,6 +1,6 @@
 package menuorderingapp.project.controller;
 
-import menuorderingapp.project.model.dto.OrderResponse;
+import menuorderingapp.project.model.dto.InvoiceBackfillProgress;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -15,12 +15,8 @@ public class OrderWebSocketController {
         this.messagingTemplate = messagingTemplate;
     }
 
-    public void broadcastOrderUpdate(OrderResponse order) {
-        messagingTemplate.convertAndSend("/topic/orders", order);
-    }
-
-    public void broadcastDashboardUpdate() {
-        messagingTemplate.convertAndSend("/topic/dashboard", "refresh");
+    public void broadcastInvoiceBackfillProgress(InvoiceBackfillProgress progress) {
+        messagingTemplate.convertAndSend("/topic/invoices/backfill", progress);
     }
 
     @MessageMapping("/ping")
@@ -0,0 +1,52 @@
+package menuorderingapp.project.controller;
+
+import jakarta.validation.Valid;
+import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.model.dto.QRPaymentCallback;
+import menuorderingapp.project.service.PaymentService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Webhook for the QR payment provider. Requests must carry the shared callback token;
+ * the endpoint stays closed while no token is configured.
+ */
+@Controller
+@RequestMapping("/api/payments")
+public class PaymentCallbackController extends BaseController {
+
+    private final PaymentService paymentService;
+    private final String callbackToken;
+
+    public PaymentCallbackController(PaymentService paymentService,
+                                     @Value("${app.payment.qr.callback-token:}") String callbackToken) {
+        this.paymentService = paymentService;
+        this.callbackToken = callbackToken;
+    }
+
+    @PostMapping("/callback")
+    @ResponseBody
+    public ResponseEntity<ApiResponse<Boolean>> handleCallback(
+            @RequestHeader(value = "X-Callback-Token", required = false) String token,
+            @Valid @RequestBody QRPaymentCallback callback) {
+
+        if (callbackToken.isBlank() || token == null || !MessageDigest.isEqual(
+                callbackToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return error(HttpStatus.FORBIDDEN, "Invalid callback token");
+        }
+
+        try {
+            boolean applied = paymentService.confirmQRPayment(callback.getReference(), callback.isApproved());
+            return success(applied ? "Payment callback applied" : "Payment already settled or unknown", applied);
+
+        } catch (Exception e) {
+            return error("Failed to apply payment callback: " + e.getMessage());
+        }
+    }
+}
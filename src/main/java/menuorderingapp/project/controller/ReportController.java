@@ -1,30 +1,53 @@
 package menuorderingapp.project.controller;
 
 import jakarta.servlet.http.HttpSession;
+import menuorderingapp.project.exception.ReportJobRejectedException;
 import menuorderingapp.project.model.dto.ApiResponse;
+import menuorderingapp.project.model.dto.CashierSales;
+import menuorderingapp.project.model.dto.MenuSales;
+import menuorderingapp.project.model.dto.ReportJobStatus;
 import menuorderingapp.project.model.dto.ReportRequest;
+import menuorderingapp.project.service.ReportJobService;
 import menuorderingapp.project.service.ReportService;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import menuorderingapp.project.service.SalesRollupService;
+import menuorderingapp.project.util.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportController extends BaseController {
 
     private final ReportService reportService;
-
-    public ReportController(ReportService reportService) {
+    private final SalesRollupService salesRollupService;
+    private final ReportJobService reportJobService;
+    // Exports currently reading from the database, each holding a pooled connection
+    private final Semaphore exportSlots;
+
+    public ReportController(ReportService reportService, SalesRollupService salesRollupService,
+                            ReportJobService reportJobService,
+                            @Value("${app.reports.export.max-concurrent:2}") int maxConcurrentExports) {
         this.reportService = reportService;
+        this.salesRollupService = salesRollupService;
+        this.reportJobService = reportJobService;
+        this.exportSlots = new Semaphore(maxConcurrentExports);
     }
 
 
@@ -71,7 +94,7 @@ public class ReportController extends BaseController {
 
 
     @GetMapping("/top-items")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getTopSellingItems(
+    public ResponseEntity<ApiResponse<List<MenuSales>>> getTopSellingItems(
             @RequestParam String startDate,
             @RequestParam String endDate,
             HttpSession session) {
@@ -84,7 +107,7 @@ public class ReportController extends BaseController {
             LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
             LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
 
-            var topItems = reportService.getTopSellingItems(start, end);
+            List<MenuSales> topItems = reportService.getTopSellingItems(start, end);
             return success(topItems);
 
         } catch (Exception e) {
@@ -93,8 +116,60 @@ public class ReportController extends BaseController {
     }
 
 
+    @GetMapping("/cashiers")
+    public ResponseEntity<ApiResponse<List<CashierSales>>> getCashierPerformance(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            HttpSession session) {
+
+        if (session.getAttribute("cashier") == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        try {
+            LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
+            LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
+
+            List<CashierSales> performance = reportService.getCashierPerformanceReport(start, end);
+            return success(performance);
+
+        } catch (Exception e) {
+            return error("Failed to get cashier performance: " + e.getMessage());
+        }
+    }
+
+
+    // Re-derives the daily rollups from the orders, for the whole history or the given days
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildRollups(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            HttpSession session) {
+
+        if (session.getAttribute("cashier") == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        try {
+            long startedAt = System.currentTimeMillis();
+            int days = startDate != null && endDate != null
+                    ? salesRollupService.rebuild(LocalDate.parse(startDate), LocalDate.parse(endDate))
+                    : salesRollupService.rebuildAll();
+            reportJobService.clearCachedResults();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("days", days);
+            result.put("elapsedMillis", System.currentTimeMillis() - startedAt);
+            return success("Sales rollups rebuilt", result);
+
+        } catch (Exception e) {
+            return error("Failed to rebuild sales rollups: " + e.getMessage());
+        }
+    }
+
+
     @GetMapping("/export")
-    public ResponseEntity<Resource> exportReport(
+    public ResponseEntity<StreamingResponseBody> exportReport(
             @RequestParam String startDate,
             @RequestParam String endDate,
             @RequestParam String format,
@@ -110,42 +185,205 @@ public class ReportController extends BaseController {
             LocalDateTime end = LocalDate.parse(endDate).atTime(23, 59, 59);
             Map<String, Object> report = reportService.getSalesReport(start, end);
 
-
-            String pdfContent = generatePdfContent(report);
-            byte[] pdfBytes = pdfContent.getBytes();
-
-            ByteArrayResource resource = new ByteArrayResource(pdfBytes);
-
             String filename = String.format("sales-report-%s-to-%s.pdf", startDate, endDate);
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                     .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(pdfBytes.length)
-                    .body(resource);
+                    .body(out -> reportService.writeSalesReportPdf(report, out));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
-    private String generatePdfContent(Map<String, Object> report) {
 
+    // Row-level exports for accounting. Rows are streamed from the database into a temp file that is then
+    // sent, so the connection is held for as long as the database takes to send them, not the client
+    @GetMapping("/export/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpSession session) {
+
+        if (session.getAttribute("cashier") == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
+            LocalDateTime end = LocalDate.parse(endDate).plusDays(1).atStartOfDay();
+            ExportFormat exportFormat = ExportFormat.fromString(format);
 
-        StringBuilder content = new StringBuilder();
-        content.append("SALES REPORT\n");
-        content.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("\n\n");
+            return exportResponse("orders", startDate, endDate, exportFormat,
+                    out -> reportService.writeOrderExport(start, end, exportFormat, out, rows -> { }));
 
-        if (report.containsKey("totalRevenue")) {
-            content.append("Total Revenue: ").append(report.get("totalRevenue")).append("\n");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
         }
-        if (report.containsKey("totalOrders")) {
-            content.append("Total Orders: ").append(report.get("totalOrders")).append("\n");
+    }
+
+
+    @GetMapping("/export/invoices")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpSession session) {
+
+        if (session.getAttribute("cashier") == null) {
+            return ResponseEntity.status(401).build();
         }
-        if (report.containsKey("averageOrderValue")) {
-            content.append("Average Order Value: ").append(report.get("averageOrderValue")).append("\n");
+
+        try {
+            LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
+            LocalDateTime end = LocalDate.parse(endDate).plusDays(1).atStartOfDay();
+            ExportFormat exportFormat = ExportFormat.fromString(format);
+
+            return exportResponse("invoices", startDate, endDate, exportFormat,
+                    out -> reportService.writeInvoiceExport(start, end, exportFormat, out, rows -> { }));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, String startDate, String endDate,
+                                                                 ExportFormat format, StreamingResponseBody export)
+            throws IOException {
+        if (!exportSlots.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        Path file;
+        try {
+            file = bufferExport(name, format, export);
+        } finally {
+            exportSlots.release();
+        }
+
+        String filename = String.format("%s-%s-to-%s.%s", name, startDate, endDate, format.getExtension());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .contentLength(Files.size(file))
+                .body(out -> {
+                    try {
+                        Files.copy(file, out);
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                });
+    }
+
+
+    private Path bufferExport(String name, ExportFormat format, StreamingResponseBody export) throws IOException {
+        Path file = Files.createTempFile("export-" + name + "-", "." + format.getExtension());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            export.writeTo(out);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
         }
+    }
+
 
-        return content.toString();
+    // Background report jobs: submit returns a job id at once; follow it by polling or on
+    // /topic/reports/jobs/{jobId}, then download the result once it is COMPLETED
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<ReportJobStatus>> submitReportJob(
+            @RequestBody ReportRequest reportRequest,
+            HttpSession session) {
+
+        Long cashierId = currentCashierId(session);
+        if (cashierId == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        try {
+            return accepted(reportJobService.submit(cashierId, reportRequest));
+
+        } catch (ReportJobRejectedException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (Exception e) {
+            return error("Failed to submit report job: " + e.getMessage());
+        }
+    }
+
+
+    @GetMapping("/jobs")
+    public ResponseEntity<ApiResponse<List<ReportJobStatus>>> getReportJobs(HttpSession session) {
+        Long cashierId = currentCashierId(session);
+        if (cashierId == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return success(reportJobService.getJobs(cashierId));
+    }
+
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobStatus>> getReportJob(
+            @PathVariable String jobId,
+            HttpSession session) {
+
+        Long cashierId = currentCashierId(session);
+        if (cashierId == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        return reportJobService.getJob(cashierId, jobId)
+                .map(this::success)
+                .orElseGet(() -> notFound("Report job not found with id: " + jobId));
+    }
+
+
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<Void>> cancelReportJob(
+            @PathVariable String jobId,
+            HttpSession session) {
+
+        Long cashierId = currentCashierId(session);
+        if (cashierId == null) {
+            return unauthorized("Not authenticated");
+        }
+
+        if (!reportJobService.cancel(cashierId, jobId)) {
+            return error(HttpStatus.CONFLICT, "Report job " + jobId + " is not queued or running");
+        }
+        return success("Report job cancelled", null);
+    }
+
+
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<StreamingResponseBody> downloadReportJobResult(
+            @PathVariable String jobId,
+            HttpSession session) {
+
+        Long cashierId = currentCashierId(session);
+        if (cashierId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ReportJobStatus job = reportJobService.getJob(cashierId, jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getState() != ReportJobStatus.State.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFileName())
+                .contentType(MediaType.parseMediaType(job.getContentType()))
+                .body(out -> reportJobService.writeResult(cashierId, jobId, out));
+    }
+
+    private Long currentCashierId(HttpSession session) {
+        if (session.getAttribute("cashier") == null) {
+            return null;
+        }
+        return session.getAttribute("cashierId") instanceof Long cashierId ? cashierId : null;
     }
 }
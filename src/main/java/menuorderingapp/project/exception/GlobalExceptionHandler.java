@@ -27,6 +27,12 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(OrderStateConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOrderStateConflictException(OrderStateConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(CashierNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleCashierNotFoundException(CashierNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -0,0 +1,23 @@
+package menuorderingapp.project.exception;
+
+import menuorderingapp.project.model.Order;
+
+public class OrderStateConflictException extends RuntimeException {
+
+    public OrderStateConflictException(String message) {
+        super(message);
+    }
+
+    public OrderStateConflictException(Long id, Order.OrderStatus current, String attempted) {
+        this(id, "status", current, attempted);
+    }
+
+    public OrderStateConflictException(Long id, String field, Object current, String attempted) {
+        super("Order " + id + " " + field + " is " + current + " and cannot be " + attempted);
+    }
+
+    // The guarded update matched nothing although the state read just before allowed it
+    public OrderStateConflictException(Long id, String attempted) {
+        super("Order " + id + " was changed by another request and cannot be " + attempted);
+    }
+}
@@ -0,0 +1,8 @@
+package menuorderingapp.project.exception;
+
+public class ReportJobRejectedException extends RuntimeException {
+
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
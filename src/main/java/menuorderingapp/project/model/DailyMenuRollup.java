@@ -0,0 +1,65 @@
+package menuorderingapp.project.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_menu_rollup")
+public class DailyMenuRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity = 0L;
+
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public DailyMenuRollup() {}
+
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+
+    public Long getQuantity() { return quantity; }
+    public void setQuantity(Long quantity) { this.quantity = quantity; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "sales_date", nullable = false)
+        private LocalDate salesDate;
+
+        @Column(name = "menu_id", nullable = false)
+        private Long menuId;
+
+        public Key() {}
+
+        public Key(LocalDate salesDate, Long menuId) {
+            this.salesDate = salesDate;
+            this.menuId = menuId;
+        }
+
+        public LocalDate getSalesDate() { return salesDate; }
+        public Long getMenuId() { return menuId; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(salesDate, key.salesDate) && Objects.equals(menuId, key.menuId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, menuId);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package menuorderingapp.project.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_sales_rollup")
+public class DailySalesRollup {
+
+    // Stored in place of a null cashier for self-service orders, since key columns cannot be null
+    public static final long SELF_SERVICE = 0L;
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public DailySalesRollup() {}
+
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+
+    public Long getOrderCount() { return orderCount; }
+    public void setOrderCount(Long orderCount) { this.orderCount = orderCount; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "sales_date", nullable = false)
+        private LocalDate salesDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "payment_method", nullable = false, length = 20, columnDefinition = "varchar(20)")
+        private Order.PaymentMethod paymentMethod;
+
+        @Column(name = "cashier_id", nullable = false)
+        private Long cashierId;
+
+        public Key() {}
+
+        public Key(LocalDate salesDate, Order.PaymentMethod paymentMethod, Long cashierId) {
+            this.salesDate = salesDate;
+            this.paymentMethod = paymentMethod;
+            this.cashierId = cashierId;
+        }
+
+        public LocalDate getSalesDate() { return salesDate; }
+        public Order.PaymentMethod getPaymentMethod() { return paymentMethod; }
+        public Long getCashierId() { return cashierId; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(salesDate, key.salesDate) && paymentMethod == key.paymentMethod
+                    && Objects.equals(cashierId, key.cashierId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, paymentMethod, cashierId);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package menuorderingapp.project.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "document_sequences")
+public class DocumentSequence {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public DocumentSequence() {}
+
+    public DocumentSequence(String name, Long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+}
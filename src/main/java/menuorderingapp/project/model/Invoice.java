@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "invoices_id")
+    @TableGenerator(name = "invoices_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "invoices", allocationSize = 50)
     private Long id;
 
     @Column(name = "invoice_number", unique = true, nullable = false)
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 public class MenuAuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "menu_audit_log_id")
+    @TableGenerator(name = "menu_audit_log_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "menu_audit_log", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
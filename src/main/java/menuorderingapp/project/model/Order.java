@@ -12,7 +12,9 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_number", unique = true)
@@ -44,6 +46,16 @@ public class Order {
     @JoinColumn(name = "cashier_id")
     private Cashier cashier;
 
+    @Column(name = "payment_reference", unique = true, length = 64)
+    private String paymentReference;
+
+    // Cashier who started the pending QR payment, if any; the invoice is issued in their name
+    @Column(name = "payment_requested_by")
+    private Long paymentRequestedBy;
+
+    @Column(name = "payment_requested_at")
+    private LocalDateTime paymentRequestedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -156,6 +168,30 @@ public class Order {
         this.createdAt = createdAt;
     }
 
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+
+    public Long getPaymentRequestedBy() {
+        return paymentRequestedBy;
+    }
+
+    public void setPaymentRequestedBy(Long paymentRequestedBy) {
+        this.paymentRequestedBy = paymentRequestedBy;
+    }
+
+    public LocalDateTime getPaymentRequestedAt() {
+        return paymentRequestedAt;
+    }
+
+    public void setPaymentRequestedAt(LocalDateTime paymentRequestedAt) {
+        this.paymentRequestedAt = paymentRequestedAt;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
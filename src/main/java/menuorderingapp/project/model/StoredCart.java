@@ -0,0 +1,37 @@
+package menuorderingapp.project.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent copy of a customer cart, only written when app.cart.persistent is on.
+ * Items are encoded compactly as "menuId:quantity,menuId:quantity".
+ */
+@Entity
+@Table(name = "carts", indexes = {
+        @Index(name = "idx_carts_updated_at", columnList = "updated_at")
+})
+public class StoredCart {
+
+    @Id
+    @Column(name = "cart_id", length = 64)
+    private String cartId;
+
+    @Column(name = "items", nullable = false, length = 2000)
+    private String items;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public StoredCart() {}
+
+    public String getCartId() { return cartId; }
+    public void setCartId(String cartId) { this.cartId = cartId; }
+
+    public String getItems() { return items; }
+    public void setItems(String items) { this.items = items; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
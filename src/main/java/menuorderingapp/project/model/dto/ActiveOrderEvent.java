@@ -0,0 +1,69 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+public class ActiveOrderEvent {
+
+    public enum Type {
+        UPSERT, REMOVE
+    }
+
+    private Type type;
+    private Long orderId;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private OrderResponse order;
+
+
+    public ActiveOrderEvent() {
+    }
+
+    public ActiveOrderEvent(Type type, Long orderId, String orderNumber, Order.OrderStatus status, OrderResponse order) {
+        this.type = type;
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.status = status;
+        this.order = order;
+    }
+
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public OrderResponse getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderResponse order) {
+        this.order = order;
+    }
+}
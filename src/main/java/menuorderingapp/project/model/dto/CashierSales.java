@@ -0,0 +1,6 @@
+package menuorderingapp.project.model.dto;
+
+import java.math.BigDecimal;
+
+public record CashierSales(Long cashierId, String cashierName, Long orderCount, BigDecimal revenue) {
+}
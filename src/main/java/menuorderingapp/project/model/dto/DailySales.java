@@ -0,0 +1,7 @@
+package menuorderingapp.project.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailySales(LocalDate date, Long orderCount, BigDecimal revenue) {
+}
@@ -0,0 +1,122 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+
+public class DashboardEvent {
+
+    public enum Type {
+        ORDER_CREATED, ORDER_UPDATED, STATUS_CHANGED, PAYMENT_COMPLETED, MENU_CHANGED, RECONCILED
+    }
+
+    // Consecutive per server run; a client that sees a gap fetches /cashier/api/dashboard/resync
+    private long sequence;
+    private Type type;
+    private Long orderId;
+    private String orderNumber;
+    private Order.OrderStatus status;
+    private Order.PaymentStatus paymentStatus;
+    private Order.PaymentMethod paymentMethod;
+    private BigDecimal total;
+    private Long menuId;
+    private Boolean menuAvailable;
+    private DashboardSnapshot counters;
+
+
+    public DashboardEvent() {
+    }
+
+    public DashboardEvent(Type type) {
+        this.type = type;
+    }
+
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Order.OrderStatus status) {
+        this.status = status;
+    }
+
+    public Order.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(Order.PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public Order.PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(Order.PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getMenuId() {
+        return menuId;
+    }
+
+    public void setMenuId(Long menuId) {
+        this.menuId = menuId;
+    }
+
+    public Boolean getMenuAvailable() {
+        return menuAvailable;
+    }
+
+    public void setMenuAvailable(Boolean menuAvailable) {
+        this.menuAvailable = menuAvailable;
+    }
+
+    public DashboardSnapshot getCounters() {
+        return counters;
+    }
+
+    public void setCounters(DashboardSnapshot counters) {
+        this.counters = counters;
+    }
+}
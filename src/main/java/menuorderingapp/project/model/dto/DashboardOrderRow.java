@@ -0,0 +1,11 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record DashboardOrderRow(Long id, String orderNumber, Order.OrderStatus status,
+                                Order.PaymentStatus paymentStatus, BigDecimal total,
+                                LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,88 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class DashboardSnapshot {
+
+    private long sequence;
+    private LocalDate date;
+    private Double todayRevenue;
+    private Long todayOrders;
+    private Long pendingOrders;
+    private Long availableMenus;
+    private Map<Order.OrderStatus, Long> ordersByStatus;
+
+
+    public DashboardSnapshot() {
+    }
+
+    public DashboardSnapshot(LocalDate date, Double todayRevenue, Long todayOrders, Long pendingOrders,
+                             Long availableMenus, Map<Order.OrderStatus, Long> ordersByStatus) {
+        this.date = date;
+        this.todayRevenue = todayRevenue;
+        this.todayOrders = todayOrders;
+        this.pendingOrders = pendingOrders;
+        this.availableMenus = availableMenus;
+        this.ordersByStatus = ordersByStatus;
+    }
+
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Double getTodayRevenue() {
+        return todayRevenue;
+    }
+
+    public void setTodayRevenue(Double todayRevenue) {
+        this.todayRevenue = todayRevenue;
+    }
+
+    public Long getTodayOrders() {
+        return todayOrders;
+    }
+
+    public void setTodayOrders(Long todayOrders) {
+        this.todayOrders = todayOrders;
+    }
+
+    public Long getPendingOrders() {
+        return pendingOrders;
+    }
+
+    public void setPendingOrders(Long pendingOrders) {
+        this.pendingOrders = pendingOrders;
+    }
+
+    public Long getAvailableMenus() {
+        return availableMenus;
+    }
+
+    public void setAvailableMenus(Long availableMenus) {
+        this.availableMenus = availableMenus;
+    }
+
+    public Map<Order.OrderStatus, Long> getOrdersByStatus() {
+        return ordersByStatus;
+    }
+
+    public void setOrdersByStatus(Map<Order.OrderStatus, Long> ordersByStatus) {
+        this.ordersByStatus = ordersByStatus;
+    }
+}
@@ -1,13 +1,18 @@
 package menuorderingapp.project.model.dto;
 
+import menuorderingapp.project.model.Order;
+
 import java.util.List;
+import java.util.Map;
 
 public class DashboardStatsResponse {
 
+    private long sequence;
     private Double todayRevenue;
     private Long todayOrders;
     private Long pendingOrders;
     private Long availableMenus;
+    private Map<Order.OrderStatus, Long> ordersByStatus;
     private List<OrderResponse> recentOrders;
 
     public DashboardStatsResponse() {
@@ -23,6 +28,14 @@ public class DashboardStatsResponse {
     }
 
 
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     public Double getTodayRevenue() {
         return todayRevenue;
     }
@@ -55,6 +68,14 @@ public class DashboardStatsResponse {
         this.availableMenus = availableMenus;
     }
 
+    public Map<Order.OrderStatus, Long> getOrdersByStatus() {
+        return ordersByStatus;
+    }
+
+    public void setOrdersByStatus(Map<Order.OrderStatus, Long> ordersByStatus) {
+        this.ordersByStatus = ordersByStatus;
+    }
+
     public List<OrderResponse> getRecentOrders() {
         return recentOrders;
     }
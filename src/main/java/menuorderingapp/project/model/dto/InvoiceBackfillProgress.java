@@ -0,0 +1,68 @@
+package menuorderingapp.project.model.dto;
+
+public class InvoiceBackfillProgress {
+
+    private long totalPaidOrders;
+    private long invoicesCreated;
+    private long invoicesSkipped;
+    private int chunksCompleted;
+    private long elapsedMillis;
+    private boolean finished;
+
+
+    public InvoiceBackfillProgress() {
+    }
+
+    public InvoiceBackfillProgress(long totalPaidOrders) {
+        this.totalPaidOrders = totalPaidOrders;
+    }
+
+
+    public long getTotalPaidOrders() {
+        return totalPaidOrders;
+    }
+
+    public void setTotalPaidOrders(long totalPaidOrders) {
+        this.totalPaidOrders = totalPaidOrders;
+    }
+
+    public long getInvoicesCreated() {
+        return invoicesCreated;
+    }
+
+    public void setInvoicesCreated(long invoicesCreated) {
+        this.invoicesCreated = invoicesCreated;
+    }
+
+    public long getInvoicesSkipped() {
+        return invoicesSkipped;
+    }
+
+    public void setInvoicesSkipped(long invoicesSkipped) {
+        this.invoicesSkipped = invoicesSkipped;
+    }
+
+    public int getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public void setChunksCompleted(int chunksCompleted) {
+        this.chunksCompleted = chunksCompleted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
@@ -0,0 +1,132 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Invoice;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Detached snapshot of everything printed on an invoice, so rendering needs no open persistence session.
+ */
+public class InvoiceDocument {
+
+    private final String invoiceNumber;
+    private final LocalDateTime createdAt;
+    private final String cashierName;
+    private final String orderNumber;
+    private final String customerName;
+    private final Order.PaymentMethod paymentMethod;
+    private final List<Line> lines;
+    private final BigDecimal totalAmount;
+    private final BigDecimal taxAmount;
+    private final BigDecimal finalAmount;
+    private volatile String contentHash;
+
+
+    public InvoiceDocument(String invoiceNumber, LocalDateTime createdAt, String cashierName, String orderNumber,
+                           String customerName, Order.PaymentMethod paymentMethod, List<Line> lines,
+                           BigDecimal totalAmount, BigDecimal taxAmount, BigDecimal finalAmount) {
+        this.invoiceNumber = invoiceNumber;
+        this.createdAt = createdAt;
+        this.cashierName = cashierName;
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.paymentMethod = paymentMethod;
+        this.lines = List.copyOf(lines);
+        this.totalAmount = totalAmount;
+        this.taxAmount = taxAmount;
+        this.finalAmount = finalAmount;
+    }
+
+    public static InvoiceDocument from(Invoice invoice) {
+        Order order = invoice.getOrder();
+        List<Line> lines = order.getOrderItems().stream()
+                .map(item -> new Line(item.getMenu().getName(), item.getQuantity(), item.getPrice(), item.getSubtotal()))
+                .toList();
+        return new InvoiceDocument(invoice.getInvoiceNumber(), invoice.getCreatedAt(),
+                invoice.getCashier() != null ? invoice.getCashier().getDisplayName() : "Self-Service",
+                order.getOrderNumber(), order.getCustomerName(), invoice.getPaymentMethod(), lines,
+                invoice.getTotalAmount(), invoice.getTaxAmount(), invoice.getFinalAmount());
+    }
+
+
+    public String getInvoiceNumber() {
+        return invoiceNumber;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getCashierName() {
+        return cashierName;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public Order.PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BigDecimal getTaxAmount() {
+        return taxAmount;
+    }
+
+    public BigDecimal getFinalAmount() {
+        return finalAmount;
+    }
+
+    // SHA-256 of every printed field; two invoices hash alike only if they would print alike
+    public String getContentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            StringBuilder canonical = new StringBuilder()
+                    .append(invoiceNumber).append('\u001f').append(createdAt).append('\u001f')
+                    .append(cashierName).append('\u001f').append(orderNumber).append('\u001f')
+                    .append(customerName).append('\u001f').append(paymentMethod).append('\u001e');
+            for (Line line : lines) {
+                canonical.append(line.name()).append('\u001f').append(line.quantity()).append('\u001f')
+                        .append(plain(line.price())).append('\u001f').append(plain(line.subtotal())).append('\u001e');
+            }
+            canonical.append(plain(totalAmount)).append('\u001f').append(plain(taxAmount)).append('\u001f')
+                    .append(plain(finalAmount));
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+                hash = HexFormat.of().formatHex(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount != null ? amount.stripTrailingZeros().toPlainString() : "";
+    }
+
+    public record Line(String name, Integer quantity, BigDecimal price, BigDecimal subtotal) {
+    }
+}
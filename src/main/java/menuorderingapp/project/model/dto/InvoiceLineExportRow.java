@@ -0,0 +1,17 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row per invoiced item; the invoice totals repeat on each of its lines
+public record InvoiceLineExportRow(String invoiceNumber, LocalDateTime createdAt, String orderNumber,
+                                   String cashierName, Order.PaymentMethod paymentMethod, String itemName,
+                                   Integer quantity, BigDecimal price, BigDecimal totalAmount,
+                                   BigDecimal taxAmount, BigDecimal finalAmount) {
+
+    public BigDecimal lineTotal() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
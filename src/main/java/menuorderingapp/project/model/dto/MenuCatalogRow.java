@@ -0,0 +1,54 @@
+package menuorderingapp.project.model.dto;
+
+import java.math.BigDecimal;
+
+public class MenuCatalogRow {
+
+    private final Long categoryId;
+    private final String categoryName;
+    private final Integer categoryDisplayOrder;
+    private final Long menuId;
+    private final String menuName;
+    private final String menuDescription;
+    private final BigDecimal menuPrice;
+    private final String menuImageUrl;
+    private final Boolean menuIsPromo;
+    private final BigDecimal menuPromoPrice;
+
+
+    public MenuCatalogRow(Long categoryId, String categoryName, Integer categoryDisplayOrder,
+                          Long menuId, String menuName, String menuDescription, BigDecimal menuPrice,
+                          String menuImageUrl, Boolean menuIsPromo, BigDecimal menuPromoPrice) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryDisplayOrder = categoryDisplayOrder;
+        this.menuId = menuId;
+        this.menuName = menuName;
+        this.menuDescription = menuDescription;
+        this.menuPrice = menuPrice;
+        this.menuImageUrl = menuImageUrl;
+        this.menuIsPromo = menuIsPromo;
+        this.menuPromoPrice = menuPromoPrice;
+    }
+
+
+    public Long getCategoryId() { return categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+
+    public Integer getCategoryDisplayOrder() { return categoryDisplayOrder; }
+
+    public Long getMenuId() { return menuId; }
+
+    public String getMenuName() { return menuName; }
+
+    public String getMenuDescription() { return menuDescription; }
+
+    public BigDecimal getMenuPrice() { return menuPrice; }
+
+    public String getMenuImageUrl() { return menuImageUrl; }
+
+    public Boolean getMenuIsPromo() { return menuIsPromo; }
+
+    public BigDecimal getMenuPromoPrice() { return menuPromoPrice; }
+}
@@ -0,0 +1,6 @@
+package menuorderingapp.project.model.dto;
+
+import java.math.BigDecimal;
+
+public record MenuSales(Long menuId, String menuName, Long quantity, BigDecimal revenue) {
+}
@@ -0,0 +1,39 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class MissingInvoiceRow {
+
+    private final Long orderId;
+    private final BigDecimal total;
+    private final Order.PaymentMethod paymentMethod;
+    private final LocalDateTime createdAt;
+
+
+    public MissingInvoiceRow(Long orderId, BigDecimal total, Order.PaymentMethod paymentMethod, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.total = total;
+        this.paymentMethod = paymentMethod;
+        this.createdAt = createdAt;
+    }
+
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public Order.PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,25 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The header fields of an order after a status or payment change, enough for the board, dashboard and
+ * rollups to follow it without loading the order lines.
+ */
+public record OrderChange(Long id, String orderNumber, Order.OrderStatus status,
+                          Order.PaymentStatus paymentStatus, Order.PaymentMethod paymentMethod,
+                          BigDecimal total, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static OrderChange of(Order order) {
+        return new OrderChange(order.getId(), order.getOrderNumber(), order.getStatus(), order.getPaymentStatus(),
+                order.getPaymentMethod(), order.getTotal(), order.getCreatedAt(), order.getUpdatedAt());
+    }
+
+    // The row read back only keeps the second the column stores; events carry the clock the update wrote
+    public OrderChange at(LocalDateTime changedAt) {
+        return new OrderChange(id, orderNumber, status, paymentStatus, paymentMethod, total, createdAt, changedAt);
+    }
+}
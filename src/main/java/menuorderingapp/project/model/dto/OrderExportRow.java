@@ -0,0 +1,12 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderExportRow(String orderNumber, LocalDateTime createdAt, String customerName,
+                             Order.OrderType orderType, Order.OrderStatus status,
+                             Order.PaymentStatus paymentStatus, Order.PaymentMethod paymentMethod,
+                             String cashierName, BigDecimal total) {
+}
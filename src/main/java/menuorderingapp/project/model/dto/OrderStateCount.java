@@ -0,0 +1,9 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+
+public record OrderStateCount(Order.OrderStatus status, Order.PaymentStatus paymentStatus,
+                              Order.PaymentMethod paymentMethod, Long orderCount, BigDecimal total) {
+}
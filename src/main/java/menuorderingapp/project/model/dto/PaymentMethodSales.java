@@ -0,0 +1,8 @@
+package menuorderingapp.project.model.dto;
+
+import menuorderingapp.project.model.Order;
+
+import java.math.BigDecimal;
+
+public record PaymentMethodSales(Order.PaymentMethod paymentMethod, Long orderCount, BigDecimal revenue) {
+}
@@ -6,7 +6,10 @@ public class PaymentResponse {
     private String message;
     private String orderNumber;
     private String qrCodeImage; // Base64 encoded QR code
+    private String qrCodeUrl; // Versioned URL of the PNG
     private Double change; // For cash payments
+    private String paymentReference; // For asynchronous QR payments
+    private String status; // PENDING, PAID or FAILED
 
 
     public PaymentResponse() {
@@ -57,4 +60,28 @@ public class PaymentResponse {
     public void setChange(Double change) {
         this.change = change;
     }
+
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getQrCodeUrl() {
+        return qrCodeUrl;
+    }
+
+    public void setQrCodeUrl(String qrCodeUrl) {
+        this.qrCodeUrl = qrCodeUrl;
+    }
 }
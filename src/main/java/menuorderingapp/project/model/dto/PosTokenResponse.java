@@ -0,0 +1,45 @@
+package menuorderingapp.project.model.dto;
+
+import java.time.LocalDateTime;
+
+public class PosTokenResponse {
+
+    private String token;
+    private LocalDateTime expiresAt;
+    private CashierDto cashier;
+
+
+    public PosTokenResponse() {
+    }
+
+    public PosTokenResponse(String token, LocalDateTime expiresAt, CashierDto cashier) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+        this.cashier = cashier;
+    }
+
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public CashierDto getCashier() {
+        return cashier;
+    }
+
+    public void setCashier(CashierDto cashier) {
+        this.cashier = cashier;
+    }
+}
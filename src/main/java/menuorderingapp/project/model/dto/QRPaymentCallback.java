@@ -0,0 +1,37 @@
+package menuorderingapp.project.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class QRPaymentCallback {
+
+    @NotBlank(message = "Payment reference is required")
+    private String reference;
+
+    private boolean approved;
+
+
+    public QRPaymentCallback() {
+    }
+
+    public QRPaymentCallback(String reference, boolean approved) {
+        this.reference = reference;
+        this.approved = approved;
+    }
+
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public boolean isApproved() {
+        return approved;
+    }
+
+    public void setApproved(boolean approved) {
+        this.approved = approved;
+    }
+}
@@ -12,7 +12,9 @@ public class ReportRequest {
     @NotNull(message = "End date is required")
     private LocalDate endDate;
 
-    private String reportType; // "sales", "items", "cashier"
+    private String reportType; // "sales", "items", "cashier", "orders", "invoices"
+
+    private String format; // "json" or "pdf" for sales, "json" for items/cashier, "csv", "ndjson" or "xlsx" for orders/invoices
 
 
     public ReportRequest() {
@@ -47,4 +49,12 @@ public class ReportRequest {
     public void setReportType(String reportType) {
         this.reportType = reportType;
     }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
 }
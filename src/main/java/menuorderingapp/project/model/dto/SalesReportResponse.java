@@ -11,6 +11,9 @@ public class SalesReportResponse {
     private Long totalOrders;
     private Double averageOrderValue;
     private Map<String, Double> revenueByPaymentMethod;
+    private Long paidOrders;
+    private Long cancelledOrders;
+    private Map<String, Long> paidOrdersByPaymentMethod;
     private String generatedAt;
 
 
@@ -66,6 +69,30 @@ public class SalesReportResponse {
         this.revenueByPaymentMethod = revenueByPaymentMethod;
     }
 
+    public Long getPaidOrders() {
+        return paidOrders;
+    }
+
+    public void setPaidOrders(Long paidOrders) {
+        this.paidOrders = paidOrders;
+    }
+
+    public Long getCancelledOrders() {
+        return cancelledOrders;
+    }
+
+    public void setCancelledOrders(Long cancelledOrders) {
+        this.cancelledOrders = cancelledOrders;
+    }
+
+    public Map<String, Long> getPaidOrdersByPaymentMethod() {
+        return paidOrdersByPaymentMethod;
+    }
+
+    public void setPaidOrdersByPaymentMethod(Map<String, Long> paidOrdersByPaymentMethod) {
+        this.paidOrdersByPaymentMethod = paidOrdersByPaymentMethod;
+    }
+
     public String getGeneratedAt() {
         return generatedAt;
     }
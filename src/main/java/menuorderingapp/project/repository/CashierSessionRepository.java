@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,6 +18,9 @@ public interface CashierSessionRepository extends JpaRepository<CashierSession,
 
     Optional<CashierSession> findBySessionToken(String sessionToken);
 
+    @Query("SELECT cs FROM CashierSession cs JOIN FETCH cs.cashier WHERE cs.sessionToken = :sessionToken")
+    Optional<CashierSession> findWithCashierBySessionToken(@Param("sessionToken") String sessionToken);
+
     List<CashierSession> findByCashier(Cashier cashier);
 
     @Query("SELECT cs FROM CashierSession cs WHERE cs.expiresAt < :now")
@@ -26,6 +30,11 @@ public interface CashierSessionRepository extends JpaRepository<CashierSession,
     @Query("DELETE FROM CashierSession cs WHERE cs.expiresAt < :now")
     void deleteExpiredSessions(@Param("now") LocalDateTime now);
 
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM cashier_sessions WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
     @Modifying
     @Query("DELETE FROM CashierSession cs WHERE cs.cashier = :cashier")
     void deleteByCashier(@Param("cashier") Cashier cashier);
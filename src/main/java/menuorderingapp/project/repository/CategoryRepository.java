@@ -1,6 +1,7 @@
 package menuorderingapp.project.repository;
 
 import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.dto.MenuCatalogRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -19,4 +20,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByIdWithMenus(Long id);
 
     boolean existsByName(String name);
+
+    @Query("SELECT new menuorderingapp.project.model.dto.MenuCatalogRow(" +
+            "c.id, c.name, c.displayOrder, m.id, m.name, m.description, m.price, " +
+            "m.imageUrl, m.isPromo, m.promoPrice) " +
+            "FROM Category c LEFT JOIN c.menus m ON m.available = true " +
+            "ORDER BY c.displayOrder, c.id, m.name")
+    List<MenuCatalogRow> findCatalogRows();
 }
@@ -0,0 +1,52 @@
+package menuorderingapp.project.repository;
+
+import menuorderingapp.project.model.DailyMenuRollup;
+import menuorderingapp.project.model.dto.MenuSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyMenuRollupRepository extends JpaRepository<DailyMenuRollup, DailyMenuRollup.Key> {
+
+    // One row per menu, aggregated and named in SQL; rollup revenue already comes from order_items.price
+    @Query("SELECT new menuorderingapp.project.model.dto.MenuSales(m.id, m.name, SUM(r.quantity), SUM(r.revenue)) " +
+            "FROM DailyMenuRollup r JOIN Menu m ON m.id = r.id.menuId WHERE r.id.salesDate BETWEEN :from AND :to " +
+            "GROUP BY m.id, m.name HAVING SUM(r.quantity) > 0 ORDER BY SUM(r.quantity) DESC, m.id")
+    List<MenuSales> sumByMenu(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Revenue uses the price snapshotted on each order line, not the menu's current price
+    @Modifying
+    @Query(value = "INSERT INTO daily_menu_rollup (sales_date, menu_id, quantity, revenue) " +
+            "SELECT :salesDate, oi.menu_id, :sign * SUM(oi.quantity), :sign * SUM(oi.price * oi.quantity) " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE o.id = :orderId AND o.payment_status = :paymentStatus GROUP BY oi.menu_id " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)",
+            nativeQuery = true)
+    int applyOrder(@Param("orderId") Long orderId,
+                   @Param("salesDate") LocalDate salesDate,
+                   @Param("paymentStatus") String paymentStatus,
+                   @Param("sign") int sign);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_menu_rollup WHERE sales_date = :salesDate", nativeQuery = true)
+    int deleteDay(@Param("salesDate") LocalDate salesDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_menu_rollup (sales_date, menu_id, quantity, revenue) " +
+            "SELECT :salesDate, oi.menu_id, SUM(oi.quantity), SUM(oi.price * oi.quantity) " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE o.payment_status = :paymentStatus AND o.created_at >= :start AND o.created_at < :end " +
+            "GROUP BY oi.menu_id",
+            nativeQuery = true)
+    int insertDay(@Param("salesDate") LocalDate salesDate,
+                  @Param("paymentStatus") String paymentStatus,
+                  @Param("start") LocalDateTime start,
+                  @Param("end") LocalDateTime end);
+}
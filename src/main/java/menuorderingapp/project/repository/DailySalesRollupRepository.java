@@ -0,0 +1,62 @@
+package menuorderingapp.project.repository;
+
+import menuorderingapp.project.model.DailySalesRollup;
+import menuorderingapp.project.model.dto.CashierSales;
+import menuorderingapp.project.model.dto.DailySales;
+import menuorderingapp.project.model.dto.PaymentMethodSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollup.Key> {
+
+    @Query("SELECT new menuorderingapp.project.model.dto.PaymentMethodSales(r.id.paymentMethod, SUM(r.orderCount), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r WHERE r.id.salesDate BETWEEN :from AND :to GROUP BY r.id.paymentMethod")
+    List<PaymentMethodSales> sumByPaymentMethod(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new menuorderingapp.project.model.dto.DailySales(r.id.salesDate, SUM(r.orderCount), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r WHERE r.id.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.id.salesDate ORDER BY r.id.salesDate")
+    List<DailySales> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Self-service rows (cashier 0) have no matching cashier and drop out of the join
+    @Query("SELECT new menuorderingapp.project.model.dto.CashierSales(c.id, c.displayName, SUM(r.orderCount), SUM(r.revenue)) " +
+            "FROM DailySalesRollup r JOIN Cashier c ON c.id = r.id.cashierId WHERE r.id.salesDate BETWEEN :from AND :to " +
+            "GROUP BY c.id, c.displayName HAVING SUM(r.orderCount) > 0 ORDER BY SUM(r.revenue) DESC, c.id")
+    List<CashierSales> sumByCashier(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Adds (sign 1) or removes (sign -1) one order, read straight from its row so the amounts match what was committed
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, payment_method, cashier_id, order_count, revenue) " +
+            "SELECT :salesDate, COALESCE(o.payment_method, 'CASH'), COALESCE(o.cashier_id, 0), :sign, :sign * o.total " +
+            "FROM orders o WHERE o.id = :orderId AND o.payment_status = :paymentStatus " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), revenue = revenue + VALUES(revenue)",
+            nativeQuery = true)
+    int applyOrder(@Param("orderId") Long orderId,
+                   @Param("salesDate") LocalDate salesDate,
+                   @Param("paymentStatus") String paymentStatus,
+                   @Param("sign") int sign);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_sales_rollup WHERE sales_date = :salesDate", nativeQuery = true)
+    int deleteDay(@Param("salesDate") LocalDate salesDate);
+
+    // Day boundaries are bound as parameters, the same way the order reports always selected a day
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_rollup (sales_date, payment_method, cashier_id, order_count, revenue) " +
+            "SELECT :salesDate, COALESCE(o.payment_method, 'CASH'), COALESCE(o.cashier_id, 0), COUNT(*), SUM(o.total) " +
+            "FROM orders o WHERE o.payment_status = :paymentStatus AND o.created_at >= :start AND o.created_at < :end " +
+            "GROUP BY COALESCE(o.payment_method, 'CASH'), COALESCE(o.cashier_id, 0)",
+            nativeQuery = true)
+    int insertDay(@Param("salesDate") LocalDate salesDate,
+                  @Param("paymentStatus") String paymentStatus,
+                  @Param("start") LocalDateTime start,
+                  @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,24 @@
+package menuorderingapp.project.repository;
+
+import menuorderingapp.project.model.DocumentSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DocumentSequenceRepository extends JpaRepository<DocumentSequence, String> {
+
+    @Modifying
+    @Query("UPDATE DocumentSequence s SET s.nextValue = s.nextValue + :size WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("size") long size);
+
+    @Query("SELECT s.nextValue FROM DocumentSequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "INSERT INTO document_sequences (name, next_value) VALUES (:name, 1) " +
+            "ON DUPLICATE KEY UPDATE name = name", nativeQuery = true)
+    void createIfAbsent(@Param("name") String name);
+}
@@ -1,16 +1,23 @@
 package menuorderingapp.project.repository;
 
+import jakarta.persistence.QueryHint;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Invoice;
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.InvoiceLineExportRow;
+import menuorderingapp.project.model.dto.MissingInvoiceRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
@@ -27,10 +34,33 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     List<Invoice> findInvoicesByDateRange(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
+    // Streams one flat row per invoiced item instead of materialising invoice -> order -> items graphs
+    // Streamed row by row by the MySQL driver, like the order export
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new menuorderingapp.project.model.dto.InvoiceLineExportRow(i.invoiceNumber, i.createdAt, " +
+            "o.orderNumber, c.displayName, i.paymentMethod, m.name, oi.quantity, oi.price, " +
+            "i.totalAmount, i.taxAmount, i.finalAmount) " +
+            "FROM Invoice i JOIN i.order o JOIN o.orderItems oi LEFT JOIN oi.menu m LEFT JOIN i.cashier c " +
+            "WHERE i.createdAt >= :start AND i.createdAt < :end ORDER BY i.createdAt, i.id, oi.id")
+    Stream<InvoiceLineExportRow> streamExportRows(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(oi) FROM Invoice i JOIN i.order o JOIN o.orderItems oi " +
+            "WHERE i.createdAt >= :start AND i.createdAt < :end")
+    long countExportRows(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query("SELECT SUM(i.finalAmount) FROM Invoice i WHERE i.createdAt BETWEEN :start AND :end")
     Double getTotalInvoiceAmountBetween(@Param("start") LocalDateTime start,
                                         @Param("end") LocalDateTime end);
 
     @Query("SELECT i FROM Invoice i JOIN FETCH i.order LEFT JOIN FETCH i.cashier WHERE i.id = :id")
     Optional<Invoice> findByIdWithOrderAndCashier(Long id);
+
+    // Anti-join in id order: each call resumes after the last order of the previous chunk
+    @Query("SELECT new menuorderingapp.project.model.dto.MissingInvoiceRow(o.id, o.total, o.paymentMethod, o.createdAt) " +
+            "FROM Order o WHERE o.paymentStatus = :paid AND o.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM Invoice i WHERE i.order = o) ORDER BY o.id")
+    List<MissingInvoiceRow> findPaidOrdersWithoutInvoice(@Param("paid") Order.PaymentStatus paid,
+                                                         @Param("afterId") Long afterId,
+                                                         Pageable pageable);
 }
@@ -31,6 +31,9 @@ public interface MenuRepository extends JpaRepository<Menu, Long> {
 
     long countByAvailableTrue();
 
+    @Query("SELECT m.id FROM Menu m WHERE m.available = true")
+    List<Long> findAvailableIds();
+
     long countByAvailableFalse();
 
     List<Menu> findByAvailableFalse();
@@ -8,7 +8,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -21,15 +20,6 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.menu WHERE oi.order = :order")
     List<OrderItem> findByOrderWithMenu(@Param("order") Order order);
 
-    @Query("SELECT oi.menu, SUM(oi.quantity) as totalQuantity " +
-            "FROM OrderItem oi " +
-            "JOIN oi.order o " +
-            "WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end " +
-            "GROUP BY oi.menu " +
-            "ORDER BY totalQuantity DESC")
-    List<Object[]> findTopSellingMenusBetween(@Param("start") LocalDateTime start,
-                                              @Param("end") LocalDateTime end);
-
     @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.menu = :menu")
     Long getTotalQuantitySoldByMenu(@Param("menu") Menu menu);
 
@@ -1,15 +1,27 @@
 package menuorderingapp.project.repository;
 
+import jakarta.persistence.QueryHint;
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.DashboardOrderRow;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.model.dto.OrderExportRow;
+import menuorderingapp.project.model.dto.OrderStateCount;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -30,6 +42,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
+    // Forward-only flat rows: nothing enters the persistence context, and a fetch size of Integer.MIN_VALUE
+    // makes the MySQL driver stream them row by row on this statement only
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new menuorderingapp.project.model.dto.OrderExportRow(o.orderNumber, o.createdAt, o.customerName, " +
+            "o.orderType, o.status, o.paymentStatus, o.paymentMethod, c.displayName, o.total) " +
+            "FROM Order o LEFT JOIN o.cashier c WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "ORDER BY o.createdAt, o.id")
+    Stream<OrderExportRow> streamExportRows(@Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :start AND o.createdAt < :end")
+    long countExportRows(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query("SELECT o FROM Order o WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end")
     List<Order> findPaidOrdersBetween(@Param("start") LocalDateTime start,
                                       @Param("end") LocalDateTime end);
@@ -37,14 +62,144 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     long countByStatus(Order.OrderStatus status);
 
+    long countByPaymentStatus(Order.PaymentStatus paymentStatus);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o WHERE o.paymentStatus = :paymentStatus")
+    Optional<LocalDateTime> findEarliestCreatedAtByPaymentStatus(@Param("paymentStatus") Order.PaymentStatus paymentStatus);
+
     @Query("SELECT SUM(o.total) FROM Order o WHERE o.paymentStatus = 'PAID' AND o.createdAt BETWEEN :start AND :end")
     Double getTotalRevenueBetween(@Param("start") LocalDateTime start,
                                   @Param("end") LocalDateTime end);
 
+    // Everything the live dashboard counts: today's orders plus pending orders from earlier days
+    @Query("SELECT new menuorderingapp.project.model.dto.DashboardOrderRow(" +
+            "o.id, o.orderNumber, o.status, o.paymentStatus, o.total, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.createdAt >= :since OR o.status = :pending")
+    List<DashboardOrderRow> findDashboardRows(@Param("since") LocalDateTime since,
+                                              @Param("pending") Order.OrderStatus pending);
+
     List<Order> findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc(String customerName);
 
-    List<Order> findAllByOrderByCreatedAtDesc();
+    // One row per status, payment status and method combination, so a report over any range stays a few rows
+    @Query("SELECT new menuorderingapp.project.model.dto.OrderStateCount(" +
+            "o.status, o.paymentStatus, o.paymentMethod, COUNT(o), SUM(o.total)) " +
+            "FROM Order o WHERE o.createdAt >= :start AND o.createdAt < :end " +
+            "GROUP BY o.status, o.paymentStatus, o.paymentMethod")
+    List<OrderStateCount> countByStateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     @Query("SELECT o FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE ORDER BY o.createdAt DESC")
     List<Order> findTodayOrders();
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.menu m " +
+            "LEFT JOIN FETCH m.category WHERE o.status IN :statuses")
+    List<Order> findActiveWithItems(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    // Unset filters arrive as NULL literals, which MySQL folds away before picking an index
+    @Query("SELECT o FROM Order o WHERE " +
+            "(:status IS NULL OR o.status = :status) AND " +
+            "(:paymentStatus IS NULL OR o.paymentStatus = :paymentStatus) AND " +
+            "(:paymentMethod IS NULL OR o.paymentMethod = :paymentMethod) AND " +
+            "(:orderType IS NULL OR o.orderType = :orderType) AND " +
+            "(:cashierId IS NULL OR o.cashier.id = :cashierId) AND " +
+            "(:start IS NULL OR o.createdAt >= :start) AND " +
+            "(:end IS NULL OR o.createdAt < :end) AND " +
+            "(:cursorAt IS NULL OR o.createdAt < :cursorAt OR (o.createdAt = :cursorAt AND o.id < :cursorId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findOrderPage(@Param("status") Order.OrderStatus status,
+                              @Param("paymentStatus") Order.PaymentStatus paymentStatus,
+                              @Param("paymentMethod") Order.PaymentMethod paymentMethod,
+                              @Param("orderType") Order.OrderType orderType,
+                              @Param("cashierId") Long cashierId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("cursorAt") LocalDateTime cursorAt,
+                              @Param("cursorId") Long cursorId,
+                              Pageable pageable);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.menu m " +
+            "LEFT JOIN FETCH m.category WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    Optional<Order> findByPaymentReference(String paymentReference);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.menu m " +
+            "LEFT JOIN FETCH m.category WHERE o.paymentReference = :reference")
+    Optional<Order> findWithItemsByPaymentReference(@Param("reference") String reference);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<Order.OrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT o.createdAt FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+    @Query("SELECT o.paymentStatus FROM Order o WHERE o.id = :id")
+    Optional<Order.PaymentStatus> findPaymentStatusById(@Param("id") Long id);
+
+    @Query("SELECT new menuorderingapp.project.model.dto.OrderChange(" +
+            "o.id, o.orderNumber, o.status, o.paymentStatus, o.paymentMethod, o.total, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.id = :id")
+    Optional<OrderChange> findChangeById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status IN :sources AND (:requirePaid = false OR o.paymentStatus = :paid)")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("sources") Collection<Order.OrderStatus> sources,
+                         @Param("target") Order.OrderStatus target,
+                         @Param("requirePaid") boolean requirePaid,
+                         @Param("paid") Order.PaymentStatus paid,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentStatus = :paid, o.paymentMethod = :method, " +
+            "o.status = CASE WHEN o.status = :pending THEN :confirmed ELSE o.status END, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.paymentStatus IN :sources AND o.status IN :payable")
+    int transitionToPaid(@Param("id") Long id,
+                         @Param("method") Order.PaymentMethod method,
+                         @Param("sources") Collection<Order.PaymentStatus> sources,
+                         @Param("payable") Collection<Order.OrderStatus> payable,
+                         @Param("paid") Order.PaymentStatus paid,
+                         @Param("pending") Order.OrderStatus pending,
+                         @Param("confirmed") Order.OrderStatus confirmed,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :cancelled, " +
+            "o.paymentStatus = CASE WHEN o.paymentStatus = :paid THEN :refunded ELSE o.paymentStatus END, " +
+            "o.updatedAt = :now WHERE o.id = :id AND o.status IN :sources")
+    int transitionToCancelled(@Param("id") Long id,
+                              @Param("sources") Collection<Order.OrderStatus> sources,
+                              @Param("cancelled") Order.OrderStatus cancelled,
+                              @Param("paid") Order.PaymentStatus paid,
+                              @Param("refunded") Order.PaymentStatus refunded,
+                              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentReference = :reference, o.paymentRequestedBy = :cashierId, " +
+            "o.paymentRequestedAt = :now WHERE o.id = :id AND o.paymentReference IS NULL")
+    int startQRPayment(@Param("id") Long id,
+                       @Param("reference") String reference,
+                       @Param("cashierId") Long cashierId,
+                       @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentReference = NULL " +
+            "WHERE o.paymentReference = :reference AND o.paymentStatus IN :sources")
+    int releaseQRPayment(@Param("reference") String reference,
+                         @Param("sources") Collection<Order.PaymentStatus> sources);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentStatus = :paid, o.paymentMethod = :method, " +
+            "o.status = CASE WHEN o.status = :pending THEN :confirmed ELSE o.status END, o.updatedAt = :now " +
+            "WHERE o.paymentReference = :reference AND o.paymentStatus IN :sources AND o.status IN :payable")
+    int transitionToPaidByReference(@Param("reference") String reference,
+                                    @Param("method") Order.PaymentMethod method,
+                                    @Param("sources") Collection<Order.PaymentStatus> sources,
+                                    @Param("payable") Collection<Order.OrderStatus> payable,
+                                    @Param("paid") Order.PaymentStatus paid,
+                                    @Param("pending") Order.OrderStatus pending,
+                                    @Param("confirmed") Order.OrderStatus confirmed,
+                                    @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,27 @@
+package menuorderingapp.project.repository;
+
+import menuorderingapp.project.model.StoredCart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface StoredCartRepository extends JpaRepository<StoredCart, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO carts (cart_id, items, updated_at) VALUES (:cartId, :items, :updatedAt) " +
+            "ON DUPLICATE KEY UPDATE items = VALUES(items), updated_at = VALUES(updated_at)", nativeQuery = true)
+    void upsert(@Param("cartId") String cartId, @Param("items") String items,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredCart c WHERE c.updatedAt < :cutoff")
+    int deleteUpdatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
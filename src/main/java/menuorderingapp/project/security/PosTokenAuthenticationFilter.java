@@ -0,0 +1,64 @@
+package menuorderingapp.project.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests that carry a POS token in the Authorization header. The context is only set for the
+ * current request and never stored, so these requests neither read nor create an HTTP session. Added to the
+ * security chain by SecurityConfig rather than registered as a bean, so it does not also run as a plain
+ * servlet filter.
+ */
+public class PosTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private final PosTokenService posTokenService;
+
+    public PosTokenAuthenticationFilter(PosTokenService posTokenService) {
+        this.posTokenService = posTokenService;
+    }
+
+    public static boolean hasBearerToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        return header != null && header.startsWith(BEARER_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!hasBearerToken(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        PosTokenService.Claims claims = posTokenService.verify(
+                request.getHeader("Authorization").substring(BEARER_PREFIX.length()));
+        if (claims == null) {
+            // Written here rather than via sendError, whose /error dispatch would be redirected to the login page
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"success\":false,\"message\":\"Invalid or expired token\"}");
+            return;
+        }
+
+        CashierUserDetails principal = claims.toUserDetails();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package menuorderingapp.project.security;
+
+import menuorderingapp.project.model.Cashier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signed, short-lived tokens for dedicated POS terminals. A token carries the cashier id, role, username and
+ * issue/expiry times, signed with HMAC-SHA256, so checking one needs no database: a request sent with
+ * "Authorization: Bearer &lt;token&gt;" is authenticated from the token alone. Logout revokes a single token and
+ * deactivating or changing a cashier revokes everything issued to them so far. The revocation list lives in
+ * memory and only needs to outlive the tokens it covers; with several nodes, a revocation made on one node
+ * is not seen by the others, so keep the TTL short.
+ */
+@Component
+public class PosTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    // Signature of a revoked token -> its expiry
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // Cashier id -> tokens issued before this instant are revoked
+    private final Map<Long, Instant> revokedCashiers = new ConcurrentHashMap<>();
+
+    public PosTokenService(@Value("${app.auth.pos-token.enabled:false}") boolean enabled,
+                           @Value("${app.auth.pos-token.secret:}") String secret,
+                           @Value("${app.auth.pos-token.ttl-minutes:15}") long ttlMinutes) {
+        if (enabled && secret.length() < 32) {
+            throw new IllegalStateException("app.auth.pos-token.secret must be at least 32 characters");
+        }
+        this.enabled = enabled;
+        this.key = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM) : null;
+        this.ttlSeconds = ttlMinutes * 60;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public IssuedToken issue(Cashier cashier) {
+        if (!enabled) {
+            throw new RuntimeException("POS tokens are disabled");
+        }
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plusSeconds(ttlSeconds);
+        // Username last, so it may contain the separator
+        String payload = cashier.getId() + ":" + cashier.getRole().name() + ":" + issuedAt.toEpochMilli() + ":"
+                + expiresAt.toEpochMilli() + ":" + cashier.getUsername();
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new IssuedToken(encodedPayload + "." + sign(encodedPayload), expiresAt, cashier);
+    }
+
+    // Null unless the token is well formed, correctly signed, unexpired and not revoked
+    public Claims verify(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String encodedPayload = token.substring(0, dot);
+        String signature = token.substring(dot + 1);
+        if (!MessageDigest.isEqual(sign(encodedPayload).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        Claims claims;
+        try {
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split(":", 5);
+            claims = new Claims(Long.parseLong(fields[0]), Cashier.CashierRole.valueOf(fields[1]),
+                    Instant.ofEpochMilli(Long.parseLong(fields[2])), Instant.ofEpochMilli(Long.parseLong(fields[3])),
+                    fields[4]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+
+        if (!Instant.now().isBefore(claims.expiresAt()) || revokedTokens.containsKey(signature)) {
+            return null;
+        }
+        Instant revokedBefore = revokedCashiers.get(claims.cashierId());
+        if (revokedBefore != null && !claims.issuedAt().isAfter(revokedBefore)) {
+            return null;
+        }
+        return claims;
+    }
+
+    public void revoke(String token) {
+        Claims claims = verify(token);
+        if (claims != null) {
+            revokedTokens.put(token.substring(token.indexOf('.') + 1), claims.expiresAt());
+        }
+    }
+
+    public void revokeCashier(Long cashierId) {
+        revokedCashiers.put(cashierId, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.pos-token.purge-interval-ms:300000}")
+    public void purgeRevocations() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+        // Every token issued before the revocation has expired by now
+        Instant oldestLiveIssue = now.minusSeconds(ttlSeconds);
+        revokedCashiers.values().removeIf(revokedBefore -> revokedBefore.isBefore(oldestLiveIssue));
+    }
+
+    public int revocationCount() {
+        return revokedTokens.size() + revokedCashiers.size();
+    }
+
+    private String sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return ENCODER.encodeToString(mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign POS token", e);
+        }
+    }
+
+    public record IssuedToken(String token, Instant expiresAt, Cashier cashier) {
+    }
+
+    public record Claims(Long cashierId, Cashier.CashierRole role, Instant issuedAt, Instant expiresAt,
+                         String username) {
+
+        // Built from the token alone, so only id, username and role are set; display name, password hash and
+        // timestamps stay null. Bearer requests use the cashier as an id (audit rows, invoices), so it must
+        // never be saved or merged, which would blank those columns; load the cashier where more is needed.
+        public CashierUserDetails toUserDetails() {
+            Cashier cashier = new Cashier();
+            cashier.setId(cashierId);
+            cashier.setUsername(username);
+            cashier.setRole(role);
+            cashier.setIsActive(true);
+            return new CashierUserDetails(cashier);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package menuorderingapp.project.security;
+
+import menuorderingapp.project.model.Cashier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recently checked cashier session tokens, so validating a token does not query cashier_sessions and load the
+ * cashier on every request. Valid tokens are kept until their session expires or the TTL passes, whichever is
+ * first; unknown or expired tokens are remembered for a shorter time. Logout on this node takes effect at
+ * once, on other nodes after at most the TTL. Cached cashiers are shared between requests and must not be
+ * modified.
+ */
+@Component
+public class SessionTokenCache {
+
+    private final Map<String, Entry> entries;
+    private final long ttlSeconds;
+    private final long negativeTtlSeconds;
+
+    public SessionTokenCache(@Value("${app.auth.token-cache.max-entries:10000}") int maxEntries,
+                             @Value("${app.auth.token-cache.ttl-seconds:60}") long ttlSeconds,
+                             @Value("${app.auth.token-cache.negative-ttl-seconds:10}") long negativeTtlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+        this.negativeTtlSeconds = negativeTtlSeconds;
+        // Bounded, least recently used first, so a flood of made-up tokens cannot grow it
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Null when the token has to be looked up
+    public Entry get(String sessionToken) {
+        synchronized (entries) {
+            Entry entry = entries.get(sessionToken);
+            if (entry != null && entry.isStale(LocalDateTime.now())) {
+                entries.remove(sessionToken);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    public void putValid(String sessionToken, Cashier cashier, LocalDateTime sessionExpiresAt) {
+        LocalDateTime cachedUntil = LocalDateTime.now().plusSeconds(ttlSeconds);
+        put(sessionToken, new Entry(cashier, cachedUntil.isBefore(sessionExpiresAt) ? cachedUntil : sessionExpiresAt));
+    }
+
+    public void putInvalid(String sessionToken) {
+        put(sessionToken, new Entry(null, LocalDateTime.now().plusSeconds(negativeTtlSeconds)));
+    }
+
+    // Remembers the token as invalid rather than forgetting it, so the next request needs no lookup either
+    public void invalidate(String sessionToken) {
+        putInvalid(sessionToken);
+    }
+
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.isStale(now));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void put(String sessionToken, Entry entry) {
+        synchronized (entries) {
+            entries.put(sessionToken, entry);
+        }
+    }
+
+    /**
+     * A checked token: the cashier it belongs to, or null for a token that is unknown or expired.
+     */
+    public record Entry(Cashier cashier, LocalDateTime cachedUntil) {
+
+        public boolean isValid() {
+            return cashier != null;
+        }
+
+        private boolean isStale(LocalDateTime now) {
+            return !now.isBefore(cachedUntil);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.model.dto.OrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActiveOrderBoard {
+
+    // Open orders (PENDING, CONFIRMED, PREPARING, READY), newest first
+    List<OrderResponse> getActiveOrders();
+
+    void orderChanged(Order order);
+
+    // A status or payment change; the order lines are unchanged
+    void orderChanged(OrderChange change);
+
+    void orderClosed(Long orderId, Order.OrderStatus status, LocalDateTime changedAt);
+}
@@ -1,6 +1,7 @@
 package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.security.PosTokenService;
 
 public interface AuthService {
 
@@ -13,4 +14,8 @@ public interface AuthService {
     Cashier getCashierFromSession(String sessionToken);
 
     void cleanupExpiredSessions();
+
+    PosTokenService.IssuedToken issuePosToken(String username, String password);
+
+    void revokePosToken(String token);
 }
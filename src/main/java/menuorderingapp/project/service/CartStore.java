@@ -0,0 +1,21 @@
+package menuorderingapp.project.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface CartStore {
+
+    // Menu id -> quantity in the order items were first added; empty when the cart is unknown or expired
+    Map<Long, Integer> getItems(String cartId);
+
+    // Adds to the quantity already in the cart; returns the updated items
+    Map<Long, Integer> add(String cartId, Long menuId, int quantity);
+
+    // Empty when the menu is not in the cart
+    Optional<Map<Long, Integer>> update(String cartId, Long menuId, int quantity);
+
+    // Empty when the menu is not in the cart
+    Optional<Map<Long, Integer>> remove(String cartId, Long menuId);
+
+    void clear(String cartId);
+}
@@ -0,0 +1,8 @@
+package menuorderingapp.project.service;
+
+public interface DocumentNumberGenerator {
+
+    String nextOrderNumber();
+
+    String nextInvoiceNumber();
+}
@@ -2,14 +2,21 @@ package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Invoice;
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.InvoiceBackfillProgress;
+import menuorderingapp.project.model.dto.InvoiceDocument;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface InvoiceService {
 
     Invoice generateInvoice(Order order, Long cashierId);
 
+    InvoiceBackfillProgress generateMissingInvoices(Long cashierId, Consumer<InvoiceBackfillProgress> progressListener);
+
     Optional<Invoice> getInvoiceById(Long id);
 
     Optional<Invoice> getInvoiceByNumber(String invoiceNumber);
@@ -18,7 +25,11 @@ public interface InvoiceService {
 
     List<Invoice> getInvoicesByDateRange(String startDate, String endDate);
 
-    byte[] generateInvoicePdf(Long invoiceId);
+    InvoiceDocument getInvoiceDocument(Long invoiceId);
+
+    String getInvoicePdfKey(InvoiceDocument document);
+
+    void writeInvoicePdf(InvoiceDocument document, OutputStream out) throws IOException;
 
     List<Invoice> getAllInvoices();
 }
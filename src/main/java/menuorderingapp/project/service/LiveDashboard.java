@@ -0,0 +1,28 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.DashboardSnapshot;
+import menuorderingapp.project.model.dto.OrderChange;
+
+import java.time.LocalDateTime;
+
+public interface LiveDashboard {
+
+    // Current counters; never touches the database
+    DashboardSnapshot getSnapshot();
+
+    void orderCreated(Order order);
+
+    void orderChanged(Order order);
+
+    // A status or payment change; the order lines are unchanged
+    void orderChanged(OrderChange change);
+
+    void orderClosed(Long orderId, Order.OrderStatus status, LocalDateTime changedAt);
+
+    void menuChanged(Long menuId, boolean available);
+
+    void menuRemoved(Long menuId);
+
+    void reconcile();
+}
@@ -3,7 +3,9 @@ package menuorderingapp.project.service;
 import menuorderingapp.project.model.Category;
 import menuorderingapp.project.model.Menu;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface MenuService {
@@ -14,6 +16,9 @@ public interface MenuService {
 
     Optional<Menu> getMenuById(Long id);
 
+    // Available menus keyed by id; unknown or unavailable ids are left out
+    Map<Long, Menu> getMenusByIds(Collection<Long> ids);
+
     Menu saveMenu(Menu menu);
 
     Menu updateMenu(Long id, Menu menuDetails);
@@ -39,4 +44,6 @@ public interface MenuService {
     void deleteCategory(Long id);
 
     List<Category> getCategoriesWithMenus();
+
+    long getCatalogVersion();
 }
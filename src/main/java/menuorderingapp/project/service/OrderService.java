@@ -1,20 +1,27 @@
 package menuorderingapp.project.service;
 
+import menuorderingapp.project.model.Menu;
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.CursorPage;
+import menuorderingapp.project.model.dto.OrderFilter;
+import menuorderingapp.project.model.dto.OrderItemRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface OrderService {
 
     Order createOrder(Order order);
 
+    Order createOrder(Order order, List<OrderItemRequest> items, Map<Long, Menu> menus);
+
     Optional<Order> getOrderById(Long id);
 
     Optional<Order> getOrderByNumber(String orderNumber);
 
-    List<Order> getAllOrders();
+    CursorPage<Order> getOrderPage(OrderFilter filter, String cursor, int size);
 
     List<Order> getOrdersByStatus(Order.OrderStatus status);
 
@@ -22,7 +29,10 @@ public interface OrderService {
 
     Order updateOrderStatus(Long orderId, Order.OrderStatus status);
 
-    Order processPayment(Long orderId, Order.PaymentMethod paymentMethod);
+    void processPayment(Long orderId, Order.PaymentMethod paymentMethod);
+
+    // Empty when no payable order holds this QR payment reference (unknown, already paid or closed)
+    Optional<Order> processQRPayment(String reference);
 
     Order addItemToOrder(Long orderId, Long menuId, Integer quantity);
 
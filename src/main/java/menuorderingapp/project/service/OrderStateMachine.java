@@ -0,0 +1,75 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.Order.OrderStatus;
+import menuorderingapp.project.model.Order.PaymentStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed order and payment status transitions. Services turn these into conditional updates
+ * ({@code ... WHERE status IN (allowed sources)}), so a transition either applies atomically or loses the race.
+ */
+public final class OrderStateMachine {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> ORDER_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<PaymentStatus, Set<PaymentStatus>> PAYMENT_TRANSITIONS = new EnumMap<>(PaymentStatus.class);
+
+    static {
+        ORDER_TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED));
+        ORDER_TRANSITIONS.put(OrderStatus.CONFIRMED, EnumSet.of(OrderStatus.PREPARING, OrderStatus.CANCELLED));
+        ORDER_TRANSITIONS.put(OrderStatus.PREPARING, EnumSet.of(OrderStatus.READY, OrderStatus.CANCELLED));
+        ORDER_TRANSITIONS.put(OrderStatus.READY, EnumSet.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED));
+        ORDER_TRANSITIONS.put(OrderStatus.COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        ORDER_TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        PAYMENT_TRANSITIONS.put(PaymentStatus.PENDING, EnumSet.of(PaymentStatus.PAID, PaymentStatus.FAILED));
+        PAYMENT_TRANSITIONS.put(PaymentStatus.FAILED, EnumSet.of(PaymentStatus.PAID, PaymentStatus.PENDING));
+        PAYMENT_TRANSITIONS.put(PaymentStatus.PAID, EnumSet.of(PaymentStatus.REFUNDED));
+        PAYMENT_TRANSITIONS.put(PaymentStatus.REFUNDED, EnumSet.noneOf(PaymentStatus.class));
+    }
+
+    private OrderStateMachine() {
+    }
+
+    public static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return ORDER_TRANSITIONS.get(from).contains(to);
+    }
+
+    public static boolean canTransition(PaymentStatus from, PaymentStatus to) {
+        return PAYMENT_TRANSITIONS.get(from).contains(to);
+    }
+
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        ORDER_TRANSITIONS.forEach((from, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(from);
+            }
+        });
+        return Collections.unmodifiableSet(sources);
+    }
+
+    public static Set<PaymentStatus> sourcesOf(PaymentStatus target) {
+        Set<PaymentStatus> sources = EnumSet.noneOf(PaymentStatus.class);
+        PAYMENT_TRANSITIONS.forEach((from, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(from);
+            }
+        });
+        return Collections.unmodifiableSet(sources);
+    }
+
+    // Orders are completed only once paid; every other order transition is independent of payment
+    public static boolean requiresPayment(OrderStatus target) {
+        return target == OrderStatus.COMPLETED;
+    }
+
+    // A payment can be taken while the order is still open; it confirms a pending order
+    public static Set<OrderStatus> payableStatuses() {
+        return EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY);
+    }
+}
@@ -1,16 +1,22 @@
 package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.util.QRCodeImageCache;
 
 public interface PaymentService {
 
     String generateQRCode(String paymentData);
 
-    boolean processQRPayment(String orderNumber, String qrData);
+    // Starts a QR payment and returns its reference without waiting for the provider
+    String submitQRPayment(String orderNumber, Long cashierId);
+
+    boolean confirmQRPayment(String reference, boolean approved);
 
     boolean processCashPayment(String orderNumber, Double amountTendered);
 
     String generatePaymentQRCode(Order order);
 
+    QRCodeImageCache.QRCodeImage getPaymentQRCodeImage(Order order);
+
     boolean verifyPayment(String orderNumber);
 }
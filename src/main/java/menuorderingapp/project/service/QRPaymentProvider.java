@@ -0,0 +1,9 @@
+package menuorderingapp.project.service;
+
+import java.math.BigDecimal;
+
+public interface QRPaymentProvider {
+
+    // Hands the payment to the provider and returns at once; the outcome arrives later as a QRPaymentCallback
+    void requestPayment(String reference, String orderNumber, BigDecimal amount);
+}
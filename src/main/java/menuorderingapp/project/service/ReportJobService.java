@@ -0,0 +1,27 @@
+package menuorderingapp.project.service;
+
+import menuorderingapp.project.model.dto.ReportJobStatus;
+import menuorderingapp.project.model.dto.ReportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportJobService {
+
+    ReportJobStatus submit(Long cashierId, ReportRequest request);
+
+    Optional<ReportJobStatus> getJob(Long cashierId, String jobId);
+
+    List<ReportJobStatus> getJobs(Long cashierId);
+
+    boolean cancel(Long cashierId, String jobId);
+
+    void writeResult(Long cashierId, String jobId, OutputStream out) throws IOException;
+
+    void clearCachedResults();
+
+    void invalidateCachedResults(LocalDate day);
+}
@@ -1,11 +1,18 @@
 package menuorderingapp.project.service;
 
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.CashierSales;
+import menuorderingapp.project.model.dto.MenuSales;
+import menuorderingapp.project.model.dto.SalesReportResponse;
+import menuorderingapp.project.util.ExportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongConsumer;
 
 public interface ReportService {
 
@@ -13,9 +20,22 @@ public interface ReportService {
 
     Map<String, Object> getDailySalesReport(LocalDate date);
 
-    List<Map<String, Object>> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate);
+    List<MenuSales> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate);
 
-    Map<String, Object> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate);
+    List<CashierSales> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate);
+
+    // Every order placed on the days from..to, counted by state in the database
+    SalesReportResponse getOrderSummary(LocalDate from, LocalDate to);
 
     List<Order> getOrdersForReport(LocalDateTime startDate, LocalDateTime endDate);
+
+    void writeSalesReportPdf(Map<String, Object> report, OutputStream out) throws IOException;
+
+    // Both exports cover [startDate, endDate), report the running row count to progress every few
+    // hundred rows and return the number of data rows written
+    long writeOrderExport(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format, OutputStream out,
+                          LongConsumer progress) throws IOException;
+
+    long writeInvoiceExport(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format, OutputStream out,
+                            LongConsumer progress) throws IOException;
 }
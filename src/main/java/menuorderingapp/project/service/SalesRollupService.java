@@ -0,0 +1,14 @@
+package menuorderingapp.project.service;
+
+import java.time.LocalDate;
+
+public interface SalesRollupService {
+
+    void orderPaid(Long orderId, LocalDate orderDay);
+
+    void orderRefunded(Long orderId);
+
+    int rebuild(LocalDate from, LocalDate to);
+
+    int rebuildAll();
+}
@@ -0,0 +1,228 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.OrderItem;
+import menuorderingapp.project.model.dto.ActiveOrderEvent;
+import menuorderingapp.project.model.dto.CategoryResponse;
+import menuorderingapp.project.model.dto.MenuResponse;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.model.dto.OrderItemResponse;
+import menuorderingapp.project.model.dto.OrderResponse;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ActiveOrderBoard;
+import menuorderingapp.project.util.OrderChangeStamp;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Open orders held in memory so cashier and kitchen screens never page through order history.
+ * Changes are applied after commit and published to /topic/orders as UPSERT/REMOVE events.
+ */
+@Service
+public class ActiveOrderBoardImpl implements ActiveOrderBoard {
+
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES = EnumSet.of(
+            Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+
+    private static final long CLOSED_RETENTION_MINUTES = 10;
+
+    private final OrderRepository orderRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Closed orders stay as tombstones for a while so a late, older update cannot bring them back
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public ActiveOrderBoardImpl(OrderRepository orderRepository, SimpMessagingTemplate messagingTemplate) {
+        this.orderRepository = orderRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        for (Order order : orderRepository.findActiveWithItems(ACTIVE_STATUSES)) {
+            OrderResponse response = toResponse(order);
+            entries.putIfAbsent(order.getId(), new Entry(response, OrderChangeStamp.ofDatabase(order.getUpdatedAt())));
+        }
+    }
+
+    @Override
+    public List<OrderResponse> getActiveOrders() {
+        return entries.values().stream()
+                .map(Entry::order)
+                .filter(order -> order != null)
+                .sorted(Comparator.comparing(OrderResponse::getCreatedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void orderChanged(Order order) {
+        // Convert while the caller's session is still open; the board only ever holds detached DTOs
+        OrderResponse response = toResponse(order);
+        afterCommit(() -> {
+            if (ACTIVE_STATUSES.contains(response.getStatus())) {
+                apply(response.getId(), new Entry(response, OrderChangeStamp.ofEvent(response.getUpdatedAt())),
+                        upsert(response));
+            } else {
+                close(response.getId(), response.getOrderNumber(), response.getStatus(), response.getUpdatedAt());
+            }
+        });
+    }
+
+    @Override
+    public void orderChanged(OrderChange change) {
+        afterCommit(() -> {
+            if (!ACTIVE_STATUSES.contains(change.status())) {
+                close(change.id(), change.orderNumber(), change.status(), change.updatedAt());
+                return;
+            }
+            // The card already on the board keeps its lines; only the header fields move
+            OrderChangeStamp stamp = OrderChangeStamp.ofEvent(change.updatedAt());
+            Entry applied = entries.computeIfPresent(change.id(), (id, current) ->
+                    current.order() != null && current.changed().isReplacedBy(stamp)
+                            ? new Entry(withChange(current.order(), change), stamp) : current);
+            if (applied == null) {
+                // Not on the board yet (changed before the board was seeded): load the card once
+                orderRepository.findWithItemsByIdIn(List.of(change.id())).stream().findFirst()
+                        .map(this::toResponse)
+                        .ifPresent(response -> apply(response.getId(), new Entry(response, stamp),
+                                upsert(response)));
+            } else if (applied.changed() == stamp) {
+                messagingTemplate.convertAndSend("/topic/orders", upsert(applied.order()));
+            }
+        });
+    }
+
+    @Override
+    public void orderClosed(Long orderId, Order.OrderStatus status, LocalDateTime changedAt) {
+        afterCommit(() -> {
+            Entry current = entries.get(orderId);
+            String orderNumber = current != null && current.order() != null ? current.order().getOrderNumber() : null;
+            close(orderId, orderNumber, status, changedAt);
+        });
+    }
+
+    @Scheduled(fixedDelay = CLOSED_RETENTION_MINUTES * 60 * 1000)
+    public void pruneClosed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(CLOSED_RETENTION_MINUTES);
+        entries.entrySet().removeIf(entry -> entry.getValue().order() == null
+                && entry.getValue().changed().at() != null
+                && entry.getValue().changed().at().isBefore(cutoff));
+    }
+
+    private void close(Long orderId, String orderNumber, Order.OrderStatus status, LocalDateTime changedAt) {
+        apply(orderId, new Entry(null, OrderChangeStamp.ofEvent(changedAt)),
+                new ActiveOrderEvent(ActiveOrderEvent.Type.REMOVE, orderId, orderNumber, status, null));
+    }
+
+    private void apply(Long orderId, Entry next, ActiveOrderEvent event) {
+        Entry applied = entries.compute(orderId, (id, current) ->
+                current == null || current.changed().isReplacedBy(next.changed()) ? next : current);
+        if (applied == next) {
+            messagingTemplate.convertAndSend("/topic/orders", event);
+        }
+    }
+
+    private static ActiveOrderEvent upsert(OrderResponse response) {
+        return new ActiveOrderEvent(ActiveOrderEvent.Type.UPSERT, response.getId(), response.getOrderNumber(),
+                response.getStatus(), response);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private OrderResponse toResponse(Order order) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setOrderNumber(order.getOrderNumber());
+        response.setTotal(order.getTotal());
+        response.setStatus(order.getStatus());
+        response.setOrderType(order.getOrderType());
+        response.setPaymentMethod(order.getPaymentMethod());
+        response.setPaymentStatus(order.getPaymentStatus());
+        response.setCustomerName(order.getCustomerName());
+        response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+
+        List<OrderItemResponse> itemResponses = order.getOrderItems().stream()
+                .map(this::toItemResponse)
+                .collect(Collectors.toList());
+        response.setItems(itemResponses);
+
+        return response;
+    }
+
+    private static OrderResponse withChange(OrderResponse card, OrderChange change) {
+        OrderResponse response = new OrderResponse();
+        response.setId(card.getId());
+        response.setOrderNumber(card.getOrderNumber());
+        response.setTotal(change.total());
+        response.setStatus(change.status());
+        response.setOrderType(card.getOrderType());
+        response.setPaymentMethod(change.paymentMethod());
+        response.setPaymentStatus(change.paymentStatus());
+        response.setCustomerName(card.getCustomerName());
+        response.setCashier(card.getCashier());
+        response.setItems(card.getItems());
+        response.setCreatedAt(card.getCreatedAt());
+        response.setUpdatedAt(change.updatedAt());
+        return response;
+    }
+
+    private OrderItemResponse toItemResponse(OrderItem orderItem) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setId(orderItem.getId());
+        response.setQuantity(orderItem.getQuantity());
+        response.setPrice(orderItem.getPrice());
+        response.setSubtotal(orderItem.getSubtotal());
+
+        Menu menu = orderItem.getMenu();
+        if (menu != null) {
+            MenuResponse menuResponse = new MenuResponse();
+            menuResponse.setId(menu.getId());
+            menuResponse.setName(menu.getName());
+            menuResponse.setPrice(menu.getPrice());
+            menuResponse.setCurrentPrice(menu.getCurrentPrice());
+            if (menu.getCategory() != null) {
+                CategoryResponse categoryResponse = new CategoryResponse();
+                categoryResponse.setId(menu.getCategory().getId());
+                categoryResponse.setName(menu.getCategory().getName());
+                menuResponse.setCategory(categoryResponse);
+            }
+            response.setMenu(menuResponse);
+        }
+
+        return response;
+    }
+
+    private record Entry(OrderResponse order, OrderChangeStamp changed) {
+    }
+}
@@ -5,14 +5,18 @@ import menuorderingapp.project.model.CashierSession;
 import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.CashierSessionRepository;
 import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.security.PosTokenService;
+import menuorderingapp.project.security.SessionTokenCache;
 import menuorderingapp.project.service.AuthService;
 import menuorderingapp.project.service.CashierService;
+import menuorderingapp.project.session.ExpiredSessionSweeper;
 
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -27,15 +31,24 @@ public class AuthServiceImpl implements AuthService {
     private final CashierRepository cashierRepository;
     private final CashierSessionRepository sessionRepository;
     private final AuthenticationManager authenticationManager;
+    private final SessionTokenCache tokenCache;
+    private final ExpiredSessionSweeper sessionSweeper;
+    private final PosTokenService posTokenService;
 
     public AuthServiceImpl(CashierService cashierService,
             CashierRepository cashierRepository,
             CashierSessionRepository sessionRepository,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            SessionTokenCache tokenCache,
+            ExpiredSessionSweeper sessionSweeper,
+            PosTokenService posTokenService) {
         this.cashierService = cashierService;
         this.cashierRepository = cashierRepository;
         this.sessionRepository = sessionRepository;
         this.authenticationManager = authenticationManager;
+        this.tokenCache = tokenCache;
+        this.sessionSweeper = sessionSweeper;
+        this.posTokenService = posTokenService;
     }
 
     @Override
@@ -56,6 +69,7 @@ public class AuthServiceImpl implements AuthService {
 
             CashierSession session = new CashierSession(cashier, sessionToken, expiresAt);
             sessionRepository.save(session);
+            tokenCache.putValid(sessionToken, cashier, expiresAt);
 
             return sessionToken;
 
@@ -67,6 +81,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public void logout(String sessionToken) {
         SecurityContextHolder.clearContext();
+        tokenCache.invalidate(sessionToken);
 
         Optional<CashierSession> sessionOpt = sessionRepository.findBySessionToken(sessionToken);
         sessionOpt.ifPresent(sessionRepository::delete);
@@ -75,34 +90,72 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional(readOnly = true)
     public boolean validateSession(String sessionToken) {
-        Optional<CashierSession> sessionOpt = sessionRepository.findBySessionToken(sessionToken);
-        if (sessionOpt.isEmpty()) {
-            return false;
-        }
-
-        CashierSession session = sessionOpt.get();
-        if (session.isExpired()) {
-            sessionRepository.delete(session);
-            return false;
-        }
-
-        return true;
+        return findCashier(sessionToken) != null;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Cashier getCashierFromSession(String sessionToken) {
-        Optional<CashierSession> sessionOpt = sessionRepository.findBySessionToken(sessionToken);
-        if (sessionOpt.isEmpty() || sessionOpt.get().isExpired()) {
+        Cashier cashier = findCashier(sessionToken);
+        if (cashier == null) {
             throw new RuntimeException("Invalid or expired session");
         }
 
-        return sessionOpt.get().getCashier();
+        return cashier;
     }
 
+    // Expired rows are left to the sweeper, which deletes them in chunks
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredSessions() {
-        sessionRepository.deleteExpiredSessions(LocalDateTime.now());
+        sessionSweeper.sweep();
+    }
+
+    // Stateless: nothing is stored, the token alone authenticates the terminal until it expires
+    @Override
+    public PosTokenService.IssuedToken issuePosToken(String username, String password) {
+        if (!posTokenService.isEnabled()) {
+            throw new RuntimeException("POS tokens are disabled");
+        }
+
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
+            Cashier cashier = ((CashierUserDetails) authentication.getPrincipal()).getCashier();
+
+            cashierService.updateLastLogin(cashier.getId());
+
+            return posTokenService.issue(cashier);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid username or password");
+        }
+    }
+
+    @Override
+    public void revokePosToken(String token) {
+        posTokenService.revoke(token);
+    }
+
+    private Cashier findCashier(String sessionToken) {
+        if (sessionToken == null) {
+            return null;
+        }
+
+        SessionTokenCache.Entry cached = tokenCache.get(sessionToken);
+        if (cached != null) {
+            return cached.cashier();
+        }
+
+        Optional<CashierSession> sessionOpt = sessionRepository.findWithCashierBySessionToken(sessionToken);
+        if (sessionOpt.isEmpty() || sessionOpt.get().isExpired()) {
+            tokenCache.putInvalid(sessionToken);
+            return null;
+        }
+
+        CashierSession session = sessionOpt.get();
+        tokenCache.putValid(sessionToken, session.getCashier(), session.getExpiresAt());
+        return session.getCashier();
     }
 
     private String generateSessionToken() {
@@ -0,0 +1,123 @@
+package menuorderingapp.project.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import menuorderingapp.project.service.DocumentNumberGenerator;
+import menuorderingapp.project.util.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Issues numbers like {@code ORD-20251018-00042}: a per-day prefix plus a counter that restarts daily.
+ * Counters are handed out from blocks reserved in the database, so instances never share a value and
+ * most numbers are issued without a round trip. Unused values of a block are skipped on restart.
+ * <p>
+ * Blocks are reserved on a background thread, never on the caller's: the caller usually holds a
+ * transaction and a pooled connection, and reserving from there would need a second connection while
+ * other callers queue behind the same lock. The next block is requested once the current one is down
+ * to a quarter, so callers only wait for the first block of the day.
+ */
+@Service
+public class BlockDocumentNumberGenerator implements DocumentNumberGenerator {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final DocumentSequenceAllocator allocator;
+    private final int blockSize;
+    private final int lowWaterMark;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final ExecutorService reserver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "document-sequence-reserver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BlockDocumentNumberGenerator(DocumentSequenceAllocator allocator,
+                                        @Value("${app.numbering.block-size:100}") int blockSize) {
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+        this.lowWaterMark = Math.max(1, blockSize / 4);
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return next(Constants.ORDER_PREFIX);
+    }
+
+    @Override
+    public String nextInvoiceNumber() {
+        return next(Constants.INVOICE_PREFIX);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reserver.shutdownNow();
+    }
+
+    private String next(String prefix) {
+        String day = LocalDate.now().format(DAY_FORMAT);
+        Block block = blocks.computeIfAbsent(prefix, p -> new Block());
+
+        while (true) {
+            CompletableFuture<Long> pending;
+            synchronized (block) {
+                if (day.equals(block.day) && block.next < block.limit) {
+                    long value = block.next++;
+                    if (block.limit - block.next <= lowWaterMark) {
+                        prefetch(block, prefix, day);
+                    }
+                    return prefix + day + "-" + String.format("%05d", value);
+                }
+                prefetch(block, prefix, day);
+                pending = block.prefetch;
+            }
+
+            // Wait outside the lock; only the thread that finds the reservation still pending installs it
+            long start;
+            try {
+                start = pending.join();
+            } catch (CompletionException e) {
+                synchronized (block) {
+                    if (block.prefetch == pending) {
+                        block.prefetch = null;
+                    }
+                }
+                throw new RuntimeException("Failed to reserve document numbers: " + e.getCause().getMessage(),
+                        e.getCause());
+            }
+            synchronized (block) {
+                if (block.prefetch == pending) {
+                    block.prefetch = null;
+                    block.next = start;
+                    block.limit = start + blockSize;
+                    block.day = block.prefetchDay;
+                }
+            }
+        }
+    }
+
+    // Caller holds the block's lock
+    private void prefetch(Block block, String prefix, String day) {
+        if (block.prefetch != null && day.equals(block.prefetchDay)) {
+            return;
+        }
+        block.prefetchDay = day;
+        block.prefetch = CompletableFuture.supplyAsync(() -> allocator.reserve(prefix + day, blockSize), reserver);
+    }
+
+    private static final class Block {
+        private String day;
+        private long next;
+        private long limit;
+        private String prefetchDay;
+        private CompletableFuture<Long> prefetch;
+    }
+}
@@ -2,6 +2,7 @@ package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.Cashier;
 import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.security.PosTokenService;
 import menuorderingapp.project.service.CashierService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,10 +18,13 @@ public class CashierServiceImpl implements CashierService {
 
     private final CashierRepository cashierRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PosTokenService posTokenService;
 
-    public CashierServiceImpl(CashierRepository cashierRepository, PasswordEncoder passwordEncoder) {
+    public CashierServiceImpl(CashierRepository cashierRepository, PasswordEncoder passwordEncoder,
+                              PosTokenService posTokenService) {
         this.cashierRepository = cashierRepository;
         this.passwordEncoder = passwordEncoder;
+        this.posTokenService = posTokenService;
     }
 
     @Override
@@ -77,6 +81,8 @@ public class CashierServiceImpl implements CashierService {
             existingCashier.setPasswordHash(passwordEncoder.encode(cashierDetails.getPasswordHash()));
         }
 
+        // POS tokens carry the username and role they were issued with
+        posTokenService.revokeCashier(id);
         return cashierRepository.save(existingCashier);
     }
 
@@ -86,6 +92,7 @@ public class CashierServiceImpl implements CashierService {
                 .orElseThrow(() -> new RuntimeException("Cashier not found with id: " + id));
         cashier.setIsActive(false);
         cashierRepository.save(cashier);
+        posTokenService.revokeCashier(id);
     }
 
     @Override
@@ -0,0 +1,29 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.repository.DocumentSequenceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class DocumentSequenceAllocator {
+
+    private final DocumentSequenceRepository documentSequenceRepository;
+
+    public DocumentSequenceAllocator(DocumentSequenceRepository documentSequenceRepository) {
+        this.documentSequenceRepository = documentSequenceRepository;
+    }
+
+    /**
+     * Reserves {@code size} consecutive values of the named sequence and returns the first one.
+     * Runs in its own short transaction so the row lock is released before the caller's work commits.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String name, int size) {
+        if (documentSequenceRepository.advance(name, size) == 0) {
+            documentSequenceRepository.createIfAbsent(name);
+            documentSequenceRepository.advance(name, size);
+        }
+        return documentSequenceRepository.findNextValue(name) - size;
+    }
+}
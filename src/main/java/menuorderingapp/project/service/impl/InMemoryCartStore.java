@@ -0,0 +1,233 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.StoredCart;
+import menuorderingapp.project.repository.StoredCartRepository;
+import menuorderingapp.project.service.CartStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Customer carts kept in memory as menu id -> quantity, so changing a cart never rewrites the HTTP session.
+ * Each cart is guarded by one of a fixed set of striped locks; carts unchanged for the TTL are evicted.
+ * With app.cart.persistent on, every change is also written through to the carts table in a compact
+ * "menuId:quantity" form and a cart missing from memory after a restart is loaded from there. The memory
+ * copy is never re-read, so with several nodes the customer pages need sticky routing.
+ */
+@Service
+public class InMemoryCartStore implements CartStore {
+
+    private static final int STRIPES = 64;
+
+    private final StoredCartRepository storedCartRepository;
+    private final boolean persistent;
+    private final Duration ttl;
+
+    private final Map<String, Cart> carts = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public InMemoryCartStore(StoredCartRepository storedCartRepository,
+                             @Value("${app.cart.persistent:false}") boolean persistent,
+                             @Value("${app.cart.ttl-minutes:480}") long ttlMinutes) {
+        this.storedCartRepository = storedCartRepository;
+        this.persistent = persistent;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public Map<Long, Integer> getItems(String cartId) {
+        synchronized (lockFor(cartId)) {
+            Cart cart = find(cartId);
+            return cart != null ? cart.snapshot() : Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public Map<Long, Integer> add(String cartId, Long menuId, int quantity) {
+        Write write;
+        synchronized (lockFor(cartId)) {
+            Cart cart = find(cartId);
+            if (cart == null) {
+                cart = new Cart();
+                carts.put(cartId, cart);
+            }
+            cart.items.merge(menuId, quantity, Integer::sum);
+            write = changed(cart);
+        }
+        return written(cartId, write);
+    }
+
+    @Override
+    public Optional<Map<Long, Integer>> update(String cartId, Long menuId, int quantity) {
+        Write write;
+        synchronized (lockFor(cartId)) {
+            Cart cart = find(cartId);
+            if (cart == null || cart.items.replace(menuId, quantity) == null) {
+                return Optional.empty();
+            }
+            write = changed(cart);
+        }
+        return Optional.of(written(cartId, write));
+    }
+
+    @Override
+    public Optional<Map<Long, Integer>> remove(String cartId, Long menuId) {
+        Write write;
+        synchronized (lockFor(cartId)) {
+            Cart cart = find(cartId);
+            if (cart == null || cart.items.remove(menuId) == null) {
+                return Optional.empty();
+            }
+            write = changed(cart);
+        }
+        return Optional.of(written(cartId, write));
+    }
+
+    @Override
+    public void clear(String cartId) {
+        if (!persistent) {
+            synchronized (lockFor(cartId)) {
+                carts.remove(cartId);
+            }
+            return;
+        }
+        // An emptied cart stays until the TTL so its delete is ordered against the writes of a refilled cart
+        Write write;
+        synchronized (lockFor(cartId)) {
+            Cart cart = carts.computeIfAbsent(cartId, id -> new Cart());
+            cart.items.clear();
+            write = changed(cart);
+        }
+        written(cartId, write);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.sweep-interval-ms:300000}")
+    public void evictExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        for (String cartId : carts.keySet()) {
+            synchronized (lockFor(cartId)) {
+                Cart cart = carts.get(cartId);
+                if (cart != null && cart.changedAt.isBefore(cutoff)) {
+                    carts.remove(cartId);
+                }
+            }
+        }
+        if (persistent) {
+            storedCartRepository.deleteUpdatedBefore(cutoff);
+        }
+    }
+
+    public int size() {
+        return carts.size();
+    }
+
+    // Caller holds the cart's lock
+    private Cart find(String cartId) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        Cart cart = carts.get(cartId);
+        if (cart != null && cart.changedAt.isBefore(cutoff)) {
+            carts.remove(cartId);
+            cart = null;
+        }
+        if (cart == null && persistent) {
+            cart = storedCartRepository.findById(cartId)
+                    .filter(stored -> !stored.getUpdatedAt().isBefore(cutoff))
+                    .map(stored -> new Cart(decode(stored.getItems()), stored.getUpdatedAt()))
+                    .orElse(null);
+            if (cart != null) {
+                carts.put(cartId, cart);
+            }
+        }
+        return cart;
+    }
+
+    // Caller holds the cart's lock
+    private Write changed(Cart cart) {
+        cart.changedAt = LocalDateTime.now();
+        cart.version++;
+        return new Write(cart, cart.version, cart.snapshot(), cart.changedAt);
+    }
+
+    // Runs after the striped lock is released, so the database round trip only holds up writes to the same
+    // cart. A write overtaken by a newer one for that cart is skipped.
+    private Map<Long, Integer> written(String cartId, Write write) {
+        if (persistent) {
+            Cart cart = write.cart();
+            synchronized (cart.writeLock) {
+                if (write.version() > cart.writtenVersion) {
+                    if (write.items().isEmpty()) {
+                        storedCartRepository.deleteById(cartId);
+                    } else {
+                        storedCartRepository.upsert(cartId, encode(write.items()), write.changedAt());
+                    }
+                    cart.writtenVersion = write.version();
+                }
+            }
+        }
+        return write.items();
+    }
+
+    private Object lockFor(String cartId) {
+        return locks[Math.floorMod(cartId.hashCode(), STRIPES)];
+    }
+
+    private static String encode(Map<Long, Integer> items) {
+        StringBuilder encoded = new StringBuilder();
+        items.forEach((menuId, quantity) -> {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(menuId).append(':').append(quantity);
+        });
+        return encoded.toString();
+    }
+
+    private static Map<Long, Integer> decode(String encoded) {
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        if (encoded == null || encoded.isBlank()) {
+            return items;
+        }
+        for (String item : encoded.split(",")) {
+            int separator = item.indexOf(':');
+            if (separator > 0) {
+                items.put(Long.parseLong(item.substring(0, separator)), Integer.parseInt(item.substring(separator + 1)));
+            }
+        }
+        return items;
+    }
+
+    private record Write(Cart cart, long version, Map<Long, Integer> items, LocalDateTime changedAt) {
+    }
+
+    private static final class Cart {
+        private final Map<Long, Integer> items;
+        private final Object writeLock = new Object();
+        private LocalDateTime changedAt;
+        private long version;
+        private long writtenVersion;
+
+        private Cart() {
+            this(new LinkedHashMap<>(), LocalDateTime.now());
+        }
+
+        private Cart(Map<Long, Integer> items, LocalDateTime changedAt) {
+            this.items = items;
+            this.changedAt = changedAt;
+        }
+
+        private Map<Long, Integer> snapshot() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(items));
+        }
+    }
+}
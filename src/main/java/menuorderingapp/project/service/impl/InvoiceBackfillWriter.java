@@ -0,0 +1,63 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.Invoice;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.MissingInvoiceRow;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.DocumentNumberGenerator;
+import menuorderingapp.project.util.Constants;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class InvoiceBackfillWriter {
+
+    private final InvoiceRepository invoiceRepository;
+    private final OrderRepository orderRepository;
+    private final CashierRepository cashierRepository;
+    private final DocumentNumberGenerator numberGenerator;
+
+    public InvoiceBackfillWriter(InvoiceRepository invoiceRepository, OrderRepository orderRepository,
+                                 CashierRepository cashierRepository, DocumentNumberGenerator numberGenerator) {
+        this.invoiceRepository = invoiceRepository;
+        this.orderRepository = orderRepository;
+        this.cashierRepository = cashierRepository;
+        this.numberGenerator = numberGenerator;
+    }
+
+    /**
+     * Inserts one invoice per row in its own transaction. Orders and the cashier are attached as
+     * references, so the only statements are the batched inserts (plus pooled id/number blocks).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int writeChunk(List<MissingInvoiceRow> rows, Long cashierId) {
+        Cashier cashier = cashierId != null ? cashierRepository.getReferenceById(cashierId) : null;
+
+        List<Invoice> invoices = new ArrayList<>(rows.size());
+        for (MissingInvoiceRow row : rows) {
+            BigDecimal tax = row.getTotal().multiply(BigDecimal.valueOf(Constants.TAX_RATE));
+
+            Invoice invoice = new Invoice();
+            invoice.setInvoiceNumber(numberGenerator.nextInvoiceNumber());
+            invoice.setOrder(orderRepository.getReferenceById(row.getOrderId()));
+            invoice.setCashier(cashier);
+            invoice.setTotalAmount(row.getTotal());
+            invoice.setTaxAmount(tax);
+            invoice.setFinalAmount(row.getTotal().add(tax));
+            invoice.setPaymentMethod(row.getPaymentMethod() != null ? row.getPaymentMethod() : Order.PaymentMethod.CASH);
+            invoice.setCreatedAt(row.getCreatedAt());
+            invoices.add(invoice);
+        }
+
+        invoiceRepository.saveAll(invoices);
+        return invoices.size();
+    }
+}
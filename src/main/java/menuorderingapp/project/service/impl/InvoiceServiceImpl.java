@@ -1,19 +1,32 @@
 package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.*;
+import menuorderingapp.project.model.dto.InvoiceBackfillProgress;
+import menuorderingapp.project.model.dto.InvoiceDocument;
+import menuorderingapp.project.model.dto.MissingInvoiceRow;
 import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.InvoiceRepository;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.DocumentNumberGenerator;
 import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.PdfDocumentCache;
+import menuorderingapp.project.util.PdfDocumentRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -22,13 +35,28 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final InvoiceRepository invoiceRepository;
     private final OrderRepository orderRepository;
     private final CashierRepository cashierRepository;
+    private final DocumentNumberGenerator numberGenerator;
+    private final InvoiceBackfillWriter backfillWriter;
+    private final PdfDocumentRenderer pdfRenderer;
+    private final PdfDocumentCache pdfCache;
+    private final int backfillChunkSize;
 
     public InvoiceServiceImpl(InvoiceRepository invoiceRepository,
                               OrderRepository orderRepository,
-                              CashierRepository cashierRepository) {
+                              CashierRepository cashierRepository,
+                              DocumentNumberGenerator numberGenerator,
+                              InvoiceBackfillWriter backfillWriter,
+                              PdfDocumentRenderer pdfRenderer,
+                              PdfDocumentCache pdfCache,
+                              @Value("${app.invoices.backfill-chunk-size:500}") int backfillChunkSize) {
         this.invoiceRepository = invoiceRepository;
         this.orderRepository = orderRepository;
         this.cashierRepository = cashierRepository;
+        this.numberGenerator = numberGenerator;
+        this.backfillWriter = backfillWriter;
+        this.pdfRenderer = pdfRenderer;
+        this.pdfCache = pdfCache;
+        this.backfillChunkSize = backfillChunkSize;
     }
 
     @Override
@@ -45,6 +73,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
 
         Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(numberGenerator.nextInvoiceNumber());
         invoice.setOrder(order);
         invoice.setCashier(cashier);
         invoice.setTotalAmount(order.getTotal());
@@ -62,6 +91,38 @@ public class InvoiceServiceImpl implements InvoiceService {
         return invoiceRepository.save(invoice);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InvoiceBackfillProgress generateMissingInvoices(Long cashierId,
+                                                           Consumer<InvoiceBackfillProgress> progressListener) {
+        long startedAt = System.currentTimeMillis();
+        InvoiceBackfillProgress progress = new InvoiceBackfillProgress(
+                orderRepository.countByPaymentStatus(Order.PaymentStatus.PAID));
+
+        // Each chunk commits on its own, so a failure keeps the work already done and a rerun resumes
+        long afterId = 0;
+        while (true) {
+            List<MissingInvoiceRow> rows = invoiceRepository.findPaidOrdersWithoutInvoice(
+                    Order.PaymentStatus.PAID, afterId, PageRequest.of(0, backfillChunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            progress.setInvoicesCreated(progress.getInvoicesCreated() + backfillWriter.writeChunk(rows, cashierId));
+            progress.setChunksCompleted(progress.getChunksCompleted() + 1);
+            progress.setElapsedMillis(System.currentTimeMillis() - startedAt);
+            progressListener.accept(progress);
+
+            afterId = rows.get(rows.size() - 1).getOrderId();
+        }
+
+        progress.setInvoicesSkipped(Math.max(0, progress.getTotalPaidOrders() - progress.getInvoicesCreated()));
+        progress.setElapsedMillis(System.currentTimeMillis() - startedAt);
+        progress.setFinished(true);
+        progressListener.accept(progress);
+        return progress;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Invoice> getInvoiceById(Long id) {
@@ -91,12 +152,23 @@ public class InvoiceServiceImpl implements InvoiceService {
     }
 
     @Override
-    public byte[] generateInvoicePdf(Long invoiceId) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
+    @Transactional(readOnly = true)
+    public InvoiceDocument getInvoiceDocument(Long invoiceId) {
+        Invoice invoice = invoiceRepository.findByIdWithOrderAndCashier(invoiceId)
                 .orElseThrow(() -> new RuntimeException("Invoice not found with id: " + invoiceId));
+        return InvoiceDocument.from(invoice);
+    }
+
+    @Override
+    public String getInvoicePdfKey(InvoiceDocument document) {
+        return PdfDocumentRenderer.INVOICE_LAYOUT_VERSION + "-" + document.getContentHash();
+    }
 
-        String pdfContent = generateInvoiceContent(invoice);
-        return pdfContent.getBytes();
+    // Issued invoices never change, so the rendered file is reused for as long as the layout version holds
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeInvoicePdf(InvoiceDocument document, OutputStream out) throws IOException {
+        pdfCache.write(getInvoicePdfKey(document), target -> pdfRenderer.renderInvoice(document, target), out);
     }
 
     @Override
@@ -105,31 +177,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         return invoiceRepository.findAll();
     }
 
-    private BigDecimal calculateTax(java.math.BigDecimal amount) {
-        return amount.multiply(java.math.BigDecimal.valueOf(0.10));
-    }
-
-    private String generateInvoiceContent(Invoice invoice) {
-        StringBuilder content = new StringBuilder();
-        content.append("INVOICE: ").append(invoice.getInvoiceNumber()).append("\n");
-        content.append("Date: ").append(invoice.getCreatedAt()).append("\n");
-        content.append("Cashier: ").append(invoice.getCashier() != null ? invoice.getCashier().getDisplayName() : "Self-Service").append("\n");
-        content.append("Order: ").append(invoice.getOrder().getOrderNumber()).append("\n");
-        content.append("Customer: ").append(invoice.getOrder().getCustomerName()).append("\n");
-        content.append("Payment Method: ").append(invoice.getPaymentMethod()).append("\n\n");
-        content.append("Items:\n");
-
-        for (OrderItem item : invoice.getOrder().getOrderItems()) {
-            content.append(String.format("- %s x%d = %s\n",
-                    item.getMenu().getName(),
-                    item.getQuantity(),
-                    item.getSubtotal()));
-        }
-
-        content.append("\nSubtotal: ").append(invoice.getTotalAmount()).append("\n");
-        content.append("Tax: ").append(invoice.getTaxAmount()).append("\n");
-        content.append("Total: ").append(invoice.getFinalAmount()).append("\n");
-
-        return content.toString();
+    private BigDecimal calculateTax(BigDecimal amount) {
+        return amount.multiply(BigDecimal.valueOf(Constants.TAX_RATE));
     }
 }
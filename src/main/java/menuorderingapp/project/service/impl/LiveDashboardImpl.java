@@ -0,0 +1,316 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.DashboardEvent;
+import menuorderingapp.project.model.dto.DashboardOrderRow;
+import menuorderingapp.project.model.dto.DashboardSnapshot;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.LiveDashboard;
+import menuorderingapp.project.util.OrderChangeStamp;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Dashboard counters kept in memory so opening the dashboard costs no queries. Order and menu changes are
+ * applied after commit and published to /topic/dashboard as typed events carrying the changed fields, the
+ * new counters and a consecutive sequence number; a periodic reconcile against the database repairs
+ * anything an event missed and starts a fresh day after midnight.
+ */
+@Service
+public class LiveDashboardImpl implements LiveDashboard {
+
+    private final OrderRepository orderRepository;
+    private final MenuRepository menuRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters(LocalDate.now()));
+    private final Set<Long> availableMenuIds = ConcurrentHashMap.newKeySet();
+
+    // Numbering and sending happen under one lock so subscribers receive the sequence without holes
+    private final Object publishLock = new Object();
+    private long sequence;
+
+    public LiveDashboardImpl(OrderRepository orderRepository, MenuRepository menuRepository,
+                             SimpMessagingTemplate messagingTemplate) {
+        this.orderRepository = orderRepository;
+        this.menuRepository = menuRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public DashboardSnapshot getSnapshot() {
+        synchronized (publishLock) {
+            return snapshot();
+        }
+    }
+
+    @Override
+    public void orderCreated(Order order) {
+        track(OrderChange.of(order), true);
+    }
+
+    @Override
+    public void orderChanged(Order order) {
+        track(OrderChange.of(order), false);
+    }
+
+    @Override
+    public void orderChanged(OrderChange change) {
+        track(change, false);
+    }
+
+    @Override
+    public void orderClosed(Long orderId, Order.OrderStatus status, LocalDateTime changedAt) {
+        afterCommit(() -> {
+            // Orders the dashboard never counted (closed orders from earlier days) are left alone
+            Change change = counters.get().apply(orderId, current -> current == null ? null
+                    : new Tracked(current.orderNumber(), status, current.paymentStatus() == Order.PaymentStatus.PAID
+                            ? Order.PaymentStatus.REFUNDED : current.paymentStatus(),
+                            current.cents(), current.createdDate(), OrderChangeStamp.ofEvent(changedAt)));
+            if (change != null) {
+                publish(orderEvent(DashboardEvent.Type.STATUS_CHANGED, orderId, change.next(), null));
+            }
+        });
+    }
+
+    @Override
+    public void menuChanged(Long menuId, boolean available) {
+        afterCommit(() -> {
+            boolean changed = available ? availableMenuIds.add(menuId) : availableMenuIds.remove(menuId);
+            if (changed) {
+                DashboardEvent event = new DashboardEvent(DashboardEvent.Type.MENU_CHANGED);
+                event.setMenuId(menuId);
+                event.setMenuAvailable(available);
+                publish(event);
+            }
+        });
+    }
+
+    @Override
+    public void menuRemoved(Long menuId) {
+        menuChanged(menuId, false);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate today = startedAt.toLocalDate();
+        List<DashboardOrderRow> rows = orderRepository.findDashboardRows(today.atStartOfDay(), Order.OrderStatus.PENDING);
+        List<Long> menuIds = menuRepository.findAvailableIds();
+
+        Counters current = counters.get();
+        if (!current.day.equals(today)) {
+            // A new day: today's figures start from the database. Events racing the swap land on the old
+            // counters and are picked up again by the next reconcile.
+            Counters fresh = new Counters(today);
+            rows.forEach(row -> fresh.apply(row.id(), existing -> toTracked(row)));
+            counters.set(fresh);
+        } else {
+            current.merge(rows, startedAt);
+        }
+
+        availableMenuIds.retainAll(new HashSet<>(menuIds));
+        availableMenuIds.addAll(menuIds);
+        publish(new DashboardEvent(DashboardEvent.Type.RECONCILED));
+    }
+
+    @Scheduled(cron = "${app.dashboard.rollover-cron:5 0 0 * * *}")
+    public void rollover() {
+        reconcile();
+    }
+
+    private void track(OrderChange order, boolean created) {
+        Tracked next = new Tracked(order.orderNumber(), order.status(), order.paymentStatus(),
+                toCents(order.total()),
+                order.createdAt() != null ? order.createdAt().toLocalDate() : LocalDate.now(),
+                OrderChangeStamp.ofEvent(order.updatedAt()));
+        Long orderId = order.id();
+        Order.PaymentMethod paymentMethod = order.paymentMethod();
+        afterCommit(() -> {
+            Change change = counters.get().apply(orderId, current -> next);
+            if (change != null) {
+                publish(orderEvent(created ? DashboardEvent.Type.ORDER_CREATED : typeOf(change), orderId,
+                        change.next(), paymentMethod));
+            }
+        });
+    }
+
+    private static DashboardEvent.Type typeOf(Change change) {
+        Tracked previous = change.previous();
+        Tracked next = change.next();
+        if (next.paymentStatus() == Order.PaymentStatus.PAID
+                && (previous == null || previous.paymentStatus() != Order.PaymentStatus.PAID)) {
+            return DashboardEvent.Type.PAYMENT_COMPLETED;
+        }
+        if (previous == null || previous.status() != next.status()) {
+            return DashboardEvent.Type.STATUS_CHANGED;
+        }
+        return DashboardEvent.Type.ORDER_UPDATED;
+    }
+
+    private static DashboardEvent orderEvent(DashboardEvent.Type type, Long orderId, Tracked order,
+                                             Order.PaymentMethod paymentMethod) {
+        DashboardEvent event = new DashboardEvent(type);
+        event.setOrderId(orderId);
+        event.setOrderNumber(order.orderNumber());
+        event.setStatus(order.status());
+        event.setPaymentStatus(order.paymentStatus());
+        event.setPaymentMethod(paymentMethod);
+        event.setTotal(BigDecimal.valueOf(order.cents(), 2));
+        return event;
+    }
+
+    private void publish(DashboardEvent event) {
+        synchronized (publishLock) {
+            sequence++;
+            event.setSequence(sequence);
+            event.setCounters(snapshot());
+            messagingTemplate.convertAndSend("/topic/dashboard", event);
+        }
+    }
+
+    private DashboardSnapshot snapshot() {
+        DashboardSnapshot snapshot = counters.get().snapshot(availableMenuIds.size());
+        snapshot.setSequence(sequence);
+        return snapshot;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Tracked toTracked(DashboardOrderRow row) {
+        return new Tracked(row.orderNumber(), row.status(), row.paymentStatus(), toCents(row.total()),
+                row.createdAt().toLocalDate(), OrderChangeStamp.ofDatabase(row.updatedAt()));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    /**
+     * Counters for one business day. Every order the dashboard may count is tracked with the state it was
+     * last counted in, so a change only moves the counters by the difference between old and new state.
+     */
+    private static final class Counters {
+        private final LocalDate day;
+        private final Map<Long, Tracked> orders = new ConcurrentHashMap<>();
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder todayOrders = new LongAdder();
+        private final LongAdder todayRevenueCents = new LongAdder();
+        private final Map<Order.OrderStatus, LongAdder> todayByStatus = new EnumMap<>(Order.OrderStatus.class);
+
+        private Counters(LocalDate day) {
+            this.day = day;
+            for (Order.OrderStatus status : Order.OrderStatus.values()) {
+                todayByStatus.put(status, new LongAdder());
+            }
+        }
+
+        // Null when nothing changed; updates older than the tracked state are ignored
+        private Change apply(Long orderId, UnaryOperator<Tracked> update) {
+            Change[] change = new Change[1];
+            orders.compute(orderId, (id, current) -> {
+                Tracked next = update.apply(current);
+                if (next == null || (current != null && !current.changed().isReplacedBy(next.changed()))) {
+                    return current;
+                }
+                add(current, -1);
+                add(next, 1);
+                if (!next.sameState(current)) {
+                    change[0] = new Change(current, next);
+                }
+                return next;
+            });
+            return change[0];
+        }
+
+        private void merge(List<DashboardOrderRow> rows, LocalDateTime startedAt) {
+            Set<Long> seen = new HashSet<>();
+            for (DashboardOrderRow row : rows) {
+                seen.add(row.id());
+                apply(row.id(), current -> toTracked(row));
+            }
+            // No longer counted according to the database, unless an event touched it after the read
+            for (Long orderId : orders.keySet()) {
+                if (!seen.contains(orderId)) {
+                    orders.computeIfPresent(orderId, (id, current) -> {
+                        if (current.changed().at() != null && !current.changed().at().isBefore(startedAt)) {
+                            return current;
+                        }
+                        add(current, -1);
+                        return null;
+                    });
+                }
+            }
+        }
+
+        private void add(Tracked tracked, int sign) {
+            if (tracked == null) {
+                return;
+            }
+            if (tracked.status() == Order.OrderStatus.PENDING) {
+                pending.add(sign);
+            }
+            if (day.equals(tracked.createdDate())) {
+                todayOrders.add(sign);
+                todayByStatus.get(tracked.status()).add(sign);
+                if (tracked.paymentStatus() == Order.PaymentStatus.PAID) {
+                    todayRevenueCents.add(sign * tracked.cents());
+                }
+            }
+        }
+
+        private DashboardSnapshot snapshot(long availableMenus) {
+            Map<Order.OrderStatus, Long> byStatus = new EnumMap<>(Order.OrderStatus.class);
+            todayByStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+            return new DashboardSnapshot(day, todayRevenueCents.sum() / 100.0, todayOrders.sum(),
+                    pending.sum(), availableMenus, byStatus);
+        }
+    }
+
+    private record Tracked(String orderNumber, Order.OrderStatus status, Order.PaymentStatus paymentStatus,
+                           long cents, LocalDate createdDate, OrderChangeStamp changed) {
+
+        private boolean sameState(Tracked other) {
+            return other != null && status == other.status && paymentStatus == other.paymentStatus
+                    && cents == other.cents && createdDate.equals(other.createdDate);
+        }
+    }
+
+    private record Change(Tracked previous, Tracked next) {
+    }
+}
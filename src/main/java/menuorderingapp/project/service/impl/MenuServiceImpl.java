@@ -2,15 +2,29 @@ package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.Category;
 import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.dto.MenuCatalogRow;
 import menuorderingapp.project.repository.CategoryRepository;
 import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.service.LiveDashboard;
 import menuorderingapp.project.service.MenuService;
 import menuorderingapp.project.service.MenuAuditService;
+import menuorderingapp.project.util.MenuSearchIndex;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Transactional
@@ -19,13 +33,22 @@ public class MenuServiceImpl implements MenuService {
     private final MenuRepository menuRepository;
     private final CategoryRepository categoryRepository;
     private final MenuAuditService auditService;
+    private final LiveDashboard liveDashboard;
+
+    // Customer-facing catalog reads are served from this detached snapshot; mutators clear it after commit
+    private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Object catalogLock = new Object();
+    private final MenuSearchIndex searchIndex = new MenuSearchIndex();
 
     public MenuServiceImpl(MenuRepository menuRepository,
                           CategoryRepository categoryRepository,
-                          MenuAuditService auditService) {
+                          MenuAuditService auditService,
+                          LiveDashboard liveDashboard) {
         this.menuRepository = menuRepository;
         this.categoryRepository = categoryRepository;
         this.auditService = auditService;
+        this.liveDashboard = liveDashboard;
     }
 
     @Override
@@ -35,9 +58,9 @@ public class MenuServiceImpl implements MenuService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Menu> getAvailableMenus() {
-        return menuRepository.findByAvailableTrueOrderByName();
+        return currentCatalog().availableMenus;
     }
 
     @Override
@@ -46,9 +69,27 @@ public class MenuServiceImpl implements MenuService {
         return menuRepository.findById(id);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<Long, Menu> getMenusByIds(Collection<Long> ids) {
+        CatalogSnapshot snapshot = currentCatalog();
+        Map<Long, Menu> menus = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Menu menu = snapshot.menusById.get(id);
+            if (menu != null) {
+                menus.put(id, menu);
+            }
+        }
+        return menus;
+    }
+
     @Override
     public Menu saveMenu(Menu menu) {
-        return menuRepository.save(menu);
+        Menu savedMenu = menuRepository.save(menu);
+        MenuSearchIndex.IndexedMenu indexed = MenuSearchIndex.IndexedMenu.of(savedMenu);
+        refreshCatalog(() -> searchIndex.update(indexed));
+        liveDashboard.menuChanged(savedMenu.getId(), Boolean.TRUE.equals(savedMenu.getAvailable()));
+        return savedMenu;
     }
 
     @Override
@@ -65,7 +106,11 @@ public class MenuServiceImpl implements MenuService {
         existingMenu.setPromoPrice(menuDetails.getPromoPrice());
         existingMenu.setCategory(menuDetails.getCategory());
 
-        return menuRepository.save(existingMenu);
+        Menu savedMenu = menuRepository.save(existingMenu);
+        MenuSearchIndex.IndexedMenu indexed = MenuSearchIndex.IndexedMenu.of(savedMenu);
+        refreshCatalog(() -> searchIndex.update(indexed));
+        liveDashboard.menuChanged(savedMenu.getId(), Boolean.TRUE.equals(savedMenu.getAvailable()));
+        return savedMenu;
     }
 
     @Override
@@ -73,6 +118,8 @@ public class MenuServiceImpl implements MenuService {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu not found with id: " + id));
         menuRepository.delete(menu);
+        refreshCatalog(() -> searchIndex.remove(id));
+        liveDashboard.menuRemoved(id);
     }
 
     @Override
@@ -80,34 +127,42 @@ public class MenuServiceImpl implements MenuService {
         Menu menu = menuRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu not found with id: " + id));
         menu.setAvailable(!menu.getAvailable());
-        return menuRepository.save(menu);
+        Menu savedMenu = menuRepository.save(menu);
+        MenuSearchIndex.IndexedMenu indexed = MenuSearchIndex.IndexedMenu.of(savedMenu);
+        refreshCatalog(() -> searchIndex.update(indexed));
+        liveDashboard.menuChanged(savedMenu.getId(), Boolean.TRUE.equals(savedMenu.getAvailable()));
+        return savedMenu;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Menu> getMenusByCategory(Long categoryId) {
-        return menuRepository.findByCategoryIdAndAvailableTrue(categoryId);
+        return currentCatalog().menusByCategory(categoryId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Menu> searchMenus(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAvailableMenus();
         }
-        return menuRepository.searchAvailableMenus(searchTerm.trim());
+        List<Long> ids = currentSearchIndex().search(searchTerm).stream()
+                .map(MenuSearchIndex.IndexedMenu::id)
+                .toList();
+        // Hits are returned as the catalog's detached menus, in ranking order
+        return new ArrayList<>(getMenusByIds(ids).values());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Menu> getPromoMenus() {
-        return menuRepository.findByIsPromoTrueAndAvailableTrue();
+        return currentCatalog().promoMenus;
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Category> getAllCategories() {
-        return categoryRepository.findAllByOrderByDisplayOrderAsc();
+        return currentCatalog().categories;
     }
 
     @Override
@@ -118,7 +173,9 @@ public class MenuServiceImpl implements MenuService {
 
     @Override
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        refreshCatalog(searchIndex::clear);
+        return savedCategory;
     }
 
     @Override
@@ -129,7 +186,9 @@ public class MenuServiceImpl implements MenuService {
         existingCategory.setName(categoryDetails.getName());
         existingCategory.setDisplayOrder(categoryDetails.getDisplayOrder());
 
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = categoryRepository.save(existingCategory);
+        refreshCatalog(searchIndex::clear);
+        return savedCategory;
     }
 
     @Override
@@ -137,14 +196,139 @@ public class MenuServiceImpl implements MenuService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         categoryRepository.delete(category);
+        refreshCatalog(searchIndex::clear);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Category> getCategoriesWithMenus() {
-        List<Category> categories = getAllCategories();
-        categories.forEach(category ->
-                category.setMenus(menuRepository.findByCategoryAndAvailableTrueOrderByName(category)));
-        return categories;
+        return currentCatalog().categories;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long getCatalogVersion() {
+        return currentCatalog().version;
+    }
+
+    private CatalogSnapshot currentCatalog() {
+        CatalogSnapshot snapshot = catalog.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (catalogLock) {
+            snapshot = catalog.get();
+            if (snapshot == null) {
+                long version = catalogVersion.get();
+                snapshot = new CatalogSnapshot(version, categoryRepository.findCatalogRows());
+                // A mutation committed while loading; serve this read but let the next one reload
+                if (catalogVersion.get() == version) {
+                    catalog.set(snapshot);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private MenuSearchIndex currentSearchIndex() {
+        while (!searchIndex.isBuilt()) {
+            // Generation first: a menu change committed after this point makes the rebuild below retry
+            long generation = searchIndex.generation();
+            List<MenuSearchIndex.IndexedMenu> menus = currentCatalog().availableMenus.stream()
+                    .map(MenuSearchIndex.IndexedMenu::of)
+                    .toList();
+            searchIndex.rebuild(menus, generation);
+        }
+        return searchIndex;
+    }
+
+    private void refreshCatalog(Runnable searchIndexUpdate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateCatalog(searchIndexUpdate);
+                }
+            });
+        } else {
+            invalidateCatalog(searchIndexUpdate);
+        }
+    }
+
+    private void invalidateCatalog(Runnable searchIndexUpdate) {
+        catalogVersion.incrementAndGet();
+        catalog.set(null);
+        // Menu changes patch the search index in place; category changes drop it for a lazy rebuild
+        searchIndexUpdate.run();
+    }
+
+    /**
+     * Immutable view of the available menus and categories at a given catalog version
+     */
+    private static final class CatalogSnapshot {
+        private final long version;
+        private final List<Category> categories;
+        private final List<Menu> availableMenus;
+        private final List<Menu> promoMenus;
+        private final Map<Long, List<Menu>> menusByCategoryId;
+        private final Map<Long, Menu> menusById;
+
+        // Rows arrive ordered by category display order, then menu name; categories without menus carry a null menu
+        private CatalogSnapshot(long version, List<MenuCatalogRow> rows) {
+            this.version = version;
+
+            Map<Long, Category> categoriesById = new LinkedHashMap<>();
+            Map<Long, List<Menu>> grouped = new LinkedHashMap<>();
+            List<Menu> menus = new ArrayList<>();
+            List<Menu> promos = new ArrayList<>();
+            Map<Long, Menu> byId = new LinkedHashMap<>();
+            for (MenuCatalogRow row : rows) {
+                Category category = categoriesById.computeIfAbsent(row.getCategoryId(), id -> toCategory(row));
+                List<Menu> categoryMenus = grouped.computeIfAbsent(category.getId(), id -> new ArrayList<>());
+                if (row.getMenuId() == null) {
+                    continue;
+                }
+
+                Menu menu = toMenu(row, category);
+                categoryMenus.add(menu);
+                menus.add(menu);
+                byId.put(menu.getId(), menu);
+                if (Boolean.TRUE.equals(menu.getIsPromo())) {
+                    promos.add(menu);
+                }
+            }
+
+            menus.sort(Comparator.comparing(Menu::getName, String.CASE_INSENSITIVE_ORDER));
+            promos.sort(Comparator.comparing(Menu::getName, String.CASE_INSENSITIVE_ORDER));
+            grouped.replaceAll((id, categoryMenus) -> Collections.unmodifiableList(categoryMenus));
+            categoriesById.values().forEach(category -> category.setMenus(grouped.get(category.getId())));
+
+            this.availableMenus = List.copyOf(menus);
+            this.promoMenus = List.copyOf(promos);
+            this.menusByCategoryId = Collections.unmodifiableMap(grouped);
+            this.menusById = Collections.unmodifiableMap(byId);
+            this.categories = List.copyOf(categoriesById.values());
+        }
+
+        private List<Menu> menusByCategory(Long categoryId) {
+            return menusByCategoryId.getOrDefault(categoryId, List.of());
+        }
+
+        private static Category toCategory(MenuCatalogRow row) {
+            Category category = new Category(row.getCategoryName(), row.getCategoryDisplayOrder());
+            category.setId(row.getCategoryId());
+            return category;
+        }
+
+        private static Menu toMenu(MenuCatalogRow row, Category category) {
+            Menu menu = new Menu(row.getMenuName(), row.getMenuDescription(), row.getMenuPrice(), category);
+            menu.setId(row.getMenuId());
+            menu.setImageUrl(row.getMenuImageUrl());
+            menu.setAvailable(true);
+            menu.setIsPromo(row.getMenuIsPromo());
+            menu.setPromoPrice(row.getMenuPromoPrice());
+            return menu;
+        }
     }
 }
@@ -1,11 +1,25 @@
 package menuorderingapp.project.service.impl;
 
+import menuorderingapp.project.exception.OrderNotFoundException;
+import menuorderingapp.project.exception.OrderStateConflictException;
 import menuorderingapp.project.model.*;
+import menuorderingapp.project.model.dto.CursorPage;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.model.dto.OrderFilter;
+import menuorderingapp.project.model.dto.OrderItemRequest;
 import menuorderingapp.project.repository.CashierRepository;
 import menuorderingapp.project.repository.MenuRepository;
 import menuorderingapp.project.repository.OrderItemRepository;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ActiveOrderBoard;
+import menuorderingapp.project.service.DocumentNumberGenerator;
+import menuorderingapp.project.service.LiveDashboard;
+import menuorderingapp.project.service.OrderStateMachine;
 import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.service.ReportJobService;
+import menuorderingapp.project.service.SalesRollupService;
+import menuorderingapp.project.util.OrderCursor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,31 +27,69 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final MenuRepository menuRepository;
     private final CashierRepository cashierRepository;
+    private final DocumentNumberGenerator numberGenerator;
+    private final ActiveOrderBoard activeOrderBoard;
+    private final SalesRollupService salesRollupService;
+    private final LiveDashboard liveDashboard;
+    private final ReportJobService reportJobService;
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             OrderItemRepository orderItemRepository,
                             MenuRepository menuRepository,
-                            CashierRepository cashierRepository) {
+                            CashierRepository cashierRepository,
+                            DocumentNumberGenerator numberGenerator,
+                            ActiveOrderBoard activeOrderBoard,
+                            SalesRollupService salesRollupService,
+                            LiveDashboard liveDashboard,
+                            ReportJobService reportJobService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.menuRepository = menuRepository;
         this.cashierRepository = cashierRepository;
+        this.numberGenerator = numberGenerator;
+        this.activeOrderBoard = activeOrderBoard;
+        this.salesRollupService = salesRollupService;
+        this.liveDashboard = liveDashboard;
+        this.reportJobService = reportJobService;
     }
 
     @Override
     public Order createOrder(Order order) {
+        if (order.getOrderNumber() == null) {
+            order.setOrderNumber(numberGenerator.nextOrderNumber());
+        }
         order.calculateTotal();
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        activeOrderBoard.orderChanged(savedOrder);
+        liveDashboard.orderCreated(savedOrder);
+        return savedOrder;
+    }
+
+    @Override
+    public Order createOrder(Order order, List<OrderItemRequest> items, Map<Long, Menu> menus) {
+        for (OrderItemRequest itemRequest : items) {
+            Menu menu = menus.get(itemRequest.getMenuId());
+            if (menu != null && Boolean.TRUE.equals(menu.getAvailable())) {
+                order.addOrderItem(new OrderItem(menu, itemRequest.getQuantity()));
+            }
+        }
+        return createOrder(order);
     }
 
     @Override
@@ -54,8 +106,32 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAllByOrderByCreatedAtDesc();
+    public CursorPage<Order> getOrderPage(OrderFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        OrderCursor after = OrderCursor.decode(cursor);
+        LocalDateTime start = filter.getDate() != null ? filter.getDate().atStartOfDay() : null;
+        LocalDateTime end = filter.getDate() != null ? filter.getDate().plusDays(1).atStartOfDay() : null;
+
+        // One extra row tells whether another page exists without a COUNT
+        List<Order> rows = orderRepository.findOrderPage(filter.getStatus(), filter.getPaymentStatus(),
+                filter.getPaymentMethod(), filter.getOrderType(), filter.getCashierId(), start, end,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Order> page = hasMore ? rows.subList(0, pageSize) : rows;
+        if (page.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // Load the lines for the whole page in one query, keeping keyset order
+        List<Long> ids = page.stream().map(Order::getId).collect(Collectors.toList());
+        Map<Long, Order> withItems = orderRepository.findWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> orders = ids.stream().map(withItems::get).collect(Collectors.toList());
+
+        String nextCursor = hasMore ? OrderCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(orders, nextCursor);
     }
 
     @Override
@@ -74,22 +150,68 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Order updateOrderStatus(Long orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        order.setStatus(status);
-        return orderRepository.save(order);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (status == Order.OrderStatus.CANCELLED) {
+            cancel(orderId, now);
+            return loadOrder(orderId);
+        }
+
+        boolean requirePaid = OrderStateMachine.requiresPayment(status);
+        int updated = orderRepository.transitionStatus(orderId, OrderStateMachine.sourcesOf(status), status,
+                requirePaid, Order.PaymentStatus.PAID, now);
+        if (updated == 0) {
+            throw lostTransition(orderId, OrderStateMachine.sourcesOf(status),
+                    requirePaid ? Set.of(Order.PaymentStatus.PAID) : Set.of(), "moved to " + status);
+        }
+        // The caller renders the order with its lines, so it is loaded once and the notifications reuse it
+        Order order = loadOrder(orderId);
+        published(OrderChange.of(order).at(now));
+        return order;
     }
 
     @Override
-    public Order processPayment(Long orderId, Order.PaymentMethod paymentMethod) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+    public void processPayment(Long orderId, Order.PaymentMethod paymentMethod) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = orderRepository.transitionToPaid(orderId, paymentMethod,
+                OrderStateMachine.sourcesOf(Order.PaymentStatus.PAID), OrderStateMachine.payableStatuses(),
+                Order.PaymentStatus.PAID, Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, now);
+        if (updated == 0) {
+            throw lostTransition(orderId, OrderStateMachine.payableStatuses(),
+                    OrderStateMachine.sourcesOf(Order.PaymentStatus.PAID), "paid");
+        }
+        OrderChange change = orderRepository.findChangeById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId)).at(now);
+        salesRollupService.orderPaid(orderId, change.createdAt().toLocalDate());
+        reportJobService.invalidateCachedResults(change.createdAt().toLocalDate());
+        published(change);
+    }
 
-        order.setPaymentMethod(paymentMethod);
-        order.setPaymentStatus(Order.PaymentStatus.PAID);
-        order.setStatus(Order.OrderStatus.CONFIRMED);
+    @Override
+    public Optional<Order> processQRPayment(String reference) {
+        Optional<Order> pending = orderRepository.findWithItemsByPaymentReference(reference);
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
 
-        return orderRepository.save(order);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = orderRepository.transitionToPaidByReference(reference, Order.PaymentMethod.QR_CODE,
+                OrderStateMachine.sourcesOf(Order.PaymentStatus.PAID), OrderStateMachine.payableStatuses(),
+                Order.PaymentStatus.PAID, Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, now);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        Order order = pending.get();
+        if (order.getStatus() == Order.OrderStatus.PENDING) {
+            order.setStatus(Order.OrderStatus.CONFIRMED);
+        }
+        order.setPaymentStatus(Order.PaymentStatus.PAID);
+        order.setPaymentMethod(Order.PaymentMethod.QR_CODE);
+        order.setUpdatedAt(now);
+        salesRollupService.orderPaid(order.getId(), order.getCreatedAt().toLocalDate());
+        reportJobService.invalidateCachedResults(order.getCreatedAt().toLocalDate());
+        published(OrderChange.of(order));
+        return Optional.of(order);
     }
 
     @Override
@@ -118,7 +240,9 @@ public class OrderServiceImpl implements OrderService {
         }
 
         order.calculateTotal();
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        published(savedOrder);
+        return savedOrder;
     }
 
     @Override
@@ -136,7 +260,9 @@ public class OrderServiceImpl implements OrderService {
         orderItemRepository.delete(orderItem);
         order.calculateTotal();
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        published(savedOrder);
+        return savedOrder;
     }
 
     @Override
@@ -158,21 +284,29 @@ public class OrderServiceImpl implements OrderService {
         orderItemRepository.save(orderItem);
         order.calculateTotal();
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        published(savedOrder);
+        return savedOrder;
     }
 
     @Override
     public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        cancel(orderId, LocalDateTime.now());
+    }
 
-        if (order.getStatus() == Order.OrderStatus.COMPLETED) {
-            throw new RuntimeException("Cannot cancel a completed order");
+    private void cancel(Long orderId, LocalDateTime now) {
+        int updated = orderRepository.transitionToCancelled(orderId,
+                OrderStateMachine.sourcesOf(Order.OrderStatus.CANCELLED), Order.OrderStatus.CANCELLED,
+                Order.PaymentStatus.PAID, Order.PaymentStatus.REFUNDED, now);
+        if (updated == 0) {
+            throw lostTransition(orderId, OrderStateMachine.sourcesOf(Order.OrderStatus.CANCELLED), Set.of(),
+                    "cancelled");
         }
-
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        order.setPaymentStatus(Order.PaymentStatus.REFUNDED);
-        orderRepository.save(order);
+        salesRollupService.orderRefunded(orderId);
+        orderRepository.findCreatedAtById(orderId)
+                .ifPresent(createdAt -> reportJobService.invalidateCachedResults(createdAt.toLocalDate()));
+        activeOrderBoard.orderClosed(orderId, Order.OrderStatus.CANCELLED, now);
+        liveDashboard.orderClosed(orderId, Order.OrderStatus.CANCELLED, now);
     }
 
     @Override
@@ -203,4 +337,39 @@ public class OrderServiceImpl implements OrderService {
     public long getPendingOrdersCount() {
         return orderRepository.countByStatus(Order.OrderStatus.PENDING);
     }
+
+    // The open-order board and dashboard counters both pick the change up after commit
+    private void published(Order order) {
+        activeOrderBoard.orderChanged(order);
+        liveDashboard.orderChanged(order);
+    }
+
+    private void published(OrderChange change) {
+        activeOrderBoard.orderChanged(change);
+        liveDashboard.orderChanged(change);
+    }
+
+    // Read after the guarded update, so it already reflects the row that update wrote
+    private Order loadOrder(Long orderId) {
+        return orderRepository.findWithItemsByIdIn(List.of(orderId)).stream().findFirst()
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    // Only runs when a conditional update matched nothing: names the guard the row fails, tells a missing
+    // order apart, and otherwise reports that another request moved it in between
+    private RuntimeException lostTransition(Long orderId, Set<Order.OrderStatus> statuses,
+                                            Set<Order.PaymentStatus> paymentStatuses, String attempted) {
+        Order.OrderStatus current = orderRepository.findStatusById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+        if (!statuses.contains(current)) {
+            return new OrderStateConflictException(orderId, current, attempted);
+        }
+        if (!paymentStatuses.isEmpty()) {
+            Order.PaymentStatus payment = orderRepository.findPaymentStatusById(orderId).orElse(null);
+            if (!paymentStatuses.contains(payment)) {
+                return new OrderStateConflictException(orderId, "payment status", payment, attempted);
+            }
+        }
+        return new OrderStateConflictException(orderId, attempted);
+    }
 }
@@ -1,68 +1,121 @@
 package menuorderingapp.project.service.impl;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import menuorderingapp.project.exception.OrderStateConflictException;
 import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.PaymentResponse;
+import menuorderingapp.project.model.dto.QRPaymentCallback;
 import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.service.OrderStateMachine;
 import menuorderingapp.project.service.PaymentService;
+import menuorderingapp.project.service.QRPaymentProvider;
+import menuorderingapp.project.util.Constants;
+import menuorderingapp.project.util.QRCodeImageCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Base64;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class PaymentServiceImpl implements PaymentService {
 
     private final OrderRepository orderRepository;
-
-    public PaymentServiceImpl(OrderRepository orderRepository) {
+    private final OrderService orderService;
+    private final InvoiceService invoiceService;
+    private final QRPaymentProvider qrPaymentProvider;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final QRCodeImageCache qrCodeImageCache;
+
+    public PaymentServiceImpl(OrderRepository orderRepository, OrderService orderService,
+                              InvoiceService invoiceService, QRPaymentProvider qrPaymentProvider,
+                              SimpMessagingTemplate messagingTemplate, QRCodeImageCache qrCodeImageCache) {
         this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.invoiceService = invoiceService;
+        this.qrPaymentProvider = qrPaymentProvider;
+        this.messagingTemplate = messagingTemplate;
+        this.qrCodeImageCache = qrCodeImageCache;
     }
 
     @Override
     public String generateQRCode(String paymentData) {
-        try {
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            BitMatrix bitMatrix = qrCodeWriter.encode(paymentData, BarcodeFormat.QR_CODE, 200, 200);
+        return qrCodeImageCache.get(paymentData).getDataUri();
+    }
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+    @Override
+    public String submitQRPayment(String orderNumber, Long cashierId) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new RuntimeException("Order not found with number: " + orderNumber));
 
-            byte[] qrCodeBytes = outputStream.toByteArray();
-            return "data:image/png;base64," + Base64.getEncoder().encodeToString(qrCodeBytes);
+        if (order.getPaymentStatus() != null
+                && !OrderStateMachine.canTransition(order.getPaymentStatus(), Order.PaymentStatus.PAID)) {
+            throw new OrderStateConflictException(order.getId(), "payment status", order.getPaymentStatus(), "paid");
+        }
+        if (!OrderStateMachine.payableStatuses().contains(order.getStatus())) {
+            throw new OrderStateConflictException(order.getId(), order.getStatus(), "paid");
+        }
 
-        } catch (WriterException | IOException e) {
-            throw new RuntimeException("Failed to generate QR code", e);
+        // The reference is stored on the order before the provider hears of it, so the callback can be
+        // matched on any node and after a restart. An unpaid order keeps it until the payment is declined.
+        String reference = order.getPaymentReference();
+        if (reference == null) {
+            reference = UUID.randomUUID().toString();
+            if (orderRepository.startQRPayment(order.getId(), reference, cashierId, LocalDateTime.now()) == 0) {
+                throw new OrderStateConflictException("Order " + order.getId() + " already has a QR payment in progress");
+            }
         }
+        qrPaymentProvider.requestPayment(reference, orderNumber, finalAmount(order));
+        return reference;
     }
 
     @Override
-    public boolean processQRPayment(String orderNumber, String qrData) {
-        Optional<Order> orderOpt = orderRepository.findByOrderNumber(orderNumber);
-        if (orderOpt.isEmpty()) {
+    @Transactional
+    public boolean confirmQRPayment(String reference, boolean approved) {
+        if (!approved) {
+            Optional<Order> declined = orderRepository.findByPaymentReference(reference);
+            // Releasing the reference makes repeated declines no-ops; the next attempt gets a new one
+            if (declined.isEmpty() || orderRepository.releaseQRPayment(reference,
+                    OrderStateMachine.sourcesOf(Order.PaymentStatus.PAID)) == 0) {
+                return false;
+            }
+            String orderNumber = declined.get().getOrderNumber();
+            afterCommit(() -> publishPaymentStatus(orderNumber, reference, "FAILED", "Payment was declined"));
             return false;
         }
 
-        Order order = orderOpt.get();
+        // Unknown, already paid, or paid or cancelled through another path in the meantime
+        Optional<Order> paid = orderService.processQRPayment(reference);
+        if (paid.isEmpty()) {
+            System.out.println("Ignoring QR payment callback for reference " + reference + ": no payable order");
+            return false;
+        }
 
-        try {
-            Thread.sleep(1000);
+        // Same transaction as the payment: if the invoice fails, the order stays unpaid and the callback can be retried
+        Order paidOrder = paid.get();
+        Long cashierId = paidOrder.getPaymentRequestedBy();
+        if (cashierId == null && paidOrder.getCashier() != null) {
+            cashierId = paidOrder.getCashier().getId();
+        }
+        invoiceService.generateInvoice(paidOrder, cashierId);
 
-            order.setPaymentMethod(Order.PaymentMethod.QR_CODE);
-            order.setPaymentStatus(Order.PaymentStatus.PAID);
-            order.setStatus(Order.OrderStatus.CONFIRMED);
-            orderRepository.save(order);
+        String orderNumber = paidOrder.getOrderNumber();
+        afterCommit(() -> publishPaymentStatus(orderNumber, reference, "PAID", "Payment successful"));
+        return true;
+    }
 
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
+    @EventListener
+    @Transactional
+    public void onQRPaymentCallback(QRPaymentCallback callback) {
+        confirmQRPayment(callback.getReference(), callback.isApproved());
     }
 
     @Override
@@ -74,36 +127,37 @@ public class PaymentServiceImpl implements PaymentService {
 
         Order order = orderOpt.get();
 
-        // Calculate final amount with 10% tax
+        // Calculate final amount with tax
         double subtotal = order.getTotal().doubleValue();
-        double tax = subtotal * 0.10;
+        double tax = subtotal * Constants.TAX_RATE;
         double finalAmount = subtotal + tax;
 
         if (amountTendered < finalAmount) {
             return false;
         }
 
-        order.setPaymentMethod(Order.PaymentMethod.CASH);
-        order.setPaymentStatus(Order.PaymentStatus.PAID);
-        order.setStatus(Order.OrderStatus.CONFIRMED);
-        orderRepository.save(order);
-
-        return true;
+        try {
+            orderService.processPayment(order.getId(), Order.PaymentMethod.CASH);
+            return true;
+        } catch (OrderStateConflictException e) {
+            return false;
+        }
     }
 
     @Override
     public String generatePaymentQRCode(Order order) {
-        // Calculate final amount with 10% tax
-        double subtotal = order.getTotal().doubleValue();
-        double tax = subtotal * 0.10;
-        double finalAmount = subtotal + tax;
+        return getPaymentQRCodeImage(order).getDataUri();
+    }
 
+    @Override
+    public QRCodeImageCache.QRCodeImage getPaymentQRCodeImage(Order order) {
+        // Payload depends only on order number and amount, so repeat renders are cache hits
         String paymentData = String.format(
                 "order_number=%s&amount=%.2f&merchant=ChopChopRestaurant",
                 order.getOrderNumber(),
-                finalAmount
+                finalAmount(order).doubleValue()
         );
-        return generateQRCode(paymentData);
+        return qrCodeImageCache.get(paymentData);
     }
 
     @Override
@@ -111,4 +165,31 @@ public class PaymentServiceImpl implements PaymentService {
         Optional<Order> orderOpt = orderRepository.findByOrderNumber(orderNumber);
         return orderOpt.isPresent() && orderOpt.get().getPaymentStatus() == Order.PaymentStatus.PAID;
     }
+
+    private void publishPaymentStatus(String orderNumber, String reference, String status, String message) {
+        PaymentResponse response = new PaymentResponse("PAID".equals(status), message);
+        response.setOrderNumber(orderNumber);
+        response.setPaymentReference(reference);
+        response.setStatus(status);
+        messagingTemplate.convertAndSend("/topic/payments/" + orderNumber, response);
+    }
+
+    // Final amount with tax
+    private BigDecimal finalAmount(Order order) {
+        return order.getTotal().add(order.getTotal().multiply(BigDecimal.valueOf(Constants.TAX_RATE)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
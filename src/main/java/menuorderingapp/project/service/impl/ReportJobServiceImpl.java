@@ -0,0 +1,526 @@
+package menuorderingapp.project.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import menuorderingapp.project.exception.ReportJobRejectedException;
+import menuorderingapp.project.model.dto.ReportJobStatus;
+import menuorderingapp.project.model.dto.ReportRequest;
+import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ReportJobService;
+import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.util.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Runs report requests on a small fixed pool instead of inside the HTTP request. Results are written to
+ * files under the job directory and kept for a while after they finish; progress is published on
+ * /topic/reports/jobs/{jobId}. A report for a period that ended before yesterday (yesterday is still
+ * reconciled overnight) rarely changes any more, so its result is shared with later identical requests;
+ * a late payment or cancellation of an order from such a day drops the shared results covering it.
+ * <p>
+ * Jobs, result files and shared results live on the node that accepted the request. Behind a load
+ * balancer the report endpoints need sticky routing, otherwise polling and downloads answer 404 on the
+ * other nodes. A node also only drops shared results for orders changed through itself, so deployments
+ * with more than one node should set {@code app.reports.jobs.cache-retention-hours=0}.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final long PUBLISH_INTERVAL_MILLIS = 500;
+
+    // Accepted formats per report type; the first is the default
+    private static final Map<String, List<String>> FORMATS = Map.of(
+            "sales", List.of("json", "pdf"),
+            "items", List.of("json"),
+            "cashier", List.of("json"),
+            "orders", List.of("csv", "ndjson", "xlsx"),
+            "invoices", List.of("csv", "ndjson", "xlsx"));
+
+    private final ReportService reportService;
+    private final OrderRepository orderRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Path directory;
+    private final int maxJobsPerCashier;
+    private final Duration retention;
+    private final Duration cacheRetention;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> activeJobsByCashier = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> closedPeriodResults = new ConcurrentHashMap<>();
+    // When each past day last changed, so a job that read it before the change does not share its result
+    private final Map<LocalDate, LocalDateTime> changedDays = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(ReportService reportService,
+                                OrderRepository orderRepository,
+                                InvoiceRepository invoiceRepository,
+                                ObjectMapper objectMapper,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${app.reports.jobs.dir:${java.io.tmpdir}/menu-ordering/report-jobs}") String directory,
+                                @Value("${app.reports.jobs.threads:2}") int threads,
+                                @Value("${app.reports.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${app.reports.jobs.max-per-cashier:2}") int maxJobsPerCashier,
+                                @Value("${app.reports.jobs.retention-minutes:60}") long retentionMinutes,
+                                @Value("${app.reports.jobs.cache-retention-hours:24}") long cacheRetentionHours) {
+        this.reportService = reportService;
+        this.orderRepository = orderRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+        this.directory = Path.of(directory);
+        this.maxJobsPerCashier = maxJobsPerCashier;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.cacheRetention = Duration.ofHours(cacheRetentionHours);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ReportJobStatus submit(Long cashierId, ReportRequest request) {
+        Job job = new Job(UUID.randomUUID().toString(), cashierId, normalize(request));
+
+        if (job.closedPeriod && !cacheRetention.isZero()) {
+            CachedResult cached = closedPeriodResults.get(job.cacheKey);
+            if (cached != null && Files.isRegularFile(cached.file())) {
+                job.file = cached.file();
+                job.cached = true;
+                job.finishedAt = LocalDateTime.now();
+                job.state.set(ReportJobStatus.State.COMPLETED);
+                jobs.put(job.id, job);
+                return toStatus(job);
+            }
+        }
+
+        acquireSlot(job);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            releaseSlot(job);
+            throw new ReportJobRejectedException("Report queue is full, try again later");
+        }
+        return toStatus(job);
+    }
+
+    @Override
+    public Optional<ReportJobStatus> getJob(Long cashierId, String jobId) {
+        return findJob(cashierId, jobId).map(this::toStatus);
+    }
+
+    @Override
+    public List<ReportJobStatus> getJobs(Long cashierId) {
+        return jobs.values().stream()
+                .filter(job -> job.cashierId.equals(cashierId))
+                .sorted(Comparator.comparing((Job job) -> job.submittedAt).reversed())
+                .map(this::toStatus)
+                .toList();
+    }
+
+    @Override
+    public boolean cancel(Long cashierId, String jobId) {
+        Job job = findJob(cashierId, jobId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+        boolean wasQueued = job.state.compareAndSet(ReportJobStatus.State.QUEUED, ReportJobStatus.State.CANCELLED);
+        if (!wasQueued && !job.state.compareAndSet(ReportJobStatus.State.RUNNING, ReportJobStatus.State.CANCELLED)) {
+            return false;
+        }
+        job.finishedAt = LocalDateTime.now();
+        if (wasQueued) {
+            // A running job stops at its next progress check and releases its slot itself
+            releaseSlot(job);
+            Future<?> future = job.future;
+            if (future != null) {
+                future.cancel(false);
+                executor.purge();
+            }
+        }
+        publish(job, true);
+        return true;
+    }
+
+    @Override
+    public void writeResult(Long cashierId, String jobId, OutputStream out) throws IOException {
+        Job job = findJob(cashierId, jobId)
+                .orElseThrow(() -> new RuntimeException("Report job not found with id: " + jobId));
+        if (job.state.get() != ReportJobStatus.State.COMPLETED) {
+            throw new IllegalStateException("Report job " + jobId + " is " + job.state.get());
+        }
+        Path file = job.file;
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new IllegalStateException("Report result is no longer available");
+        }
+        Files.copy(file, out);
+    }
+
+    // Rollup rebuilds can change past days, so shared results are dropped with them
+    @Override
+    public void clearCachedResults() {
+        List<Path> files = new ArrayList<>();
+        closedPeriodResults.values().removeIf(cached -> files.add(cached.file()));
+        files.forEach(this::deleteIfUnreferenced);
+    }
+
+    @Override
+    public void invalidateCachedResults(LocalDate day) {
+        afterCommit(() -> {
+            changedDays.put(day, LocalDateTime.now());
+            List<Path> files = new ArrayList<>();
+            closedPeriodResults.values().removeIf(cached -> cached.covers(day) && files.add(cached.file()));
+            files.forEach(this::deleteIfUnreferenced);
+        });
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        LocalDateTime jobCutoff = LocalDateTime.now().minus(retention);
+        LocalDateTime cacheCutoff = LocalDateTime.now().minus(cacheRetention);
+        List<Path> files = new ArrayList<>();
+
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(jobCutoff);
+            if (expired && job.file != null) {
+                files.add(job.file);
+            }
+            return expired;
+        });
+        closedPeriodResults.values().removeIf(cached -> {
+            boolean expired = cached.createdAt().isBefore(cacheCutoff);
+            if (expired) {
+                files.add(cached.file());
+            }
+            return expired;
+        });
+        LocalDateTime oldestRunning = jobs.values().stream()
+                .map(job -> job.startedAt)
+                .filter(startedAt -> startedAt != null)
+                .min(Comparator.naturalOrder())
+                .orElse(LocalDateTime.now());
+        changedDays.values().removeIf(changedAt -> changedAt.isBefore(oldestRunning));
+        files.forEach(this::deleteIfUnreferenced);
+    }
+
+    // Results are not tracked across restarts, so whatever a previous run left behind is unreachable
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteOrphanedResults() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            System.out.println("Could not clean report job directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        // Interrupted jobs get a moment to delete their partial files
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Job job) {
+        if (!job.state.compareAndSet(ReportJobStatus.State.QUEUED, ReportJobStatus.State.RUNNING)) {
+            releaseSlot(job);
+            return;
+        }
+        job.startedAt = LocalDateTime.now();
+        publish(job, true);
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, job.id, ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                write(job, out);
+            }
+            Path file = directory.resolve(job.id + "." + job.format);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+
+            // The result is complete, so it is shared even if this job was cancelled at the last moment.
+            // Cache and slot are updated before the job shows as finished, for clients reacting to that.
+            // A day that changed while the job was reading is checked again after publishing, since
+            // the invalidation may have run in between.
+            if (job.closedPeriod && !cacheRetention.isZero() && !changedSince(job)) {
+                CachedResult cached = new CachedResult(file, job.request.getStartDate(), job.request.getEndDate(),
+                        LocalDateTime.now());
+                closedPeriodResults.put(job.cacheKey, cached);
+                if (changedSince(job)) {
+                    closedPeriodResults.remove(job.cacheKey, cached);
+                }
+            }
+            releaseSlot(job);
+            if (job.state.compareAndSet(ReportJobStatus.State.RUNNING, ReportJobStatus.State.COMPLETED)) {
+                job.finishedAt = LocalDateTime.now();
+            } else {
+                job.file = null;
+                deleteIfUnreferenced(file);
+            }
+        } catch (Exception e) {
+            releaseSlot(job);
+            if (job.state.compareAndSet(ReportJobStatus.State.RUNNING, ReportJobStatus.State.FAILED)) {
+                job.error = e.getMessage();
+                job.finishedAt = LocalDateTime.now();
+                System.out.println("Report job " + job.id + " failed: " + e.getMessage());
+            }
+        } finally {
+            job.startedAt = null;
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            releaseSlot(job);
+            publish(job, true);
+        }
+    }
+
+    private void write(Job job, OutputStream out) throws IOException {
+        ReportRequest spec = job.request;
+        LocalDateTime start = spec.getStartDate().atStartOfDay();
+        LocalDateTime end = spec.getEndDate().atTime(23, 59, 59);
+        LocalDateTime endExclusive = spec.getEndDate().plusDays(1).atStartOfDay();
+
+        switch (spec.getReportType()) {
+            case "sales" -> {
+                Map<String, Object> report = reportService.getSalesReport(start, end);
+                if ("pdf".equals(job.format)) {
+                    reportService.writeSalesReportPdf(report, out);
+                } else {
+                    writeJson(report, out);
+                }
+            }
+            case "items" -> writeJson(reportService.getTopSellingItems(start, end), out);
+            case "cashier" -> writeJson(reportService.getCashierPerformanceReport(start, end), out);
+            case "orders" -> {
+                job.totalRows = orderRepository.countExportRows(start, endExclusive);
+                reportService.writeOrderExport(start, endExclusive, ExportFormat.fromString(job.format), out,
+                        rows -> progress(job, rows));
+            }
+            case "invoices" -> {
+                job.totalRows = invoiceRepository.countExportRows(start, endExclusive);
+                reportService.writeInvoiceExport(start, endExclusive, ExportFormat.fromString(job.format), out,
+                        rows -> progress(job, rows));
+            }
+            default -> throw new IllegalArgumentException("Unsupported report type: " + spec.getReportType());
+        }
+    }
+
+    private boolean changedSince(Job job) {
+        return changedDays.entrySet().stream().anyMatch(changed ->
+                !changed.getKey().isBefore(job.request.getStartDate())
+                        && !changed.getKey().isAfter(job.request.getEndDate())
+                        && !changed.getValue().isBefore(job.startedAt));
+    }
+
+    private void writeJson(Object value, OutputStream out) throws IOException {
+        objectMapper.writeValue(StreamUtils.nonClosing(out), value);
+    }
+
+    private void progress(Job job, long rows) {
+        if (job.state.get() == ReportJobStatus.State.CANCELLED) {
+            throw new CancellationException("Report job " + job.id + " was cancelled");
+        }
+        job.rowsWritten = rows;
+        publish(job, false);
+    }
+
+    private void publish(Job job, boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - job.lastPublishedAt < PUBLISH_INTERVAL_MILLIS) {
+            return;
+        }
+        job.lastPublishedAt = now;
+        messagingTemplate.convertAndSend("/topic/reports/jobs/" + job.id, toStatus(job));
+    }
+
+    private void acquireSlot(Job job) {
+        activeJobsByCashier.compute(job.cashierId, (cashierId, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= maxJobsPerCashier) {
+                throw new ReportJobRejectedException("Already running " + count + " reports, wait for one to finish");
+            }
+            return count + 1;
+        });
+    }
+
+    private void releaseSlot(Job job) {
+        if (job.released.compareAndSet(false, true)) {
+            activeJobsByCashier.computeIfPresent(job.cashierId, (cashierId, active) -> active > 1 ? active - 1 : null);
+        }
+    }
+
+    private Optional<Job> findJob(Long cashierId, String jobId) {
+        Job job = jobId != null ? jobs.get(jobId) : null;
+        return job != null && job.cashierId.equals(cashierId) ? Optional.of(job) : Optional.empty();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void deleteIfUnreferenced(Path file) {
+        boolean referenced = closedPeriodResults.values().stream().anyMatch(cached -> cached.file().equals(file))
+                || jobs.values().stream().anyMatch(job -> file.equals(job.file));
+        if (!referenced) {
+            deleteQuietly(file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("Could not delete report file " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static ReportRequest normalize(ReportRequest request) {
+        if (request == null || request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("Start date and end date are required");
+        }
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        String type = request.getReportType() != null ? request.getReportType().trim().toLowerCase() : "sales";
+        List<String> formats = FORMATS.get(type);
+        if (formats == null) {
+            throw new IllegalArgumentException("Unsupported report type: " + request.getReportType());
+        }
+        String format = request.getFormat() != null ? request.getFormat().trim().toLowerCase() : formats.get(0);
+        if (!formats.contains(format)) {
+            throw new IllegalArgumentException("Unsupported format " + request.getFormat() + " for " + type + " report");
+        }
+
+        ReportRequest spec = new ReportRequest(request.getStartDate(), request.getEndDate());
+        spec.setReportType(type);
+        spec.setFormat(format);
+        return spec;
+    }
+
+    private ReportJobStatus toStatus(Job job) {
+        ReportJobStatus.State state = job.state.get();
+        ReportJobStatus status = new ReportJobStatus();
+        status.setJobId(job.id);
+        status.setReportType(job.request.getReportType());
+        status.setFormat(job.format);
+        status.setStartDate(job.request.getStartDate());
+        status.setEndDate(job.request.getEndDate());
+        status.setState(state);
+        status.setRowsWritten(job.rowsWritten);
+        status.setTotalRows(job.totalRows);
+        if (state == ReportJobStatus.State.COMPLETED) {
+            status.setProgressPercent(100);
+        } else if (job.totalRows > 0) {
+            status.setProgressPercent((int) Math.min(99, job.rowsWritten * 100 / job.totalRows));
+        }
+        status.setCached(job.cached);
+        status.setError(job.error);
+        status.setFileName(String.format("%s-report-%s-to-%s.%s", job.request.getReportType(),
+                job.request.getStartDate(), job.request.getEndDate(), job.format));
+        status.setContentType(switch (job.format) {
+            case "json" -> "application/json";
+            case "pdf" -> "application/pdf";
+            default -> ExportFormat.fromString(job.format).getContentType();
+        });
+        status.setSubmittedAt(job.submittedAt);
+        status.setFinishedAt(job.finishedAt);
+        return status;
+    }
+
+    private record CachedResult(Path file, LocalDate startDate, LocalDate endDate, LocalDateTime createdAt) {
+
+        private boolean covers(LocalDate day) {
+            return !day.isBefore(startDate) && !day.isAfter(endDate);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Long cashierId;
+        private final ReportRequest request;
+        private final String format;
+        private final String cacheKey;
+        private final boolean closedPeriod;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicReference<ReportJobStatus.State> state = new AtomicReference<>(ReportJobStatus.State.QUEUED);
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Future<?> future;
+        private volatile Path file;
+        private volatile long rowsWritten;
+        private volatile long totalRows;
+        private volatile boolean cached;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long lastPublishedAt;
+
+        private Job(String id, Long cashierId, ReportRequest request) {
+            this.id = id;
+            this.cashierId = cashierId;
+            this.request = request;
+            this.format = request.getFormat();
+            this.cacheKey = request.getReportType() + ":" + format + ":" + request.getStartDate() + ":" + request.getEndDate();
+            this.closedPeriod = request.getEndDate().isBefore(LocalDate.now().minusDays(1));
+        }
+    }
+}
@@ -1,52 +1,83 @@
 package menuorderingapp.project.service.impl;
 
 import menuorderingapp.project.model.*;
+import menuorderingapp.project.model.dto.CashierSales;
+import menuorderingapp.project.model.dto.InvoiceLineExportRow;
+import menuorderingapp.project.model.dto.MenuSales;
+import menuorderingapp.project.model.dto.OrderExportRow;
+import menuorderingapp.project.model.dto.OrderStateCount;
+import menuorderingapp.project.model.dto.PaymentMethodSales;
+import menuorderingapp.project.model.dto.SalesReportResponse;
+import menuorderingapp.project.repository.DailyMenuRollupRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
 import menuorderingapp.project.repository.InvoiceRepository;
-import menuorderingapp.project.repository.OrderItemRepository;
 import menuorderingapp.project.repository.OrderRepository;
 import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.util.ExportFormat;
+import menuorderingapp.project.util.PdfDocumentRenderer;
+import menuorderingapp.project.util.TableWriter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class ReportServiceImpl implements ReportService {
 
+    private static final int PROGRESS_EVERY_ROWS = 500;
+
+    private static final List<String> ORDER_EXPORT_COLUMNS = List.of("orderNumber", "createdAt", "customerName",
+            "orderType", "status", "paymentStatus", "paymentMethod", "cashier", "total");
+    private static final List<String> INVOICE_EXPORT_COLUMNS = List.of("invoiceNumber", "createdAt", "orderNumber",
+            "cashier", "paymentMethod", "item", "quantity", "price", "lineTotal", "invoiceSubtotal", "invoiceTax",
+            "invoiceTotal");
+
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
     private final InvoiceRepository invoiceRepository;
+    private final DailySalesRollupRepository salesRollupRepository;
+    private final DailyMenuRollupRepository menuRollupRepository;
+    private final PdfDocumentRenderer pdfRenderer;
 
     public ReportServiceImpl(OrderRepository orderRepository,
-                             OrderItemRepository orderItemRepository,
-                             InvoiceRepository invoiceRepository) {
+                             InvoiceRepository invoiceRepository,
+                             DailySalesRollupRepository salesRollupRepository,
+                             DailyMenuRollupRepository menuRollupRepository,
+                             PdfDocumentRenderer pdfRenderer) {
         this.orderRepository = orderRepository;
-        this.orderItemRepository = orderItemRepository;
         this.invoiceRepository = invoiceRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.menuRollupRepository = menuRollupRepository;
+        this.pdfRenderer = pdfRenderer;
     }
 
+    // Reports cover whole days, so they are answered from the daily rollups regardless of order volume
     @Override
     public Map<String, Object> getSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findPaidOrdersBetween(startDate, endDate);
-
-        double totalRevenue = orders.stream()
-                .mapToDouble(order -> order.getTotal().doubleValue())
-                .sum();
-
-        long totalOrders = orders.size();
+        LocalDate from = startDate.toLocalDate();
+        LocalDate to = endDate.toLocalDate();
+
+        double totalRevenue = 0;
+        long totalOrders = 0;
+        Map<Order.PaymentMethod, Double> revenueByPaymentMethod = new EnumMap<>(Order.PaymentMethod.class);
+        for (PaymentMethodSales sales : salesRollupRepository.sumByPaymentMethod(from, to)) {
+            if (sales.orderCount() <= 0) {
+                continue;
+            }
+            totalRevenue += sales.revenue().doubleValue();
+            totalOrders += sales.orderCount();
+            revenueByPaymentMethod.put(sales.paymentMethod(), sales.revenue().doubleValue());
+        }
         double averageOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
 
-        Map<Order.PaymentMethod, Double> revenueByPaymentMethod = orders.stream()
-                .collect(Collectors.groupingBy(
-                        Order::getPaymentMethod,
-                        Collectors.summingDouble(order -> order.getTotal().doubleValue())
-                ));
-
         Map<String, Object> report = new HashMap<>();
         report.put("startDate", startDate);
         report.put("endDate", endDate);
@@ -54,7 +85,7 @@ public class ReportServiceImpl implements ReportService {
         report.put("totalOrders", totalOrders);
         report.put("averageOrderValue", averageOrderValue);
         report.put("revenueByPaymentMethod", revenueByPaymentMethod);
-        report.put("orders", orders);
+        report.put("dailySales", salesRollupRepository.sumByDay(from, to));
 
         return report;
     }
@@ -67,57 +98,108 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
-    public List<Map<String, Object>> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Object[]> results = orderItemRepository.findTopSellingMenusBetween(startDate, endDate);
-
-        return results.stream()
-                .map(result -> {
-                    Menu menu = (Menu) result[0];
-                    Long quantity = (Long) result[1];
-                    double revenue = menu.getCurrentPrice().doubleValue() * quantity;
-
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("menu", menu);
-                    item.put("quantity", quantity);
-                    item.put("revenue", revenue);
-                    return item;
-                })
-                .collect(Collectors.toList());
+    public List<MenuSales> getTopSellingItems(LocalDateTime startDate, LocalDateTime endDate) {
+        return menuRollupRepository.sumByMenu(startDate.toLocalDate(), endDate.toLocalDate());
     }
 
     @Override
-    public Map<String, Object> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders = orderRepository.findPaidOrdersBetween(startDate, endDate);
-
-        Map<Cashier, List<Order>> ordersByCashier = orders.stream()
-                .filter(order -> order.getCashier() != null)
-                .collect(Collectors.groupingBy(Order::getCashier));
-
-        Map<Cashier, Double> revenueByCashier = ordersByCashier.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .mapToDouble(order -> order.getTotal().doubleValue())
-                                .sum()
-                ));
-
-        Map<Cashier, Long> orderCountByCashier = ordersByCashier.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> (long) entry.getValue().size()
-                ));
-
-        Map<String, Object> report = new HashMap<>();
-        report.put("revenueByCashier", revenueByCashier);
-        report.put("orderCountByCashier", orderCountByCashier);
-        report.put("startDate", startDate);
-        report.put("endDate", endDate);
+    public List<CashierSales> getCashierPerformanceReport(LocalDateTime startDate, LocalDateTime endDate) {
+        return salesRollupRepository.sumByCashier(startDate.toLocalDate(), endDate.toLocalDate());
+    }
 
-        return report;
+    @Override
+    public SalesReportResponse getOrderSummary(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        long totalOrders = 0;
+        long paidOrders = 0;
+        long cancelledOrders = 0;
+        double totalRevenue = 0;
+        Map<String, Long> paidByMethod = new HashMap<>();
+        Map<String, Double> revenueByMethod = new HashMap<>();
+        for (OrderStateCount row : orderRepository.countByStateBetween(start, end)) {
+            totalOrders += row.orderCount();
+            if (row.status() == Order.OrderStatus.CANCELLED) {
+                cancelledOrders += row.orderCount();
+            }
+            if (row.paymentStatus() == Order.PaymentStatus.PAID) {
+                double revenue = row.total() != null ? row.total().doubleValue() : 0;
+                paidOrders += row.orderCount();
+                totalRevenue += revenue;
+                if (row.paymentMethod() != null) {
+                    paidByMethod.merge(row.paymentMethod().name(), row.orderCount(), Long::sum);
+                    revenueByMethod.merge(row.paymentMethod().name(), revenue, Double::sum);
+                }
+            }
+        }
+
+        SalesReportResponse summary = new SalesReportResponse();
+        summary.setStartDate(start);
+        summary.setEndDate(end);
+        summary.setTotalOrders(totalOrders);
+        summary.setPaidOrders(paidOrders);
+        summary.setCancelledOrders(cancelledOrders);
+        summary.setTotalRevenue(totalRevenue);
+        summary.setAverageOrderValue(paidOrders > 0 ? totalRevenue / paidOrders : 0);
+        summary.setPaidOrdersByPaymentMethod(paidByMethod);
+        summary.setRevenueByPaymentMethod(revenueByMethod);
+        summary.setGeneratedAt(LocalDateTime.now().toString());
+        return summary;
     }
 
     @Override
     public List<Order> getOrdersForReport(LocalDateTime startDate, LocalDateTime endDate) {
         return orderRepository.findOrdersByDateRange(startDate, endDate);
     }
+
+    // Rendering only reads the already loaded report, so no connection is held while the PDF streams out
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeSalesReportPdf(Map<String, Object> report, OutputStream out) throws IOException {
+        pdfRenderer.renderSalesReport(report, out);
+    }
+
+    // Runs inside the read-only transaction so the streamed result stays open while rows are written out;
+    // the connection can run nothing else until it is closed
+    @Override
+    public long writeOrderExport(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                 OutputStream out, LongConsumer progress) throws IOException {
+        TableWriter writer = format.open(out, "Orders", ORDER_EXPORT_COLUMNS);
+        long rows = 0;
+        try (Stream<OrderExportRow> stream = orderRepository.streamExportRows(startDate, endDate)) {
+            for (Iterator<OrderExportRow> it = stream.iterator(); it.hasNext(); rows++) {
+                OrderExportRow row = it.next();
+                writer.row(row.orderNumber(), row.createdAt(), row.customerName(), row.orderType(), row.status(),
+                        row.paymentStatus(), row.paymentMethod(), row.cashierName(), row.total());
+                if ((rows + 1) % PROGRESS_EVERY_ROWS == 0) {
+                    progress.accept(rows + 1);
+                }
+            }
+        }
+        writer.finish();
+        progress.accept(rows);
+        return rows;
+    }
+
+    @Override
+    public long writeInvoiceExport(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format,
+                                   OutputStream out, LongConsumer progress) throws IOException {
+        TableWriter writer = format.open(out, "Invoices", INVOICE_EXPORT_COLUMNS);
+        long rows = 0;
+        try (Stream<InvoiceLineExportRow> stream = invoiceRepository.streamExportRows(startDate, endDate)) {
+            for (Iterator<InvoiceLineExportRow> it = stream.iterator(); it.hasNext(); rows++) {
+                InvoiceLineExportRow row = it.next();
+                writer.row(row.invoiceNumber(), row.createdAt(), row.orderNumber(), row.cashierName(),
+                        row.paymentMethod(), row.itemName(), row.quantity(), row.price(), row.lineTotal(),
+                        row.totalAmount(), row.taxAmount(), row.finalAmount());
+                if ((rows + 1) % PROGRESS_EVERY_ROWS == 0) {
+                    progress.accept(rows + 1);
+                }
+            }
+        }
+        writer.finish();
+        progress.accept(rows);
+        return rows;
+    }
 }
@@ -0,0 +1,97 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.DailyMenuRollupRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.SalesRollupService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the daily sales and menu rollups in step with payments. Each change runs in the transaction that
+ * marks the order paid or refunded, so the rollups commit (or roll back) together with the order.
+ */
+@Service
+@Transactional
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    // Days rebuilt per transaction
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    private final DailySalesRollupRepository salesRollupRepository;
+    private final DailyMenuRollupRepository menuRollupRepository;
+    private final OrderRepository orderRepository;
+    private final SalesRollupWriter rollupWriter;
+
+    public SalesRollupServiceImpl(DailySalesRollupRepository salesRollupRepository,
+                                  DailyMenuRollupRepository menuRollupRepository,
+                                  OrderRepository orderRepository,
+                                  SalesRollupWriter rollupWriter) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.menuRollupRepository = menuRollupRepository;
+        this.orderRepository = orderRepository;
+        this.rollupWriter = rollupWriter;
+    }
+
+    @Override
+    public void orderPaid(Long orderId, LocalDate orderDay) {
+        apply(orderId, orderDay, Order.PaymentStatus.PAID, 1);
+    }
+
+    @Override
+    public void orderRefunded(Long orderId) {
+        orderRepository.findById(orderId)
+                .filter(order -> order.getPaymentStatus() == Order.PaymentStatus.REFUNDED)
+                .ifPresent(order -> apply(orderId, order.getCreatedAt().toLocalDate(), Order.PaymentStatus.REFUNDED, -1));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate end = start.plusDays(REBUILD_CHUNK_DAYS);
+            days += rollupWriter.rebuildDays(start, end.isAfter(to) ? to.plusDays(1) : end);
+        }
+        return days;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        return orderRepository.findEarliestCreatedAtByPaymentStatus(Order.PaymentStatus.PAID)
+                .map(earliest -> rebuild(earliest.toLocalDate(), LocalDate.now()))
+                .orElse(0);
+    }
+
+    // First start after the upgrade: derive the rollups from the existing order history
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initializeRollups() {
+        if (salesRollupRepository.count() == 0 && orderRepository.countByPaymentStatus(Order.PaymentStatus.PAID) > 0) {
+            long startedAt = System.currentTimeMillis();
+            int days = rebuildAll();
+            System.out.println("Built sales rollups for " + days + " days in " + (System.currentTimeMillis() - startedAt) + " ms");
+        }
+    }
+
+    // Yesterday is closed by now; re-deriving it absorbs any drift, e.g. items edited after payment
+    @Scheduled(cron = "${app.reports.rollup-reconcile-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday, yesterday);
+    }
+
+    private void apply(Long orderId, LocalDate salesDate, Order.PaymentStatus paymentStatus, int sign) {
+        salesRollupRepository.applyOrder(orderId, salesDate, paymentStatus.name(), sign);
+        menuRollupRepository.applyOrder(orderId, salesDate, paymentStatus.name(), sign);
+    }
+}
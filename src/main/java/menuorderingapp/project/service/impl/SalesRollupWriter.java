@@ -0,0 +1,41 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.repository.DailyMenuRollupRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+public class SalesRollupWriter {
+
+    private final DailySalesRollupRepository salesRollupRepository;
+    private final DailyMenuRollupRepository menuRollupRepository;
+
+    public SalesRollupWriter(DailySalesRollupRepository salesRollupRepository,
+                             DailyMenuRollupRepository menuRollupRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.menuRollupRepository = menuRollupRepository;
+    }
+
+    /**
+     * Re-derives the rollup rows of each day in [from, to) from the paid orders, committing the range at once
+     * so a report never sees a day half rebuilt.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int rebuildDays(LocalDate from, LocalDate to) {
+        String paid = Order.PaymentStatus.PAID.name();
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            salesRollupRepository.deleteDay(day);
+            menuRollupRepository.deleteDay(day);
+            salesRollupRepository.insertDay(day, paid, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            menuRollupRepository.insertDay(day, paid, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            days++;
+        }
+        return days;
+    }
+}
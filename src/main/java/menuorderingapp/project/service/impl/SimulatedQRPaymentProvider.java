@@ -0,0 +1,46 @@
+package menuorderingapp.project.service.impl;
+
+import menuorderingapp.project.model.dto.QRPaymentCallback;
+import menuorderingapp.project.service.QRPaymentProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for a QR payment gateway: approves every request after a fixed latency and
+ * reports back through the same callback path a real webhook would use.
+ */
+@Service
+public class SimulatedQRPaymentProvider implements QRPaymentProvider {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long latencyMillis;
+
+    private final Map<String, Long> dueAt = new ConcurrentHashMap<>();
+
+    public SimulatedQRPaymentProvider(ApplicationEventPublisher eventPublisher,
+                                      @Value("${app.payment.qr.simulated-latency-ms:1000}") long latencyMillis) {
+        this.eventPublisher = eventPublisher;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void requestPayment(String reference, String orderNumber, BigDecimal amount) {
+        dueAt.put(reference, System.currentTimeMillis() + latencyMillis);
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public void deliverCallbacks() {
+        long now = System.currentTimeMillis();
+        dueAt.forEach((reference, due) -> {
+            if (due <= now && dueAt.remove(reference, due)) {
+                eventPublisher.publishEvent(new QRPaymentCallback(reference, true));
+            }
+        });
+    }
+}
@@ -0,0 +1,231 @@
+package menuorderingapp.project.session;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.dto.CashierDto;
+import menuorderingapp.project.security.CashierUserDetails;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Hand-written encodings for what the app keeps in every session: strings, ids, the cashier DTO and the
+ * security context of a cashier who logged in with a password. Each value is one tag byte followed by the
+ * fields, objects starting with a bitmask of the fields that are set. Anything else falls back to Java
+ * serialization, whose stream always starts with 0xACED, so rows written before this codec, or by the
+ * fallback, still decode. With compact writes turned off every value is written by the fallback, while
+ * compact rows already in the table keep decoding until their sessions expire.
+ */
+public class CompactSessionAttributeCodec implements SessionAttributeCodec {
+
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte BOOLEAN = 4;
+    // Bump a versioned tag, and keep reading the old one, when the class gains or loses fields
+    private static final byte CASHIER_DTO_V1 = 5;
+    private static final byte CASHIER_LOGIN_V1 = 6;
+
+    private static final byte JAVA_SERIALIZATION = (byte) 0xAC;
+
+    private final SessionAttributeCodec fallback;
+    private final boolean compactWrites;
+
+    public CompactSessionAttributeCodec(SessionAttributeCodec fallback) {
+        this(fallback, true);
+    }
+
+    public CompactSessionAttributeCodec(SessionAttributeCodec fallback, boolean compactWrites) {
+        this.fallback = fallback;
+        this.compactWrites = compactWrites;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (!compactWrites) {
+            return fallback.encode(value);
+        }
+        if (value instanceof String text) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = new byte[utf8.length + 1];
+            bytes[0] = STRING;
+            System.arraycopy(utf8, 0, bytes, 1, utf8.length);
+            return bytes;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Boolean
+                || value instanceof CashierDto || isCashierLogin(value)) {
+            return write(value);
+        }
+        return fallback.encode(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] == JAVA_SERIALIZATION) {
+            return fallback.decode(bytes);
+        }
+        if (bytes[0] == STRING) {
+            return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            return switch (bytes[0]) {
+                case LONG -> in.readLong();
+                case INTEGER -> in.readInt();
+                case BOOLEAN -> in.readBoolean();
+                case CASHIER_DTO_V1 -> readCashierDto(in);
+                case CASHIER_LOGIN_V1 -> readCashierLogin(in);
+                default -> throw new IllegalArgumentException("Unknown session attribute tag: " + bytes[0]);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode session attribute", e);
+        }
+    }
+
+    // Only the exact shape a form login produces; anything richer keeps Java serialization
+    private static boolean isCashierLogin(Object value) {
+        if (value == null || value.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication authentication = ((SecurityContextImpl) value).getAuthentication();
+        return authentication != null
+                && authentication.getClass() == UsernamePasswordAuthenticationToken.class
+                && authentication.isAuthenticated()
+                && authentication.getCredentials() == null
+                && authentication.getPrincipal() != null
+                && authentication.getPrincipal().getClass() == CashierUserDetails.class
+                && (authentication.getDetails() == null
+                        || authentication.getDetails().getClass() == WebAuthenticationDetails.class)
+                && authentication.getAuthorities().equals(
+                        ((CashierUserDetails) authentication.getPrincipal()).getAuthorities());
+    }
+
+    private byte[] write(Object value) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            if (value instanceof Long number) {
+                out.writeByte(LONG);
+                out.writeLong(number);
+            } else if (value instanceof Integer number) {
+                out.writeByte(INTEGER);
+                out.writeInt(number);
+            } else if (value instanceof Boolean flag) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(flag);
+            } else if (value instanceof CashierDto cashier) {
+                out.writeByte(CASHIER_DTO_V1);
+                writeCashierDto(out, cashier);
+            } else {
+                out.writeByte(CASHIER_LOGIN_V1);
+                writeCashierLogin(out, ((SecurityContextImpl) value).getAuthentication());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode session attribute", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void writeCashierDto(DataOutputStream out, CashierDto cashier) throws IOException {
+        Object[] fields = {cashier.getId(), cashier.getUsername(), cashier.getDisplayName(), cashier.getRole(),
+                cashier.getIsActive(), cashier.getLastLogin(), cashier.getCreatedAt()};
+        out.writeByte(presence(fields));
+        writeFields(out, fields);
+    }
+
+    private static CashierDto readCashierDto(DataInputStream in) throws IOException {
+        int present = in.readUnsignedByte();
+        CashierDto cashier = new CashierDto();
+        cashier.setId(isSet(present, 0) ? in.readLong() : null);
+        cashier.setUsername(isSet(present, 1) ? in.readUTF() : null);
+        cashier.setDisplayName(isSet(present, 2) ? in.readUTF() : null);
+        cashier.setRole(isSet(present, 3) ? Cashier.CashierRole.valueOf(in.readUTF()) : null);
+        cashier.setIsActive(isSet(present, 4) ? in.readBoolean() : null);
+        cashier.setLastLogin(isSet(present, 5) ? readDateTime(in) : null);
+        cashier.setCreatedAt(isSet(present, 6) ? readDateTime(in) : null);
+        return cashier;
+    }
+
+    private static void writeCashierLogin(DataOutputStream out, Authentication authentication) throws IOException {
+        Cashier cashier = ((CashierUserDetails) authentication.getPrincipal()).getCashier();
+        Object[] fields = {cashier.getId(), cashier.getUsername(), cashier.getPasswordHash(),
+                cashier.getDisplayName(), cashier.getRole(), cashier.getIsActive(), cashier.getLastLogin(),
+                cashier.getCreatedAt(), cashier.getUpdatedAt()};
+        out.writeShort(presence(fields));
+        writeFields(out, fields);
+
+        WebAuthenticationDetails details = (WebAuthenticationDetails) authentication.getDetails();
+        Object[] detailFields = details == null ? new Object[0]
+                : new Object[]{details.getRemoteAddress(), details.getSessionId()};
+        out.writeByte(details == null ? 0 : 1 | presence(detailFields) << 1);
+        writeFields(out, detailFields);
+    }
+
+    private static SecurityContextImpl readCashierLogin(DataInputStream in) throws IOException {
+        int present = in.readUnsignedShort();
+        Cashier cashier = new Cashier();
+        cashier.setId(isSet(present, 0) ? in.readLong() : null);
+        cashier.setUsername(isSet(present, 1) ? in.readUTF() : null);
+        cashier.setPasswordHash(isSet(present, 2) ? in.readUTF() : null);
+        cashier.setDisplayName(isSet(present, 3) ? in.readUTF() : null);
+        cashier.setRole(isSet(present, 4) ? Cashier.CashierRole.valueOf(in.readUTF()) : null);
+        cashier.setIsActive(isSet(present, 5) ? in.readBoolean() : null);
+        cashier.setLastLogin(isSet(present, 6) ? readDateTime(in) : null);
+        cashier.setCreatedAt(isSet(present, 7) ? readDateTime(in) : null);
+        cashier.setUpdatedAt(isSet(present, 8) ? readDateTime(in) : null);
+
+        CashierUserDetails principal = new CashierUserDetails(cashier);
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        int details = in.readUnsignedByte();
+        if (isSet(details, 0)) {
+            String remoteAddress = isSet(details, 1) ? in.readUTF() : null;
+            String sessionId = isSet(details, 2) ? in.readUTF() : null;
+            authentication.setDetails(new WebAuthenticationDetails(remoteAddress, sessionId));
+        }
+        return new SecurityContextImpl(authentication);
+    }
+
+    private static int presence(Object[] fields) {
+        int present = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                present |= 1 << i;
+            }
+        }
+        return present;
+    }
+
+    private static boolean isSet(int present, int field) {
+        return (present & (1 << field)) != 0;
+    }
+
+    private static void writeFields(DataOutputStream out, Object[] fields) throws IOException {
+        for (Object field : fields) {
+            if (field instanceof Long number) {
+                out.writeLong(number);
+            } else if (field instanceof String text) {
+                out.writeUTF(text);
+            } else if (field instanceof Enum<?> constant) {
+                out.writeUTF(constant.name());
+            } else if (field instanceof Boolean flag) {
+                out.writeBoolean(flag);
+            } else if (field instanceof LocalDateTime dateTime) {
+                out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(dateTime.getNano());
+            }
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
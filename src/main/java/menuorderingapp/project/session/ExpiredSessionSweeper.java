@@ -0,0 +1,63 @@
+package menuorderingapp.project.session;
+
+import menuorderingapp.project.repository.CashierSessionRepository;
+import menuorderingapp.project.security.SessionTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Purges expired cashier_sessions rows and expired Spring Session rows. Each table is emptied in chunks of a
+ * bounded number of rows, every chunk its own short statement, so a large backlog never holds long locks.
+ * Replaces Spring Session's own cleanup job, which deletes every expired session in one statement.
+ */
+@Component
+public class ExpiredSessionSweeper {
+
+    private final CashierSessionRepository cashierSessionRepository;
+    private final SessionTable sessionTable;
+    private final SessionTokenCache tokenCache;
+    private final int chunkSize;
+
+    public ExpiredSessionSweeper(CashierSessionRepository cashierSessionRepository, SessionTable sessionTable,
+                                 SessionTokenCache tokenCache,
+                                 @Value("${app.auth.session-sweep.chunk-size:500}") int chunkSize) {
+        this.cashierSessionRepository = cashierSessionRepository;
+        this.sessionTable = sessionTable;
+        this.tokenCache = tokenCache;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.session-sweep.interval-ms:600000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Instant nowInstant = Instant.now();
+        int cashierSessions = purge("cashier sessions",
+                () -> cashierSessionRepository.deleteExpiredChunk(now, chunkSize));
+        int httpSessions = purge("HTTP sessions", () -> sessionTable.deleteExpired(nowInstant, chunkSize));
+        tokenCache.evictExpired();
+
+        if (cashierSessions > 0 || httpSessions > 0) {
+            System.out.println("Purged " + cashierSessions + " expired cashier sessions and "
+                    + httpSessions + " expired HTTP sessions");
+        }
+    }
+
+    private int purge(String what, IntSupplier deleteChunk) {
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = deleteChunk.getAsInt();
+                total += deleted;
+            } while (deleted >= chunkSize);
+        } catch (RuntimeException e) {
+            System.out.println("Failed to purge expired " + what + ", will retry: " + e.getMessage());
+        }
+        return total;
+    }
+}
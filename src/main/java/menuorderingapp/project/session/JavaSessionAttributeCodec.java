@@ -0,0 +1,27 @@
+package menuorderingapp.project.session;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * Plain Java serialization, what Spring Session uses when no codec is configured.
+ */
+public class JavaSessionAttributeCodec implements SessionAttributeCodec {
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer;
+
+    public JavaSessionAttributeCodec(ClassLoader classLoader) {
+        this.deserializer = new DeserializingConverter(classLoader);
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.convert(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return deserializer.convert(bytes);
+    }
+}
@@ -0,0 +1,276 @@
+package menuorderingapp.project.session;
+
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Session repository that serves reads from {@link SessionNearCache} and writes through to the JDBC repository
+ * it decorates. The database stays the source of truth across nodes: every read checks the session's version
+ * column, so a session changed or removed by another node is reloaded or dropped. Only attributes a request
+ * actually set or removed are written, and a request that changed nothing but its last access time is queued
+ * for the next write-behind flush instead of updating the row.
+ */
+public class NearCacheSessionRepository<S extends Session> implements SessionRepository<NearCacheSessionRepository<S>.CachedSession> {
+
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final SessionRepository<S> delegate;
+    private final SessionNearCache nearCache;
+    private final SessionTable sessionTable;
+
+    public NearCacheSessionRepository(SessionRepository<S> delegate, SessionNearCache nearCache,
+                                      SessionTable sessionTable) {
+        this.delegate = delegate;
+        this.nearCache = nearCache;
+        this.sessionTable = sessionTable;
+    }
+
+    @Override
+    public CachedSession createSession() {
+        return new CachedSession(delegate.createSession());
+    }
+
+    @Override
+    public CachedSession findById(String id) {
+        // Version first: if another node writes between this lookup and the load below, the cache ends up
+        // with newer attributes under an older version and the next read simply reloads
+        SessionTable.SessionVersion current = sessionTable.findVersion(id);
+        if (current == null) {
+            nearCache.evict(id);
+            return null;
+        }
+
+        SessionNearCache.CachedState state = nearCache.get(id);
+        if (state == null || state.version() != current.version()) {
+            S loaded = delegate.findById(id);
+            if (loaded == null) {
+                nearCache.evict(id);
+                return null;
+            }
+            state = stateOf(loaded, current.version());
+            nearCache.put(id, state);
+        }
+
+        CachedSession session = new CachedSession(id, state, current.lastAccessedTime());
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void save(CachedSession session) {
+        if (session.attached == null && session.dirty.isEmpty() && !session.maxInactiveIntervalChanged) {
+            nearCache.touch(session.id, session.lastAccessedTime, session.maxInactiveInterval);
+            return;
+        }
+
+        String originalId = session.originalId;
+        boolean isNew = session.isNew;
+        boolean upToDate = isNew
+                || (session.version != UNKNOWN_VERSION && sessionTable.advanceVersion(originalId, session.version));
+        if (!upToDate) {
+            // Someone else wrote the session since this request read it. Our attributes are still applied on
+            // top of theirs, but other nodes must see a new version and this node must not cache the result.
+            sessionTable.forceAdvanceVersion(originalId);
+        }
+
+        S target = session.attached != null ? session.attached : delegate.findById(originalId);
+        if (target == null) {
+            // Expired or invalidated elsewhere; never bring it back
+            nearCache.evict(originalId);
+            return;
+        }
+        for (String name : session.dirty) {
+            Object value = session.attributes.get(name);
+            if (value != null) {
+                target.setAttribute(name, value);
+            } else {
+                target.removeAttribute(name);
+            }
+        }
+        if (session.maxInactiveIntervalChanged) {
+            target.setMaxInactiveInterval(session.maxInactiveInterval);
+        }
+        target.setLastAccessedTime(session.lastAccessedTime);
+        delegate.save(target);
+
+        if (!originalId.equals(target.getId())) {
+            nearCache.evict(originalId);
+            nearCache.discardAccess(originalId);
+        }
+        long version = isNew ? 0 : session.version + 1;
+        if (upToDate) {
+            nearCache.put(target.getId(), new SessionNearCache.CachedState(session.attributes,
+                    session.creationTime, session.lastAccessedTime, session.maxInactiveInterval, version));
+        } else {
+            nearCache.evict(target.getId());
+        }
+        session.saved(target, upToDate ? version : UNKNOWN_VERSION);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        nearCache.evict(id);
+        nearCache.discardAccess(id);
+        delegate.deleteById(id);
+    }
+
+    private SessionNearCache.CachedState stateOf(S loaded, long version) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : loaded.getAttributeNames()) {
+            Object value = loaded.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+        return new SessionNearCache.CachedState(attributes, loaded.getCreationTime(), loaded.getLastAccessedTime(),
+                loaded.getMaxInactiveInterval(), version);
+    }
+
+    /**
+     * One request's view of a session: a private copy of the cached attributes plus the names it changed.
+     */
+    public final class CachedSession implements Session {
+
+        private String id;
+        private String originalId;
+        private final Map<String, Object> attributes;
+        private final Set<String> dirty = new HashSet<>();
+        private final Instant creationTime;
+        private Instant lastAccessedTime;
+        private Duration maxInactiveInterval;
+        private boolean maxInactiveIntervalChanged;
+        private boolean isNew;
+        private long version;
+        // Backing session for new sessions and id changes, which have to go through the delegate anyway
+        private S attached;
+
+        private CachedSession(S created) {
+            this.id = created.getId();
+            this.originalId = id;
+            this.attributes = new HashMap<>();
+            this.creationTime = created.getCreationTime();
+            this.lastAccessedTime = created.getLastAccessedTime();
+            this.maxInactiveInterval = created.getMaxInactiveInterval();
+            this.isNew = true;
+            this.version = UNKNOWN_VERSION;
+            this.attached = created;
+        }
+
+        private CachedSession(String id, SessionNearCache.CachedState state, Instant storedLastAccess) {
+            this.id = id;
+            this.originalId = id;
+            this.attributes = new HashMap<>(state.attributes());
+            this.creationTime = state.creationTime();
+            this.lastAccessedTime = storedLastAccess.isAfter(state.lastAccessedTime())
+                    ? storedLastAccess : state.lastAccessedTime();
+            this.maxInactiveInterval = state.maxInactiveInterval();
+            this.version = state.version();
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            if (attached == null) {
+                attached = delegate.findById(originalId);
+                if (attached == null) {
+                    // Gone from the database: carry the attributes over into a brand new session
+                    attached = delegate.createSession();
+                    dirty.addAll(attributes.keySet());
+                    isNew = true;
+                    originalId = attached.getId();
+                    id = originalId;
+                    return id;
+                }
+            }
+            id = attached.changeSessionId();
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            return (T) attributes.get(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return new HashSet<>(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+                return;
+            }
+            attributes.put(attributeName, attributeValue);
+            dirty.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (attributes.remove(attributeName) != null) {
+                dirty.add(attributeName);
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(maxInactiveInterval)) {
+                this.maxInactiveInterval = interval;
+                this.maxInactiveIntervalChanged = true;
+            }
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !maxInactiveInterval.isNegative()
+                    && Instant.now().minus(maxInactiveInterval).isAfter(lastAccessedTime);
+        }
+
+        private void saved(S target, long savedVersion) {
+            id = target.getId();
+            originalId = id;
+            dirty.clear();
+            maxInactiveIntervalChanged = false;
+            isNew = false;
+            version = savedVersion;
+            // A second save in the same request goes through the delegate session we already hold
+            attached = target;
+        }
+    }
+}
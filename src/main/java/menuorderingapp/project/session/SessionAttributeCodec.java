@@ -0,0 +1,11 @@
+package menuorderingapp.project.session;
+
+/**
+ * Turns session attribute values into the bytes stored in SPRING_SESSION_ATTRIBUTES and back.
+ */
+public interface SessionAttributeCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,114 @@
+package menuorderingapp.project.session;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node state behind {@link NearCacheSessionRepository}: deserialized sessions (least recently used
+ * evicted first), each tagged with the version it was read at, and last-access times waiting to be written.
+ * Last access is written behind, coalesced per session, so a request that only reads its session costs one
+ * version lookup instead of a load and an update.
+ */
+@Component
+public class SessionNearCache {
+
+    private final SessionTable sessionTable;
+    private final Map<String, CachedState> entries;
+    private final Map<String, SessionTable.SessionAccess> pendingAccess = new ConcurrentHashMap<>();
+
+    public SessionNearCache(SessionTable sessionTable,
+                            @Value("${app.session.near-cache.max-entries:10000}") int maxEntries) {
+        this.sessionTable = sessionTable;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedState> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public CachedState get(String sessionId) {
+        synchronized (entries) {
+            return entries.get(sessionId);
+        }
+    }
+
+    public void put(String sessionId, CachedState state) {
+        synchronized (entries) {
+            entries.put(sessionId, state);
+        }
+    }
+
+    public void evict(String sessionId) {
+        synchronized (entries) {
+            entries.remove(sessionId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void touch(String sessionId, Instant lastAccessedTime, Duration maxInactiveInterval) {
+        pendingAccess.merge(sessionId, new SessionTable.SessionAccess(lastAccessedTime, maxInactiveInterval),
+                (queued, next) -> next.lastAccessedTime().isAfter(queued.lastAccessedTime()) ? next : queued);
+        synchronized (entries) {
+            entries.computeIfPresent(sessionId, (id, state) -> state.accessedAt(lastAccessedTime));
+        }
+    }
+
+    public void discardAccess(String sessionId) {
+        pendingAccess.remove(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.near-cache.flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        if (pendingAccess.isEmpty()) {
+            return;
+        }
+        Map<String, SessionTable.SessionAccess> batch = new HashMap<>();
+        for (String sessionId : pendingAccess.keySet()) {
+            SessionTable.SessionAccess access = pendingAccess.remove(sessionId);
+            if (access != null) {
+                batch.put(sessionId, access);
+            }
+        }
+        try {
+            sessionTable.touch(batch);
+        } catch (RuntimeException e) {
+            System.out.println("Failed to flush session access times, will retry: " + e.getMessage());
+            batch.forEach((sessionId, access) ->
+                    touch(sessionId, access.lastAccessedTime(), access.maxInactiveInterval()));
+        }
+    }
+
+    /**
+     * A session as last read from or written to the database. Attribute values are shared by every request
+     * of the session on this node, so an attribute changed in place must be set again to be saved.
+     */
+    public record CachedState(Map<String, Object> attributes, Instant creationTime, Instant lastAccessedTime,
+                              Duration maxInactiveInterval, long version) {
+
+        public CachedState {
+            attributes = Map.copyOf(attributes);
+        }
+
+        private CachedState accessedAt(Instant time) {
+            return time.isAfter(lastAccessedTime)
+                    ? new CachedState(attributes, creationTime, time, maxInactiveInterval, version)
+                    : this;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package menuorderingapp.project.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The few statements the session near-cache runs against the Spring Session table directly. Everything
+ * else (attributes, principal index, expiry cleanup) stays with the JDBC session repository.
+ */
+@Component
+public class SessionTable {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String findVersionQuery;
+    private final String advanceVersionQuery;
+    private final String forceAdvanceVersionQuery;
+    private final String touchQuery;
+    private final String deleteExpiredQuery;
+
+    public SessionTable(JdbcTemplate jdbcTemplate,
+                        @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String tableName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.findVersionQuery = "SELECT SESSION_VERSION, LAST_ACCESS_TIME FROM " + tableName + " WHERE SESSION_ID = ?";
+        this.advanceVersionQuery = "UPDATE " + tableName
+                + " SET SESSION_VERSION = SESSION_VERSION + 1 WHERE SESSION_ID = ? AND SESSION_VERSION = ?";
+        this.forceAdvanceVersionQuery = "UPDATE " + tableName
+                + " SET SESSION_VERSION = SESSION_VERSION + 1 WHERE SESSION_ID = ?";
+        this.touchQuery = "UPDATE " + tableName
+                + " SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?";
+        this.deleteExpiredQuery = "DELETE FROM " + tableName + " WHERE EXPIRY_TIME < ? LIMIT ?";
+    }
+
+    // Null when the session no longer exists
+    public SessionVersion findVersion(String sessionId) {
+        return jdbcTemplate.query(findVersionQuery, rs -> rs.next()
+                ? new SessionVersion(rs.getLong(1), Instant.ofEpochMilli(rs.getLong(2)))
+                : null, sessionId);
+    }
+
+    // True when the session was still at the expected version, i.e. nobody else wrote it in between
+    public boolean advanceVersion(String sessionId, long expectedVersion) {
+        return jdbcTemplate.update(advanceVersionQuery, sessionId, expectedVersion) == 1;
+    }
+
+    public void forceAdvanceVersion(String sessionId) {
+        jdbcTemplate.update(forceAdvanceVersionQuery, sessionId);
+    }
+
+    // Moves last access (and expiry) forward only; an older write never overtakes a newer one
+    public void touch(Map<String, SessionAccess> accesses) {
+        List<Object[]> batch = new ArrayList<>(accesses.size());
+        accesses.forEach((sessionId, access) -> {
+            long lastAccess = access.lastAccessedTime().toEpochMilli();
+            batch.add(new Object[]{lastAccess, expiryTime(access), sessionId, lastAccess});
+        });
+        jdbcTemplate.batchUpdate(touchQuery, batch);
+    }
+
+    // Attributes go with their session through the ON DELETE CASCADE foreign key
+    public int deleteExpired(Instant now, int limit) {
+        return jdbcTemplate.update(deleteExpiredQuery, now.toEpochMilli(), limit);
+    }
+
+    private static long expiryTime(SessionAccess access) {
+        Duration maxInactive = access.maxInactiveInterval();
+        return maxInactive.isNegative() ? Long.MAX_VALUE
+                : access.lastAccessedTime().plus(maxInactive).toEpochMilli();
+    }
+
+    public record SessionVersion(long version, Instant lastAccessedTime) {
+    }
+
+    public record SessionAccess(Instant lastAccessedTime, Duration maxInactiveInterval) {
+    }
+}
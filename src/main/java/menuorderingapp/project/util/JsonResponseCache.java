@@ -0,0 +1,117 @@
+package menuorderingapp.project.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches serialized (and gzipped) JSON bodies per key until the source version changes.
+ */
+@Component
+public class JsonResponseCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedJson> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedJson> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long version = -1;
+
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public CachedJson get(String key, long sourceVersion, Supplier<?> body) {
+        synchronized (entries) {
+            if (sourceVersion != version) {
+                entries.clear();
+                version = sourceVersion;
+            }
+            CachedJson cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        CachedJson rendered = render(body.get());
+        synchronized (entries) {
+            if (sourceVersion == version) {
+                entries.put(key, rendered);
+            }
+        }
+        return rendered;
+    }
+
+    private CachedJson render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String tag = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+            return new CachedJson(json, compressed.toByteArray(), tag);
+
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response", e);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to compress response", e);
+        }
+    }
+
+    public static final class CachedJson {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String tag;
+
+        private CachedJson(byte[] json, byte[] gzip, String tag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.tag = tag;
+        }
+
+        public byte[] getBody(boolean gzipped) {
+            return gzipped ? gzip : json;
+        }
+
+        // Each encoding is a distinct representation, so it gets its own strong validator
+        public String getETag(boolean gzipped) {
+            return gzipped ? "\"" + tag + "-gz\"" : "\"" + tag + "\"";
+        }
+
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            String etag = getETag(gzipped);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package menuorderingapp.project.util;
+
+import menuorderingapp.project.model.Menu;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over available menu names, categories and descriptions. It holds immutable
+ * {@link IndexedMenu} snapshots, never entities. Reads are lock-free; writes (single menu updates or a full
+ * rebuild) are serialized. Every write bumps a generation, so a rebuild from data read before a concurrent
+ * write is refused instead of overwriting that write.
+ */
+public class MenuSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    // Old (pre-1972) Indonesian spellings still common on menus, mapped to the current spelling
+    private static final String[][] SPELLING_VARIANTS = {
+            {"tj", "c"}, {"dj", "j"}, {"sj", "sy"}, {"nj", "ny"}, {"oe", "u"}
+    };
+
+    private static final Map<String, String> SYNONYMS = Map.of(
+            "mie", "mi",
+            "mee", "mi",
+            "bakmie", "bakmi",
+            "satay", "sate",
+            "sambel", "sambal",
+            "coffee", "kopi",
+            "tea", "teh",
+            "chicken", "ayam",
+            "rice", "nasi"
+    );
+
+    private volatile State state = new State();
+    private volatile boolean built;
+    private long generation;
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // Read before loading the menus for rebuild
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // False when the index changed since the generation was read; reload the menus and try again
+    public synchronized boolean rebuild(Collection<IndexedMenu> menus, long expectedGeneration) {
+        if (expectedGeneration != generation) {
+            return false;
+        }
+        State fresh = new State();
+        for (IndexedMenu menu : menus) {
+            if (menu.available()) {
+                fresh.add(menu);
+            }
+        }
+        state = fresh;
+        built = true;
+        generation++;
+        return true;
+    }
+
+    public synchronized void update(IndexedMenu menu) {
+        generation++;
+        if (!built) {
+            return;
+        }
+        state.remove(menu.id());
+        if (menu.available()) {
+            state.add(menu);
+        }
+    }
+
+    public synchronized void remove(Long menuId) {
+        generation++;
+        if (built) {
+            state.remove(menuId);
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        state = new State();
+        built = false;
+    }
+
+    public List<IndexedMenu> search(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        State current = state;
+        Map<Long, Integer> scores = null;
+        for (String token : queryTokens) {
+            Map<Long, Integer> tokenScores = current.match(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                // Every query token must match; keep the running intersection
+                Map<Long, Integer> intersection = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer tokenScore = tokenScores.get(entry.getKey());
+                    if (tokenScore != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + tokenScore);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String phrase = String.join(" ", queryTokens);
+        List<Hit> hits = new ArrayList<>(scores.size());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            Document document = current.documents.get(entry.getKey());
+            if (document != null) {
+                int score = entry.getValue();
+                if (document.normalizedName.startsWith(phrase)) {
+                    score += NAME_WEIGHT;
+                }
+                hits.add(new Hit(document, score));
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(hit -> hit.document().normalizedName));
+
+        List<IndexedMenu> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            results.add(hit.document().menu);
+        }
+        return results;
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String[] variant : SPELLING_VARIANTS) {
+            folded = folded.replace(variant[0], variant[1]);
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(SYNONYMS.getOrDefault(token, token));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * What the index keeps of a menu, copied when it is indexed.
+     */
+    public record IndexedMenu(Long id, String name, String description, String categoryName, BigDecimal price,
+                              boolean available) {
+
+        public static IndexedMenu of(Menu menu) {
+            return new IndexedMenu(menu.getId(), menu.getName(), menu.getDescription(),
+                    menu.getCategory() != null ? menu.getCategory().getName() : null, menu.getPrice(),
+                    Boolean.TRUE.equals(menu.getAvailable()));
+        }
+    }
+
+    private record Hit(Document document, int score) {
+    }
+
+    private static final class State {
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        private void add(IndexedMenu menu) {
+            Document document = new Document(menu);
+            documents.put(menu.id(), document);
+            document.terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(menu.id(), weight));
+        }
+
+        private void remove(Long menuId) {
+            Document document = documents.remove(menuId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms.keySet()) {
+                postings.computeIfPresent(term, (t, ids) -> {
+                    ids.remove(menuId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        private Map<Long, Integer> match(String token) {
+            Map<Long, Integer> scores = new HashMap<>();
+            // Prefix match: every indexed term that starts with the token
+            for (Map.Entry<String, Map<Long, Integer>> posting
+                    : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                int multiplier = posting.getKey().length() == token.length() ? 2 : 1;
+                for (Map.Entry<Long, Integer> hit : posting.getValue().entrySet()) {
+                    scores.merge(hit.getKey(), hit.getValue() * multiplier, Math::max);
+                }
+            }
+            return scores;
+        }
+    }
+
+    private static final class Document {
+        private final IndexedMenu menu;
+        private final String normalizedName;
+        private final Map<String, Integer> terms = new HashMap<>();
+
+        private Document(IndexedMenu menu) {
+            this.menu = menu;
+            List<String> nameTokens = tokenize(menu.name());
+            this.normalizedName = String.join(" ", nameTokens);
+
+            addTerms(tokenize(menu.description()), DESCRIPTION_WEIGHT);
+            addTerms(tokenize(menu.categoryName()), CATEGORY_WEIGHT);
+            addTerms(nameTokens, NAME_WEIGHT);
+        }
+
+        private void addTerms(List<String> tokens, int weight) {
+            for (String token : tokens) {
+                terms.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package menuorderingapp.project.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One JSON object per line, keyed by column name. Amounts stay exact decimals and timestamps are local
+ * date-times, matching the CSV and XLSX text.
+ */
+public class NdjsonTableWriter implements TableWriter {
+
+    private static final JsonFactory JSON = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JsonGenerator generator;
+    private final String[] columns;
+
+    public NdjsonTableWriter(OutputStream out, List<String> columns) throws IOException {
+        this.generator = JSON.createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.columns = columns.toArray(String[]::new);
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length && i < values.length; i++) {
+            generator.writeFieldName(columns[i]);
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof BigDecimal decimal) {
+                generator.writeNumber(decimal);
+            } else if (value instanceof Integer || value instanceof Long) {
+                generator.writeNumber(((Number) value).longValue());
+            } else {
+                generator.writeString(TableWriter.text(value));
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
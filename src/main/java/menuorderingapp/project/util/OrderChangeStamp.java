@@ -0,0 +1,36 @@
+package menuorderingapp.project.util;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * When an in-memory view last saw an order change. Stamps taken from events carry the full clock; stamps
+ * read back from the orders table only keep what its TIMESTAMP columns store, which MySQL rounds to the
+ * second.
+ */
+public record OrderChangeStamp(LocalDateTime at, boolean fromDatabase) {
+
+    public static OrderChangeStamp ofEvent(LocalDateTime at) {
+        return new OrderChangeStamp(at, false);
+    }
+
+    public static OrderChangeStamp ofDatabase(LocalDateTime at) {
+        return new OrderChangeStamp(at, true);
+    }
+
+    // Events compare at full precision. Against a database row both sides are compared as stored, and a
+    // tie keeps the current state, so a row read before an event committed cannot undo that event.
+    public boolean isReplacedBy(OrderChangeStamp next) {
+        if (at == null || next.at == null) {
+            return true;
+        }
+        if (!fromDatabase && !next.fromDatabase) {
+            return next.at.isAfter(at);
+        }
+        return stored(next.at).isAfter(stored(at));
+    }
+
+    private static LocalDateTime stored(LocalDateTime value) {
+        return value.plusNanos(500_000_000).truncatedTo(ChronoUnit.SECONDS);
+    }
+}
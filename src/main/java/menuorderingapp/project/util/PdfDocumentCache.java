@@ -0,0 +1,101 @@
+package menuorderingapp.project.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Rendered documents on local disk, addressed by a hash of their content. Entries never change once written,
+ * so a hit is a plain file copy and there is nothing to invalidate.
+ */
+@Component
+public class PdfDocumentCache {
+
+    private final Path directory;
+
+    public PdfDocumentCache(@Value("${app.pdf.cache-dir:${java.io.tmpdir}/menu-ordering/pdf}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Copies the cached document for {@code key} to {@code out}; on a miss the renderer writes to {@code out}
+     * and to a temporary file at the same time, which is moved into place once rendering succeeds.
+     */
+    public void write(String key, DocumentWriter renderer, OutputStream out) throws IOException {
+        Path file = pathOf(key);
+        if (Files.isRegularFile(file)) {
+            Files.copy(file, out);
+            return;
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+        try {
+            try (OutputStream disk = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                renderer.writeTo(new TeeOutputStream(disk, out));
+            }
+            // Concurrent renders of the same key produce the same content, so whichever move lands last is fine
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public boolean contains(String key) {
+        return Files.isRegularFile(pathOf(key));
+    }
+
+    private Path pathOf(String key) {
+        if (!key.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid document key: " + key);
+        }
+        // Fan out on the last two hash characters to keep directories small
+        String shard = key.length() > 2 ? key.substring(key.length() - 2) : key;
+        return directory.resolve(shard).resolve(key + ".pdf");
+    }
+
+    @FunctionalInterface
+    public interface DocumentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        private TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+
+        // Both streams belong to the caller
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package menuorderingapp.project.util;
+
+import menuorderingapp.project.model.dto.DailySales;
+import menuorderingapp.project.model.dto.InvoiceDocument;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders invoices and sales reports as PDF straight into the caller's stream.
+ * Fonts are the standard 14 Type 1 faces: their metrics are parsed once per process and nothing is embedded.
+ */
+@Component
+public class PdfDocumentRenderer {
+
+    // Bump when the invoice layout changes so cached invoice PDFs are rendered again
+    public static final String INVOICE_LAYOUT_VERSION = "invoice-1";
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DecimalFormatSymbols AMOUNT_SYMBOLS = DecimalFormatSymbols.getInstance(Locale.forLanguageTag("id-ID"));
+
+    private static final Layout INVOICE = new Layout(PDRectangle.A5, 36, 8.5f, 12,
+            new Column[]{new Column("Item", 0, false), new Column("Qty", 160, true),
+                    new Column("Price", 200, true), new Column("Subtotal", 270, true)});
+    private static final Layout REPORT = new Layout(PDRectangle.A4, 42, 9, 13,
+            new Column[]{new Column("Date", 0, false), new Column("Orders", 200, true), new Column("Revenue", 300, true)});
+
+    private final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    private final String businessName;
+
+    public PdfDocumentRenderer(@Value("${app.name:ChopChop Restaurant}") String businessName) {
+        this.businessName = businessName;
+    }
+
+    public void renderInvoice(InvoiceDocument invoice, OutputStream out) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.getDocumentInformation().setTitle("Invoice " + invoice.getInvoiceNumber());
+            Pages pages = new Pages(document, INVOICE);
+
+            pages.text(bold, 14, 0, businessName);
+            pages.rightText(bold, 14, INVOICE.width(), "INVOICE");
+            pages.advance(20);
+            pages.field("Invoice", invoice.getInvoiceNumber());
+            pages.field("Date", invoice.getCreatedAt() != null ? invoice.getCreatedAt().format(DATE_TIME) : "-");
+            pages.field("Order", invoice.getOrderNumber());
+            pages.field("Customer", invoice.getCustomerName());
+            pages.field("Cashier", invoice.getCashierName());
+            pages.field("Payment", invoice.getPaymentMethod() != null ? invoice.getPaymentMethod().name() : "-");
+            pages.advance(6);
+
+            pages.tableHeader();
+            DecimalFormat amounts = amountFormat();
+            for (InvoiceDocument.Line line : invoice.getLines()) {
+                pages.row(line.name(), String.valueOf(line.quantity()),
+                        amounts.format(line.price()), amounts.format(line.subtotal()));
+            }
+            pages.rule();
+
+            pages.total("Subtotal", amounts.format(invoice.getTotalAmount()), regular);
+            pages.total("Tax", amounts.format(invoice.getTaxAmount()), regular);
+            pages.total("Total", amounts.format(invoice.getFinalAmount()), bold);
+            pages.finish();
+
+            save(document, out);
+        }
+    }
+
+    public void renderSalesReport(Map<String, Object> report, OutputStream out) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.getDocumentInformation().setTitle("Sales Report");
+            Pages pages = new Pages(document, REPORT);
+            DecimalFormat amounts = amountFormat();
+
+            pages.text(bold, 16, 0, businessName + " - Sales Report");
+            pages.advance(22);
+            pages.field("Period", formatDate(report.get("startDate")) + " - " + formatDate(report.get("endDate")));
+            pages.field("Generated", LocalDateTime.now().format(DATE_TIME));
+            pages.advance(6);
+            pages.field("Total Revenue", amounts.format(number(report.get("totalRevenue"))));
+            pages.field("Total Orders", String.valueOf(number(report.get("totalOrders"))));
+            pages.field("Average Order", amounts.format(number(report.get("averageOrderValue"))));
+
+            if (report.get("revenueByPaymentMethod") instanceof Map<?, ?> byMethod && !byMethod.isEmpty()) {
+                pages.advance(6);
+                for (Map.Entry<?, ?> entry : byMethod.entrySet()) {
+                    pages.field(String.valueOf(entry.getKey()), amounts.format(number(entry.getValue())));
+                }
+            }
+
+            if (report.get("dailySales") instanceof Collection<?> days && !days.isEmpty()) {
+                pages.advance(10);
+                pages.tableHeader();
+                for (Object row : days) {
+                    if (row instanceof DailySales day && day.orderCount() > 0) {
+                        pages.row(day.date().format(DATE), String.valueOf(day.orderCount()), amounts.format(day.revenue()));
+                    }
+                }
+                pages.rule();
+            }
+            pages.finish();
+
+            save(document, out);
+        }
+    }
+
+    // PDFBox closes the stream it saves to; the caller owns it, so only flush
+    private void save(PDDocument document, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(StreamUtils.nonClosing(out), 16 * 1024);
+        document.save(buffered, CompressParameters.NO_COMPRESSION);
+        buffered.flush();
+    }
+
+    private static DecimalFormat amountFormat() {
+        return new DecimalFormat("#,##0.00", AMOUNT_SYMBOLS);
+    }
+
+    private static Number number(Object value) {
+        return value instanceof Number n ? n : BigDecimal.ZERO;
+    }
+
+    private static String formatDate(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATE);
+        }
+        return value != null ? value.toString() : "-";
+    }
+
+    private record Column(String label, float x, boolean rightAligned) {
+    }
+
+    private record Layout(PDRectangle pageSize, float margin, float fontSize, float lineHeight, Column[] columns) {
+        float width() {
+            return pageSize.getWidth() - 2 * margin;
+        }
+
+        // Right-aligned columns end where the next column starts (or at the right margin)
+        float columnEnd(int index) {
+            return index + 1 < columns.length ? columns[index + 1].x() - 8 : width();
+        }
+    }
+
+    /**
+     * Writes lines top to bottom, starting a new page (and repeating the table header) when one fills up.
+     */
+    private final class Pages {
+        private final PDDocument document;
+        private final Layout layout;
+        private PDPageContentStream content;
+        private float y;
+        private boolean inTable;
+
+        Pages(PDDocument document, Layout layout) throws IOException {
+            this.document = document;
+            this.layout = layout;
+            newPage();
+        }
+
+        void text(PDType1Font font, float size, float x, String value) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(layout.margin() + x, y);
+            content.showText(printable(value));
+            content.endText();
+        }
+
+        void rightText(PDType1Font font, float size, float right, String value) throws IOException {
+            String printable = printable(value);
+            text(font, size, right - font.getStringWidth(printable) / 1000 * size, printable);
+        }
+
+        void field(String label, String value) throws IOException {
+            ensureSpace();
+            text(bold, layout.fontSize(), 0, label);
+            text(regular, layout.fontSize(), 90, value);
+            advance(layout.lineHeight());
+        }
+
+        void tableHeader() throws IOException {
+            ensureSpace();
+            inTable = true;
+            writeColumns(bold, columnLabels());
+            advance(layout.lineHeight());
+            rule();
+        }
+
+        void row(String... values) throws IOException {
+            if (y - layout.lineHeight() < layout.margin()) {
+                newPage();
+                if (inTable) {
+                    tableHeader();
+                }
+            }
+            writeColumns(regular, values);
+            advance(layout.lineHeight());
+        }
+
+        void rule() throws IOException {
+            // Just under the baseline of the line written last
+            float lineY = y + layout.lineHeight() - 3;
+            content.setLineWidth(0.5f);
+            content.moveTo(layout.margin(), lineY);
+            content.lineTo(layout.margin() + layout.width(), lineY);
+            content.stroke();
+            advance(3);
+        }
+
+        void total(String label, String value, PDType1Font font) throws IOException {
+            ensureSpace();
+            Column[] columns = layout.columns();
+            text(font, layout.fontSize(), columns[columns.length - 2].x(), label);
+            rightText(font, layout.fontSize(), layout.width(), value);
+            advance(layout.lineHeight());
+        }
+
+        void advance(float amount) {
+            y -= amount;
+        }
+
+        void finish() throws IOException {
+            content.close();
+        }
+
+        private void writeColumns(PDType1Font font, String[] values) throws IOException {
+            Column[] columns = layout.columns();
+            for (int i = 0; i < columns.length && i < values.length; i++) {
+                String fitted = fit(font, values[i], layout.columnEnd(i) - columns[i].x());
+                if (columns[i].rightAligned()) {
+                    rightText(font, layout.fontSize(), layout.columnEnd(i), fitted);
+                } else {
+                    text(font, layout.fontSize(), columns[i].x(), fitted);
+                }
+            }
+        }
+
+        private String[] columnLabels() {
+            Column[] columns = layout.columns();
+            String[] labels = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                labels[i] = columns[i].label();
+            }
+            return labels;
+        }
+
+        private void ensureSpace() throws IOException {
+            if (y - layout.lineHeight() < layout.margin()) {
+                newPage();
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(layout.pageSize());
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            y = layout.pageSize().getHeight() - layout.margin() - layout.lineHeight();
+        }
+
+        private String fit(PDType1Font font, String value, float maxWidth) throws IOException {
+            String printable = printable(value);
+            if (width(font, printable) <= maxWidth) {
+                return printable;
+            }
+            int end = printable.length();
+            while (end > 0 && width(font, printable.substring(0, end) + "...") > maxWidth) {
+                end--;
+            }
+            return printable.substring(0, end) + "...";
+        }
+
+        private float width(PDType1Font font, String value) throws IOException {
+            return font.getStringWidth(value) / 1000 * layout.fontSize();
+        }
+    }
+
+    // The standard fonts use WinAnsiEncoding; anything outside Latin-1 prints as '?'
+    private static String printable(String value) {
+        if (value == null || value.isEmpty()) {
+            return "-";
+        }
+        StringBuilder out = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean ok = (c >= 0x20 && c <= 0x7e) || (c >= 0xa0 && c <= 0xff);
+            if (!ok && out == null) {
+                out = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (out != null) {
+                out.append(ok ? c : (Character.isWhitespace(c) ? ' ' : '?'));
+            }
+        }
+        return out != null ? out.toString() : value;
+    }
+}
@@ -12,15 +12,18 @@ import java.util.Base64;
 
 public class QRCodeGenerator {
 
-    public String generateQRCodeImage(String text) throws WriterException, IOException {
+    public byte[] generateQRCodePng(String text) throws WriterException, IOException {
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
         BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE,
                 Constants.QR_CODE_WIDTH, Constants.QR_CODE_HEIGHT);
 
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, Constants.QR_CODE_FORMAT, outputStream);
+        return outputStream.toByteArray();
+    }
 
-        byte[] qrCodeBytes = outputStream.toByteArray();
+    public String generateQRCodeImage(String text) throws WriterException, IOException {
+        byte[] qrCodeBytes = generateQRCodePng(text);
         return "data:image/png;base64," + Base64.getEncoder().encodeToString(qrCodeBytes);
     }
 
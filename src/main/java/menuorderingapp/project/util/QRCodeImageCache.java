@@ -0,0 +1,112 @@
+package menuorderingapp.project.util;
+
+import com.google.zxing.WriterException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rendered QR code PNGs keyed by their payload (order number + amount), least recently used evicted first.
+ */
+@Component
+public class QRCodeImageCache {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private final QRCodeGenerator generator = new QRCodeGenerator();
+    private final Map<String, QRCodeImage> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QRCodeImage> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public QRCodeImage get(String payload) {
+        synchronized (entries) {
+            QRCodeImage cached = entries.get(payload);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Rendered outside the lock; two threads racing on the same payload produce identical bytes
+        QRCodeImage rendered = render(payload);
+        synchronized (entries) {
+            entries.putIfAbsent(payload, rendered);
+            return entries.get(payload);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private QRCodeImage render(String payload) {
+        try {
+            byte[] png = generator.generateQRCodePng(payload);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(png);
+            String tag = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+            return new QRCodeImage(png, tag);
+
+        } catch (WriterException | IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to generate QR code", e);
+        }
+    }
+
+    public static final class QRCodeImage {
+        private final byte[] png;
+        private final String version;
+        private volatile String dataUri;
+
+        private QRCodeImage(byte[] png, String version) {
+            this.png = png;
+            this.version = version;
+        }
+
+        public byte[] getPng() {
+            return png;
+        }
+
+        // Content hash, usable as a cache-busting URL parameter
+        public String getVersion() {
+            return version;
+        }
+
+        public String getETag() {
+            return "\"" + version + "\"";
+        }
+
+        public String getDataUri() {
+            String uri = dataUri;
+            if (uri == null) {
+                uri = "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
+                dataUri = uri;
+            }
+            return uri;
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(getETag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
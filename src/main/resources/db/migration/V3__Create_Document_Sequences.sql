@@ -0,0 +1,6 @@
+-- Block-allocated counters for order and invoice numbers, one row per prefix and day (e.g. ORD-20251018)
+CREATE TABLE document_sequences
+(
+    name       VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
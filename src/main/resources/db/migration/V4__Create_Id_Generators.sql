@@ -0,0 +1,19 @@
+-- Pooled id blocks for the high-volume tables so Hibernate can batch their inserts.
+-- Hibernate uses the pooled-lo optimizer: each row holds the first id of the next block, and that value is handed out itself, so rows are seeded with MAX(id) + 1.
+CREATE TABLE id_generators
+(
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val      BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 1 FROM orders;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 1 FROM order_items;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'invoices', COALESCE(MAX(id), 0) + 1 FROM invoices;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'menu_audit_log', COALESCE(MAX(id), 0) + 1 FROM menu_audit_log;
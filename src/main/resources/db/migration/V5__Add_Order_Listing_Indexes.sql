@@ -0,0 +1,14 @@
+-- Composite indexes for the keyset order listing: each filter column followed by the
+-- (created_at, id) sort key, so a filtered page is a single index range scan.
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id);
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at, id);
+CREATE INDEX idx_orders_payment_status_created_at ON orders (payment_status, created_at, id);
+CREATE INDEX idx_orders_payment_method_created_at ON orders (payment_method, created_at, id);
+CREATE INDEX idx_orders_order_type_created_at ON orders (order_type, created_at, id);
+CREATE INDEX idx_orders_cashier_created_at ON orders (cashier_id, created_at, id);
+
+-- The single-column indexes are now left prefixes of the composites above
+DROP INDEX idx_orders_created_at ON orders;
+DROP INDEX idx_orders_status ON orders;
+DROP INDEX idx_orders_payment_status ON orders;
+DROP INDEX idx_orders_cashier_id ON orders;
@@ -0,0 +1,20 @@
+-- Paid sales pre-aggregated per day, kept current as orders are paid or refunded.
+-- Keyed by the order's creation date, like the reports; cashier_id 0 stands for self-service orders.
+CREATE TABLE daily_sales_rollup
+(
+    sales_date     DATE           NOT NULL,
+    payment_method VARCHAR(20)    NOT NULL,
+    cashier_id     BIGINT         NOT NULL,
+    order_count    BIGINT         NOT NULL DEFAULT 0,
+    revenue        DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (sales_date, payment_method, cashier_id)
+);
+
+CREATE TABLE daily_menu_rollup
+(
+    sales_date DATE           NOT NULL,
+    menu_id    BIGINT         NOT NULL,
+    quantity   BIGINT         NOT NULL DEFAULT 0,
+    revenue    DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (sales_date, menu_id)
+);
@@ -0,0 +1,9 @@
+-- Customer carts as menu ids and quantities ("12:2,15:1"); names and prices come from the catalog.
+-- Only used when app.cart.persistent=true, otherwise carts live in memory.
+CREATE TABLE carts
+(
+    cart_id    VARCHAR(64)   NOT NULL PRIMARY KEY,
+    items      VARCHAR(2000) NOT NULL,
+    updated_at TIMESTAMP     NOT NULL,
+    INDEX idx_carts_updated_at (updated_at)
+);
@@ -0,0 +1,8 @@
+-- Pending QR payments live on the order row, so a provider callback can be matched on any node and
+-- after a restart. The reference is kept once paid; repeated callbacks are rejected by payment_status.
+ALTER TABLE orders
+    ADD COLUMN payment_reference    VARCHAR(64),
+    ADD COLUMN payment_requested_by BIGINT,
+    ADD COLUMN payment_requested_at TIMESTAMP NULL;
+
+CREATE UNIQUE INDEX uk_orders_payment_reference ON orders (payment_reference);
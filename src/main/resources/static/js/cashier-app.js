@@ -167,9 +167,9 @@ class CashierApp {
         });
     }
 
-    async loadDashboardData() {
+    async loadDashboardData(url = '/cashier/api/dashboard/stats') {
         try {
-            const response = await fetch('/cashier/api/dashboard/stats');
+            const response = await fetch(url);
             const data = await response.json();
 
             if (data.success) {
@@ -181,7 +181,56 @@ class CashierApp {
         }
     }
 
+    // Full state at a known sequence, after a missed event or a reconnect
+    async resyncDashboard() {
+        if (this.dashboardResync) return this.dashboardResync;
+        this.dashboardResync = this.loadDashboardData('/cashier/api/dashboard/resync')
+            .then(() => this.reloadOrdersPage())
+            .finally(() => this.dashboardResync = null);
+        return this.dashboardResync;
+    }
+
     updateDashboard(stats) {
+        this.dashboardSequence = stats.sequence;
+        this.updateDashboardCounters(stats);
+
+        // Update recent orders table
+        this.recentOrders = stats.recentOrders || [];
+        this.updateRecentOrders(this.recentOrders);
+    }
+
+    // Events arrive in sequence; counters are absolute, so only a gap needs a round trip
+    applyDashboardEvent(event) {
+        if (this.dashboardSequence != null) {
+            if (event.sequence <= this.dashboardSequence) return;
+            if (event.sequence > this.dashboardSequence + 1) {
+                this.resyncDashboard();
+                return;
+            }
+        }
+        this.dashboardSequence = event.sequence;
+        this.updateDashboardCounters(event.counters);
+        this.applyOrderFieldsEvent(event);
+    }
+
+    // History views patch the rows they already show; the active view follows /topic/orders instead
+    applyOrderFieldsEvent(event) {
+        if (!event.orderId || !this.allOrders || !document.getElementById('ordersTableBody')) return;
+        if (!this.orderFilter || this.orderFilter.filterType === 'active') return;
+
+        const index = this.allOrders.findIndex(o => o.id === event.orderId);
+        if (index < 0) return;
+        this.allOrders[index] = {
+            ...this.allOrders[index],
+            status: event.status,
+            paymentStatus: event.paymentStatus,
+            paymentMethod: event.paymentMethod || this.allOrders[index].paymentMethod,
+            total: event.total
+        };
+        this.updateOrdersTable(this.allOrders);
+    }
+
+    updateDashboardCounters(stats) {
         /// Update revenue
         const revenueElement = document.getElementById('todayRevenue');
         if (revenueElement) {
@@ -204,9 +253,6 @@ class CashierApp {
             availableMenusElement.textContent = stats.availableMenus || '0';
         }
 
-        // Update recent orders table
-        this.updateRecentOrders(stats.recentOrders);
-
         // Update last update time
         const lastUpdateElement = document.getElementById('lastUpdate');
         if (lastUpdateElement) {
@@ -404,7 +450,10 @@ class CashierApp {
 
             const data = await response.json();
 
-            if (data.success) {
+            if (data.success && data.data && data.data.status === 'PENDING') {
+                // QR payments are confirmed asynchronously; the order list updates when they are
+                this.showToast('Waiting for QR payment confirmation', 'info');
+            } else if (data.success) {
                 this.showToast('Payment processed successfully', 'success');
                 this.loadDashboardData();
 
@@ -433,58 +482,151 @@ class CashierApp {
         // Setup WebSocket order update handler
         window.orderUpdateHandler = (orderUpdate) => {
             this.showToast(`Order ${orderUpdate.orderNumber} updated: ${orderUpdate.status}`, 'info');
-            this.loadDashboardData(); // Refresh
+            this.applyActiveOrderEvent(orderUpdate);
+            this.applyRecentOrderEvent(orderUpdate);
         };
     }
 
+    // The dashboard lists open orders, so the same board events keep it current
+    applyRecentOrderEvent(event) {
+        if (!this.recentOrders || !document.getElementById('recentOrdersBody')) return;
+
+        const index = this.recentOrders.findIndex(o => o.id === event.orderId);
+        if (event.type === 'UPSERT' && event.order) {
+            if (index >= 0) {
+                this.recentOrders[index] = event.order;
+            } else {
+                this.recentOrders.unshift(event.order);
+            }
+        } else if (event.type === 'REMOVE' && index >= 0) {
+            this.recentOrders.splice(index, 1);
+        }
+        this.updateRecentOrders(this.recentOrders);
+    }
+
+    // Patch the loaded order list in place from an active order board event
+    applyActiveOrderEvent(event) {
+        if (!this.allOrders || !document.getElementById('ordersTableBody')) return;
+
+        const index = this.allOrders.findIndex(o => o.id === event.orderId);
+        if (event.type === 'UPSERT' && event.order) {
+            if (index >= 0) {
+                this.allOrders[index] = event.order;
+            } else if (this.orderFilter.filterType === 'active') {
+                this.allOrders.unshift(event.order);
+            }
+        } else if (event.type === 'REMOVE' && index >= 0) {
+            if (this.orderFilter.filterType === 'active') {
+                this.allOrders.splice(index, 1);
+            } else {
+                this.allOrders[index] = {...this.allOrders[index], status: event.status};
+            }
+        }
+
+        const filtered = this.applyOrderFilters(this.allOrders,
+            this.orderFilter.statusFilter, this.orderFilter.paymentFilter);
+        this.updateOrdersTable(filtered);
+        this.updateOrderCount(filtered.length);
+    }
+
+    // Called on dashboard refresh; the active list is already kept current by order events
+    reloadOrdersPage() {
+        if (this.orderFilter && this.orderFilter.filterType === 'active') return;
+        this.loadOrdersPage();
+    }
+
     // Orders Page Functions
-    async loadOrdersPage(filterType = 'today', customDate = null, statusFilter = 'all', paymentFilter = 'all') {
+    async loadOrdersPage(filterType = null, customDate = null, statusFilter = null, paymentFilter = null) {
         const ordersTableBody = document.getElementById('ordersTableBody');
         if (!ordersTableBody) return;
 
-        try {
-            let apiUrl = '/cashier/api/orders/all';
+        // Calls without arguments reload with the last applied filter
+        const lastFilter = this.orderFilter || {filterType: 'active', customDate: null, statusFilter: 'all', paymentFilter: 'all'};
+        filterType = filterType || lastFilter.filterType;
+        customDate = customDate || lastFilter.customDate;
+        statusFilter = statusFilter || lastFilter.statusFilter;
+        paymentFilter = paymentFilter || lastFilter.paymentFilter;
+        this.orderFilter = {filterType, customDate, statusFilter, paymentFilter};
 
-            // Determine which API endpoint to use based on date filter
-            if (filterType === 'today') {
-                apiUrl = '/cashier/api/orders/today';
-            } else if (filterType === 'custom' && customDate) {
-                apiUrl = `/cashier/api/orders/by-date?date=${customDate}`;
+        try {
+            if (filterType === 'active') {
+                // Open orders come from the in-memory board and are filtered client-side
+                const response = await fetch('/cashier/api/orders/active');
+                const data = await response.json();
+
+                if (data.success && data.data) {
+                    this.allOrders = data.data;
+                    this.nextOrderCursor = null;
+
+                    const filteredOrders = this.applyOrderFilters(data.data, statusFilter, paymentFilter);
+                    this.updateOrdersTable(filteredOrders);
+                    this.updateOrderCount(filteredOrders.length);
+                } else {
+                    console.error('API returned no data or failed:', data);
+                }
+            } else {
+                // History is filtered server-side and loaded one page at a time
+                this.allOrders = [];
+                this.nextOrderCursor = null;
+                await this.loadMoreOrders();
             }
+        } catch (error) {
+            console.error('Error loading orders:', error);
+        }
+        this.updateLoadMoreButton();
 
-            console.log('Loading orders from:', apiUrl);
-            console.log('Filter params:', {filterType, customDate, statusFilter, paymentFilter});
-
-            const response = await fetch(apiUrl);
-            const data = await response.json();
+        await this.loadAvailableMenus();
+    }
 
-            console.log('Orders API response:', data);
+    buildOrderPageUrl(cursor) {
+        const {filterType, customDate, statusFilter, paymentFilter} = this.orderFilter;
+        const params = new URLSearchParams({size: '50'});
 
-            if (data.success && data.data) {
-                console.log(`Received ${data.data.length} orders from API`);
+        if (filterType === 'today') {
+            params.set('date', TimezoneUtils.toDateString());
+        } else if (filterType === 'custom' && customDate) {
+            params.set('date', customDate);
+        }
+        if (statusFilter && statusFilter !== 'all') {
+            params.set('status', statusFilter);
+        }
+        if (paymentFilter === 'PAID' || paymentFilter === 'PENDING') {
+            params.set('paymentStatus', paymentFilter);
+        } else if (paymentFilter === 'CASH' || paymentFilter === 'QR_CODE') {
+            params.set('paymentMethod', paymentFilter);
+        }
+        if (cursor) {
+            params.set('cursor', cursor);
+        }
 
-                // Debug: Log the first order's structure
-                if (data.data.length > 0) {
-                    console.log('Sample order structure:', data.data[0]);
-                }
+        return `/cashier/api/orders/page?${params.toString()}`;
+    }
 
-                // Store all orders for filtering
-                this.allOrders = data.data;
+    async loadMoreOrders() {
+        try {
+            const response = await fetch(this.buildOrderPageUrl(this.nextOrderCursor));
+            const data = await response.json();
 
-                // Apply status and payment filters
-                let filteredOrders = this.applyOrderFilters(data.data, statusFilter, paymentFilter);
-                console.log(`After filtering: ${filteredOrders.length} orders`);
+            if (data.success && data.data) {
+                this.allOrders = (this.allOrders || []).concat(data.data.items);
+                this.nextOrderCursor = data.data.nextCursor;
 
-                this.updateOrdersTable(filteredOrders);
-                this.updateOrderCount(filteredOrders.length);
+                this.updateOrdersTable(this.allOrders);
+                this.updateOrderCount(this.allOrders.length);
             } else {
                 console.error('API returned no data or failed:', data);
             }
         } catch (error) {
             console.error('Error loading orders:', error);
         }
+        this.updateLoadMoreButton();
+    }
 
-        await this.loadAvailableMenus();
+    updateLoadMoreButton() {
+        const button = document.getElementById('loadMoreOrders');
+        if (button) {
+            button.style.display = this.nextOrderCursor ? 'inline-block' : 'none';
+        }
     }
 
     applyOrderFilters(orders, statusFilter, paymentFilter) {
@@ -518,6 +660,11 @@ class CashierApp {
 
         if (!dateFilterType) return;
 
+        const loadMoreButton = document.getElementById('loadMoreOrders');
+        if (loadMoreButton) {
+            loadMoreButton.addEventListener('click', () => this.loadMoreOrders());
+        }
+
         // Show/hide custom date input based on selection
         dateFilterType.addEventListener('change', () => {
             if (dateFilterType.value === 'custom') {
@@ -549,7 +696,12 @@ class CashierApp {
                 const status = statusFilter.value;
                 const payment = paymentFilter ? paymentFilter.value : 'all';
 
-                // If we have loaded orders, just refilter them
+                // Paged history is filtered server-side; the active list is refiltered in place
+                if (this.orderFilter && this.orderFilter.filterType !== 'active') {
+                    this.loadOrdersPage(this.orderFilter.filterType, this.orderFilter.customDate, status, payment);
+                    return;
+                }
+                this.orderFilter = {...this.orderFilter, statusFilter: status, paymentFilter: payment};
                 if (this.allOrders) {
                     const filtered = this.applyOrderFilters(this.allOrders, status, payment);
                     this.updateOrdersTable(filtered);
@@ -565,7 +717,12 @@ class CashierApp {
                 const status = statusFilter ? statusFilter.value : 'all';
                 const payment = paymentFilter.value;
 
-                // If we have loaded orders, just refilter them
+                // Paged history is filtered server-side; the active list is refiltered in place
+                if (this.orderFilter && this.orderFilter.filterType !== 'active') {
+                    this.loadOrdersPage(this.orderFilter.filterType, this.orderFilter.customDate, status, payment);
+                    return;
+                }
+                this.orderFilter = {...this.orderFilter, statusFilter: status, paymentFilter: payment};
                 if (this.allOrders) {
                     const filtered = this.applyOrderFilters(this.allOrders, status, payment);
                     this.updateOrdersTable(filtered);
@@ -1141,8 +1298,8 @@ class CashierApp {
 
     async showPaymentModal(orderNumber) {
         try {
-            // Fetch order details
-            const response = await fetch(`/cashier/api/orders/all`);
+            // Fetch order details (only open orders can be paid)
+            const response = await fetch(`/cashier/api/orders/active`);
             const data = await response.json();
 
             if (data.success && data.data) {
@@ -1230,7 +1387,9 @@ class CashierApp {
 
             if (data.success) {
                 // Show change for cash payments
-                if (paymentMethod === 'CASH' && data.data.change > 0) {
+                if (data.data.status === 'PENDING') {
+                    this.showToast('Menunggu konfirmasi pembayaran QR...', 'info');
+                } else if (paymentMethod === 'CASH' && data.data.change > 0) {
                     this.showToast(`Pembayaran berhasil! Kembalian: Rp ${data.data.change.toLocaleString('id-ID')}`, 'success');
                 } else {
                     this.showToast('Pembayaran berhasil!', 'success');
@@ -1302,59 +1461,34 @@ class CashierApp {
 
     async loadReportFromOrders() {
         try {
-            console.log('Loading report from orders...');
-            const response = await fetch('/cashier/api/orders/all');
-            const data = await response.json();
+            // Get date values from inputs
+            const startDateStr = document.getElementById('startDate').value;
+            const endDateStr = document.getElementById('endDate').value;
 
-            console.log('Orders data received:', data);
+            console.log('Loading report summary for:', startDateStr, 'to', endDateStr);
 
-            if (data.success && data.data) {
-                const orders = data.data;
-                console.log('Total orders in database:', orders.length);
-
-                // Get date values from inputs
-                const startDateStr = document.getElementById('startDate').value;
-                const endDateStr = document.getElementById('endDate').value;
-
-                console.log('Date range (strings):', startDateStr, 'to', endDateStr);
-
-                // Filter orders by date range - compare only dates, not times
-                const filteredOrders = orders.filter(order => {
-                    // Extract date portion from order's createdAt
-                    let orderDateStr;
-
-                    if (Array.isArray(order.createdAt)) {
-                        // Handle array format: [2025, 11, 26, 15, 9, 10] -> "2025-11-26"
-                        const [year, month, day] = order.createdAt;
-                        orderDateStr = `${year}-${String(month).padStart(2, '0')}-${String(day).padStart(2, '0')}`;
-                    } else if (typeof order.createdAt === 'string') {
-                        // Handle string format: "2025-11-19T10:30:45" -> "2025-11-19"
-                        orderDateStr = order.createdAt.split('T')[0];
-                    } else {
-                        return false; // Skip invalid dates
-                    }
+            // Counted on the server for the selected days; no order list is downloaded
+            const params = new URLSearchParams({startDate: startDateStr, endDate: endDateStr});
+            const response = await fetch(`/cashier/api/reports/sales?${params.toString()}`);
+            const data = await response.json();
 
-                    // Compare as strings (YYYY-MM-DD format compares correctly)
-                    return orderDateStr >= startDateStr && orderDateStr <= endDateStr;
-                });
+            console.log('Report summary received:', data);
 
-                console.log('Filtered orders:', filteredOrders.length);
+            if (data.success && data.data) {
+                const summary = data.data;
+                const byMethod = summary.paidOrdersByPaymentMethod || {};
 
-                // Calculate totals
-                const totalOrders = filteredOrders.length;
-                const completedOrders = filteredOrders.filter(o => o.status === 'COMPLETED');
-                const cancelledOrders = filteredOrders.filter(o => o.status === 'CANCELLED');
-                const paidOrders = filteredOrders.filter(o => o.paymentStatus === 'PAID');
+                const totalOrders = summary.totalOrders || 0;
+                const cancelledOrders = summary.cancelledOrders || 0;
                 // Calculate revenue with 10% tax included
-                const totalRevenue = paidOrders.reduce((sum, order) => sum + ((order.total || 0) * 1.10), 0);
+                const totalRevenue = (summary.totalRevenue || 0) * 1.10;
 
                 // Payment method breakdown
-                const qrPayments = paidOrders.filter(o => o.paymentMethod === 'QR_CODE').length;
-                const cashPayments = paidOrders.filter(o => o.paymentMethod === 'CASH').length;
+                const qrPayments = byMethod.QR_CODE || 0;
+                const cashPayments = byMethod.CASH || 0;
 
-                console.log('Completed orders:', completedOrders.length);
-                console.log('Paid orders:', paidOrders.length);
-                console.log('Cancelled orders:', cancelledOrders.length);
+                console.log('Paid orders:', summary.paidOrders);
+                console.log('Cancelled orders:', cancelledOrders);
                 console.log('QR payments:', qrPayments);
                 console.log('Cash payments:', cashPayments);
                 console.log('Total revenue:', totalRevenue);
@@ -1385,7 +1519,7 @@ class CashierApp {
                 }
 
                 if (cancelledElement) {
-                    cancelledElement.textContent = cancelledOrders.length;
+                    cancelledElement.textContent = cancelledOrders;
                 }
 
                 // Load invoices for the same date range
@@ -1393,7 +1527,7 @@ class CashierApp {
 
                 this.showToast('Laporan berhasil di-generate', 'success');
             } else {
-                console.error('Failed to load orders:', data);
+                console.error('Failed to load report summary:', data);
             }
         } catch (error) {
             console.error('Error loading report:', error);
@@ -1958,7 +2092,7 @@ class CashierApp {
             if (result.success) {
                 const data = result.data;
                 this.showToast(
-                    `Berhasil! ${data.invoicesCreated} invoice baru dibuat, ${data.invoicesSkipped} sudah ada. Total pesanan terbayar: ${data.totalPaidOrders}`,
+                    `Berhasil! ${data.invoicesCreated} invoice baru dibuat, ${data.invoicesSkipped} sudah ada. Total pesanan terbayar: ${data.totalPaidOrders} (${(data.elapsedMillis / 1000).toFixed(1)} detik)`,
                     'success'
                 );
 
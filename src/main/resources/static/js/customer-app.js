@@ -637,7 +637,8 @@ class CustomerApp {
                 await this.generateQRCode(orderNumber);
                 this.displayOrderDetails(order);
 
-                // Start auto-checking payment status
+                // Payment result is pushed over WebSocket; polling stays as a fallback
+                this.subscribeToPaymentStatus(orderNumber);
                 this.startPaymentStatusChecker();
             } else {
                 this.showToast('Gagal memuat detail pesanan', 'error');
@@ -650,11 +651,12 @@ class CustomerApp {
 
     async generateQRCode(orderNumber) {
         try {
-            const response = await fetch(`/customer/api/orders/${orderNumber}/qr-code`);
+            // Binary PNG via a versioned, long-cached URL instead of an inline base64 copy
+            const response = await fetch(`/customer/api/orders/${orderNumber}/qr-code?inline=false`);
             const data = await response.json();
 
             if (data.success) {
-                document.getElementById('qrCodeImage').src = data.data.qrCodeImage;
+                document.getElementById('qrCodeImage').src = data.data.qrCodeUrl;
             }
         } catch (error) {
             console.error('Error generating QR code:', error);
@@ -720,6 +722,30 @@ class CustomerApp {
         }
     }
 
+    subscribeToPaymentStatus(orderNumber) {
+        if (typeof SockJS === 'undefined' || typeof Stomp === 'undefined') return;
+
+        const stompClient = Stomp.over(new SockJS('/ws'));
+        stompClient.debug = null;
+        stompClient.connect({}, () => {
+            stompClient.subscribe(`/topic/payments/${orderNumber}`, (message) => {
+                const payment = JSON.parse(message.body);
+                if (payment.status === 'PAID') {
+                    this.stopPaymentStatusChecker();
+                    stompClient.disconnect();
+                    this.showToast('Pembayaran berhasil! Pesanan Anda sedang diproses.', 'success');
+                    setTimeout(() => {
+                        window.location.href = '/customer/menu?payment=success';
+                    }, 2000);
+                } else if (payment.status === 'FAILED') {
+                    this.showToast('Pembayaran gagal. Silakan coba lagi.', 'error');
+                }
+            });
+        }, (error) => {
+            console.log('Payment status WebSocket unavailable, falling back to polling:', error);
+        });
+    }
+
     startPaymentStatusChecker() {
         this.paymentCheckInterval = setInterval(() => {
             this.checkPaymentStatus();
@@ -33,8 +33,7 @@
             });
 
             this.stompClient.subscribe('/topic/dashboard', (message) => {
-                console.log('Dashboard update received:', message.body);
-                this.handleDashboardUpdate();
+                this.handleDashboardEvent(JSON.parse(message.body));
             });
 
             this.stompClient.subscribe('/topic/notifications', (message) => {
@@ -44,18 +43,10 @@
         }
     }
 
-    handleDashboardUpdate() {
-        if (window.cashierApp && typeof window.cashierApp.loadDashboardData === 'function') {
-            console.log('Refreshing dashboard data...');
-            window.cashierApp.loadDashboardData();
-        }
-
-        if (window.cashierApp && typeof window.cashierApp.loadOrdersPage === 'function') {
-            const ordersTable = document.getElementById('ordersTableBody');
-            if (ordersTable) {
-                console.log('Refreshing orders data...');
-                window.cashierApp.loadOrdersPage();
-            }
+    // Typed events with the changed fields and new counters; the app patches its view without refetching
+    handleDashboardEvent(event) {
+        if (window.cashierApp && typeof window.cashierApp.applyDashboardEvent === 'function') {
+            window.cashierApp.applyDashboardEvent(event);
         }
     }
 
@@ -105,6 +96,10 @@
 
     onConnected() {
         console.log('WebSocket connected successfully');
+        // Events may have been missed while disconnected
+        if (window.cashierApp && typeof window.cashierApp.resyncDashboard === 'function') {
+            window.cashierApp.resyncDashboard();
+        }
     }
 
     disconnect() {
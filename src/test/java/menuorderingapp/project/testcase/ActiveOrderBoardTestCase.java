@@ -0,0 +1,152 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.ActiveOrderEvent;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.model.dto.OrderResponse;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.impl.ActiveOrderBoardImpl;
+import menuorderingapp.project.util.OrderChangeStamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Active Order Board Test")
+class ActiveOrderBoardTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private ActiveOrderBoardImpl activeOrderBoard;
+
+    @Test
+    @DisplayName("Task 1: Board is seeded once and served without further queries")
+    void testSeed_ServesFromMemory() {
+        LocalDateTime now = LocalDateTime.now();
+        when(orderRepository.findActiveWithItems(anyCollection())).thenReturn(List.of(
+                order(1L, Order.OrderStatus.PENDING, now.minusMinutes(5)),
+                order(2L, Order.OrderStatus.PREPARING, now)));
+
+        activeOrderBoard.seed();
+        List<OrderResponse> first = activeOrderBoard.getActiveOrders();
+        List<OrderResponse> second = activeOrderBoard.getActiveOrders();
+
+        assertThat(first).extracting(OrderResponse::getId).containsExactly(2L, 1L);
+        assertThat(second).hasSize(2);
+        verify(orderRepository, times(1)).findActiveWithItems(anyCollection());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Task 2: Changes publish a diff and leaving the active set removes the order")
+    void testOrderChanged_PublishesDiff() {
+        LocalDateTime now = LocalDateTime.now();
+
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.PENDING, now));
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.COMPLETED, now.plusSeconds(1)));
+
+        ArgumentCaptor<ActiveOrderEvent> events = ArgumentCaptor.forClass(ActiveOrderEvent.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/orders"), events.capture());
+        assertThat(events.getAllValues()).extracting(ActiveOrderEvent::getType)
+                .containsExactly(ActiveOrderEvent.Type.UPSERT, ActiveOrderEvent.Type.REMOVE);
+        assertThat(events.getAllValues().get(0).getOrder().getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(activeOrderBoard.getActiveOrders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Task 3: A stale update cannot bring back a cancelled order")
+    void testStaleUpdate_Ignored() {
+        LocalDateTime now = LocalDateTime.now();
+
+        activeOrderBoard.orderClosed(1L, Order.OrderStatus.CANCELLED, now);
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, now.minusSeconds(1)));
+
+        assertThat(activeOrderBoard.getActiveOrders()).isEmpty();
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/orders"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Task 4: Events from the same second keep their order, a late older one is ignored")
+    void testSameSecondEvents_FullPrecision() {
+        LocalDateTime second = LocalDateTime.now().withNano(0);
+
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.PREPARING, second.withNano(900_000_000)));
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, second.withNano(100_000_000)));
+
+        assertThat(activeOrderBoard.getActiveOrders()).extracting(OrderResponse::getStatus)
+                .containsExactly(Order.OrderStatus.PREPARING);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/orders"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Task 5: Database rows compare as stored, rounded to the second, and a tie keeps the current state")
+    void testDatabaseStamps_ComparedAsStored() {
+        LocalDateTime second = LocalDateTime.now().withNano(0);
+        OrderChangeStamp event = OrderChangeStamp.ofEvent(second.withNano(400_000_000));
+
+        assertThat(event.isReplacedBy(OrderChangeStamp.ofDatabase(second))).isFalse();
+        assertThat(OrderChangeStamp.ofDatabase(second).isReplacedBy(event)).isFalse();
+        assertThat(OrderChangeStamp.ofDatabase(second)
+                .isReplacedBy(OrderChangeStamp.ofEvent(second.withNano(600_000_000)))).isTrue();
+        assertThat(event.isReplacedBy(OrderChangeStamp.ofDatabase(second.plusSeconds(1)))).isTrue();
+
+        when(orderRepository.findActiveWithItems(anyCollection())).thenReturn(List.of(
+                order(1L, Order.OrderStatus.PENDING, second)));
+        activeOrderBoard.seed();
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, second.withNano(700_000_000)));
+
+        assertThat(activeOrderBoard.getActiveOrders()).extracting(OrderResponse::getStatus)
+                .containsExactly(Order.OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Task 6: A status or payment change updates the card on the board without reloading its lines")
+    void testHeaderChange_KeepsLines() {
+        LocalDateTime now = LocalDateTime.now();
+        activeOrderBoard.orderChanged(order(1L, Order.OrderStatus.PENDING, now));
+        List<?> lines = activeOrderBoard.getActiveOrders().get(0).getItems();
+
+        activeOrderBoard.orderChanged(new OrderChange(1L, "ORD-1", Order.OrderStatus.CONFIRMED,
+                Order.PaymentStatus.PAID, Order.PaymentMethod.CASH, BigDecimal.valueOf(25000), now, now.plusNanos(1)));
+        activeOrderBoard.orderChanged(new OrderChange(1L, "ORD-1", Order.OrderStatus.PENDING,
+                Order.PaymentStatus.PENDING, null, BigDecimal.valueOf(25000), now, now));
+
+        OrderResponse card = activeOrderBoard.getActiveOrders().get(0);
+        assertThat(card.getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(card.getPaymentStatus()).isEqualTo(Order.PaymentStatus.PAID);
+        assertThat(card.getItems()).isSameAs(lines);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/orders"), any(ActiveOrderEvent.class));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private Order order(Long id, Order.OrderStatus status, LocalDateTime updatedAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setStatus(status);
+        order.setPaymentStatus(Order.PaymentStatus.PENDING);
+        order.setOrderType(Order.OrderType.CUSTOMER_SELF);
+        order.setTotal(BigDecimal.valueOf(25000));
+        order.setCreatedAt(updatedAt);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+}
@@ -0,0 +1,139 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.StoredCart;
+import menuorderingapp.project.repository.StoredCartRepository;
+import menuorderingapp.project.service.impl.InMemoryCartStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cart Store Test")
+class CartStoreTestCase {
+
+    @Mock
+    private StoredCartRepository storedCartRepository;
+
+    @Test
+    @DisplayName("Task 1: Concurrent adds to the same cart are not lost")
+    void testConcurrentAdds_AllCounted() throws Exception {
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, false, 480);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            long menuId = i % 4;
+            futures.add(pool.submit(() -> store.add("cart-1", menuId, 1)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertThat(store.getItems("cart-1")).containsOnly(
+                Map.entry(0L, 100), Map.entry(1L, 100), Map.entry(2L, 100), Map.entry(3L, 100));
+        verifyNoInteractions(storedCartRepository);
+    }
+
+    @Test
+    @DisplayName("Task 2: Updating or removing a menu that is not in the cart reports nothing changed")
+    void testMissingItem_Empty() {
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, false, 480);
+        store.add("cart-1", 10L, 2);
+
+        assertThat(store.update("cart-1", 11L, 3)).isEmpty();
+        assertThat(store.remove("cart-2", 10L)).isEmpty();
+        assertThat(store.update("cart-1", 10L, 5)).contains(Map.of(10L, 5));
+        assertThat(store.remove("cart-1", 10L)).contains(Map.of());
+    }
+
+    @Test
+    @DisplayName("Task 3: Carts unchanged for longer than the TTL are evicted")
+    void testExpiredCart_Evicted() throws Exception {
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, false, 0);
+        store.add("cart-1", 10L, 2);
+        Thread.sleep(5);
+
+        store.evictExpired();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.getItems("cart-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Task 4: Persistent carts are written as compact menu id and quantity pairs")
+    void testPersistent_CompactWriteThrough() {
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, true, 480);
+
+        store.add("cart-1", 10L, 2);
+        store.add("cart-1", 12L, 1);
+        store.add("cart-1", 10L, 1);
+        store.clear("cart-1");
+
+        verify(storedCartRepository).upsert(eq("cart-1"), eq("10:2"), any());
+        verify(storedCartRepository).upsert(eq("cart-1"), eq("10:2,12:1"), any());
+        verify(storedCartRepository).upsert(eq("cart-1"), eq("10:3,12:1"), any());
+        verify(storedCartRepository).deleteById("cart-1");
+    }
+
+    @Test
+    @DisplayName("Task 5: A persistent cart missing from memory is loaded once from the carts table")
+    void testPersistent_LoadedOnMiss() {
+        StoredCart stored = new StoredCart();
+        stored.setCartId("cart-1");
+        stored.setItems("10:3,12:1");
+        stored.setUpdatedAt(LocalDateTime.now().minusMinutes(5));
+        when(storedCartRepository.findById("cart-1")).thenReturn(Optional.of(stored));
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, true, 480);
+
+        assertThat(store.getItems("cart-1")).containsExactly(Map.entry(10L, 3), Map.entry(12L, 1));
+        assertThat(store.getItems("cart-1")).hasSize(2);
+        verify(storedCartRepository, times(1)).findById("cart-1");
+    }
+
+    @Test
+    @DisplayName("Task 6: A slow write-through does not hold up other carts sharing its lock stripe")
+    void testPersistent_WriteOutsideStripeLock() throws Exception {
+        String slowCart = "cart-1";
+        String otherCart = "cart-2";
+        for (int i = 2; Math.floorMod(otherCart.hashCode(), 64) != Math.floorMod(slowCart.hashCode(), 64); i++) {
+            otherCart = "cart-" + i;
+        }
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(storedCartRepository).upsert(eq(slowCart), anyString(), any());
+        InMemoryCartStore store = new InMemoryCartStore(storedCartRepository, true, 480);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        Future<?> slow = pool.submit(() -> store.add(slowCart, 10L, 1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        String other = otherCart;
+        Future<Map<Long, Integer>> fast = pool.submit(() -> store.add(other, 11L, 2));
+
+        assertThat(fast.get(2, TimeUnit.SECONDS)).containsExactly(Map.entry(11L, 2));
+        assertThat(store.getItems(slowCart)).containsExactly(Map.entry(10L, 1));
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+}
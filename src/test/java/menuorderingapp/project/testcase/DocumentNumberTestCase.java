@@ -0,0 +1,156 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.service.impl.BlockDocumentNumberGenerator;
+import menuorderingapp.project.service.impl.DocumentSequenceAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Document Number Test")
+class DocumentNumberTestCase {
+
+    @Mock
+    private DocumentSequenceAllocator allocator;
+
+    // Stands in for the document_sequences table: one counter row per sequence name
+    private final Map<String, AtomicLong> sequenceRows = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(allocator.reserve(anyString(), anyInt())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            return sequenceRows.computeIfAbsent(name, n -> new AtomicLong(1)).getAndAdd(size);
+        });
+    }
+
+    @Test
+    @DisplayName("Task 1: Order and invoice numbers use a per-day prefix")
+    void testNumberFormat() {
+        BlockDocumentNumberGenerator generator = new BlockDocumentNumberGenerator(allocator, 10);
+
+        assertThat(generator.nextOrderNumber()).matches("ORD-\\d{8}-00001");
+        assertThat(generator.nextOrderNumber()).matches("ORD-\\d{8}-00002");
+        assertThat(generator.nextInvoiceNumber()).matches("INV-\\d{8}-00001");
+    }
+
+    @Test
+    @DisplayName("Task 2: Numbers come from reserved blocks, not one query per number")
+    void testBlockAllocation() {
+        BlockDocumentNumberGenerator generator = new BlockDocumentNumberGenerator(allocator, 50);
+
+        for (int i = 0; i < 500; i++) {
+            generator.nextOrderNumber();
+        }
+
+        // Ten blocks used up, plus the next one reserved ahead of time
+        verify(allocator, timeout(1000).times(11)).reserve(anyString(), eq(50));
+    }
+
+    @Test
+    @DisplayName("Task 3: Concurrent callers on several instances never receive the same number")
+    void testConcurrentGeneration_NoDuplicates() throws Exception {
+        List<BlockDocumentNumberGenerator> instances = List.of(
+                new BlockDocumentNumberGenerator(allocator, 20),
+                new BlockDocumentNumberGenerator(allocator, 20),
+                new BlockDocumentNumberGenerator(allocator, 20));
+        int threads = 12;
+        int perThread = 2000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            BlockDocumentNumberGenerator generator = instances.get(t % instances.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<String> numbers = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    numbers.add(i % 2 == 0 ? generator.nextOrderNumber() : generator.nextInvoiceNumber());
+                }
+                return numbers;
+            }));
+        }
+        start.countDown();
+
+        Set<String> unique = ConcurrentHashMap.newKeySet();
+        int total = 0;
+        for (Future<List<String>> future : futures) {
+            List<String> numbers = future.get(30, TimeUnit.SECONDS);
+            unique.addAll(numbers);
+            total += numbers.size();
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(threads * perThread);
+        assertThat(unique).hasSize(total);
+    }
+
+    @Test
+    @DisplayName("Task 4: Blocks are reserved off the caller's thread, so its transaction never holds a second connection")
+    void testReservation_OffCallerThread() {
+        Set<String> reservingThreads = ConcurrentHashMap.newKeySet();
+        when(allocator.reserve(anyString(), anyInt())).thenAnswer(invocation -> {
+            reservingThreads.add(Thread.currentThread().getName());
+            return sequenceRows.computeIfAbsent(invocation.getArgument(0), n -> new AtomicLong(1))
+                    .getAndAdd(invocation.<Integer>getArgument(1));
+        });
+        BlockDocumentNumberGenerator generator = new BlockDocumentNumberGenerator(allocator, 10);
+
+        for (int i = 0; i < 35; i++) {
+            generator.nextOrderNumber();
+        }
+
+        assertThat(reservingThreads).containsOnly("document-sequence-reserver");
+        generator.shutdown();
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Task 5: A slow reservation of the next block does not hold up callers while numbers remain")
+    void testSlowPrefetch_DoesNotBlockCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong row = new AtomicLong(1);
+        when(allocator.reserve(anyString(), anyInt())).thenAnswer(invocation -> {
+            if (row.get() > 1) {
+                release.await();
+            }
+            return row.getAndAdd(invocation.<Integer>getArgument(1));
+        });
+        BlockDocumentNumberGenerator generator = new BlockDocumentNumberGenerator(allocator, 8);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            numbers.add(generator.nextOrderNumber());
+        }
+        release.countDown();
+        numbers.add(generator.nextOrderNumber());
+
+        assertThat(numbers.get(7)).endsWith("-00008");
+        assertThat(numbers.get(8)).endsWith("-00009");
+        verify(allocator, timeout(1000).times(2)).reserve(anyString(), eq(8));
+        generator.shutdown();
+    }
+}
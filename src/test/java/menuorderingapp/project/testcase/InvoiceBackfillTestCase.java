@@ -0,0 +1,95 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.InvoiceBackfillProgress;
+import menuorderingapp.project.model.dto.MissingInvoiceRow;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.DocumentNumberGenerator;
+import menuorderingapp.project.service.impl.InvoiceBackfillWriter;
+import menuorderingapp.project.service.impl.InvoiceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Invoice Backfill Test")
+class InvoiceBackfillTestCase {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CashierRepository cashierRepository;
+
+    @Mock
+    private DocumentNumberGenerator numberGenerator;
+
+    @Mock
+    private InvoiceBackfillWriter backfillWriter;
+
+    private InvoiceServiceImpl invoiceService;
+
+    @BeforeEach
+    void setUp() {
+        invoiceService = new InvoiceServiceImpl(invoiceRepository, orderRepository, cashierRepository,
+                numberGenerator, backfillWriter, null, null, 2);
+    }
+
+    @Test
+    @DisplayName("Task 1: Missing invoices are found by anti-join and written chunk by chunk")
+    void testGenerateMissingInvoices_Chunked() {
+        when(orderRepository.countByPaymentStatus(Order.PaymentStatus.PAID)).thenReturn(5L);
+        when(invoiceRepository.findPaidOrdersWithoutInvoice(eq(Order.PaymentStatus.PAID), anyLong(), any()))
+                .thenReturn(List.of(row(3L), row(7L)), List.of(row(9L)), List.of());
+        when(backfillWriter.writeChunk(anyList(), eq(1L))).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        List<Long> reported = new ArrayList<>();
+        InvoiceBackfillProgress result = invoiceService.generateMissingInvoices(1L,
+                progress -> reported.add(progress.getInvoicesCreated()));
+
+        assertThat(result.getInvoicesCreated()).isEqualTo(3);
+        assertThat(result.getInvoicesSkipped()).isEqualTo(2);
+        assertThat(result.getChunksCompleted()).isEqualTo(2);
+        assertThat(result.isFinished()).isTrue();
+        assertThat(reported).containsExactly(2L, 3L, 3L);
+        verify(invoiceRepository).findPaidOrdersWithoutInvoice(eq(Order.PaymentStatus.PAID), eq(0L), any());
+        verify(invoiceRepository).findPaidOrdersWithoutInvoice(eq(Order.PaymentStatus.PAID), eq(7L), any());
+        verify(invoiceRepository).findPaidOrdersWithoutInvoice(eq(Order.PaymentStatus.PAID), eq(9L), any());
+        verify(invoiceRepository, never()).findByOrder(any());
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Task 2: Nothing to backfill writes nothing")
+    void testGenerateMissingInvoices_NothingMissing() {
+        when(orderRepository.countByPaymentStatus(Order.PaymentStatus.PAID)).thenReturn(4L);
+        when(invoiceRepository.findPaidOrdersWithoutInvoice(any(), anyLong(), any())).thenReturn(List.of());
+
+        InvoiceBackfillProgress result = invoiceService.generateMissingInvoices(1L, progress -> { });
+
+        assertThat(result.getInvoicesCreated()).isZero();
+        assertThat(result.getInvoicesSkipped()).isEqualTo(4);
+        verifyNoInteractions(backfillWriter);
+    }
+
+    private MissingInvoiceRow row(Long orderId) {
+        return new MissingInvoiceRow(orderId, BigDecimal.valueOf(25000), Order.PaymentMethod.CASH, LocalDateTime.now());
+    }
+}
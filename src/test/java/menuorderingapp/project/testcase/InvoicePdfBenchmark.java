@@ -0,0 +1,85 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.dto.InvoiceDocument;
+import menuorderingapp.project.util.PdfDocumentCache;
+import menuorderingapp.project.util.PdfDocumentRenderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoices rendered per second per core, cold (full render) and from the disk cache.
+ * Run with: mvn test -Dtest=InvoicePdfBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Invoice PDF Benchmark")
+class InvoicePdfBenchmark {
+
+    private static final long RUN_MILLIS = 3000;
+
+    private final PdfDocumentRenderer renderer = new PdfDocumentRenderer("ChopChop Restaurant");
+
+    @TempDir
+    private Path cacheDir;
+
+    @Test
+    @DisplayName("Invoices per second per core for 5 line invoices")
+    void invoicesPerSecondPerCore() throws Exception {
+        InvoiceDocument invoice = InvoicePdfTestCase.invoice(5, BigDecimal.valueOf(25000));
+        PdfDocumentCache cache = new PdfDocumentCache(cacheDir.toString());
+        String key = PdfDocumentRenderer.INVOICE_LAYOUT_VERSION + "-" + invoice.getContentHash();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        measure("render", 1, () -> renderer.renderInvoice(invoice, OutputStream.nullOutputStream()));
+        measure("render", 1, () -> renderer.renderInvoice(invoice, OutputStream.nullOutputStream()));
+        measure("render", cores, () -> renderer.renderInvoice(invoice, OutputStream.nullOutputStream()));
+
+        cache.write(key, out -> renderer.renderInvoice(invoice, out), OutputStream.nullOutputStream());
+        measure("cached", 1, () -> cache.write(key, out -> renderer.renderInvoice(invoice, out),
+                OutputStream.nullOutputStream()));
+    }
+
+    private void measure(String label, int threads, Work work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        work.run();
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            double perSecond = total * 1000.0 / RUN_MILLIS;
+            System.out.printf("%-6s %2d thread(s): %8.0f invoices/s, %7.0f invoices/s/core%n",
+                    label, threads, perSecond, perSecond / threads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,105 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.InvoiceDocument;
+import menuorderingapp.project.util.PdfDocumentCache;
+import menuorderingapp.project.util.PdfDocumentRenderer;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Invoice PDF Test")
+class InvoicePdfTestCase {
+
+    private final PdfDocumentRenderer renderer = new PdfDocumentRenderer("ChopChop Restaurant");
+
+    @TempDir
+    private Path cacheDir;
+
+    @Test
+    @DisplayName("Task 1: Invoice renders as a real PDF with its number, lines and totals")
+    void testRenderInvoice_ValidPdf() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.renderInvoice(invoice(3, BigDecimal.valueOf(25000)), out);
+
+        byte[] pdf = out.toByteArray();
+        assertThat(new String(pdf, 0, 5)).isEqualTo("%PDF-");
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+            assertThat(text).contains("INV-20250101-0001", "ORD-20250101-0001", "Nasi Goreng 2", "75.000,00", "82.500,00");
+        }
+    }
+
+    @Test
+    @DisplayName("Task 2: Long invoices continue on further pages")
+    void testRenderInvoice_ManyLinesPaginate() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.renderInvoice(invoice(80, BigDecimal.valueOf(1000)), out);
+
+        try (PDDocument document = Loader.loadPDF(out.toByteArray())) {
+            assertThat(document.getNumberOfPages()).isGreaterThan(1);
+            assertThat(new PDFTextStripper().getText(document)).contains("Nasi Goreng 80");
+        }
+    }
+
+    @Test
+    @DisplayName("Task 3: Cached invoice is copied from disk instead of rendered again")
+    void testCache_RendersOnce() throws IOException {
+        PdfDocumentCache cache = new PdfDocumentCache(cacheDir.toString());
+        InvoiceDocument invoice = invoice(3, BigDecimal.valueOf(25000));
+        String key = PdfDocumentRenderer.INVOICE_LAYOUT_VERSION + "-" + invoice.getContentHash();
+        AtomicInteger renders = new AtomicInteger();
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        cache.write(key, out -> {
+            renders.incrementAndGet();
+            renderer.renderInvoice(invoice, out);
+        }, first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        cache.write(key, out -> {
+            renders.incrementAndGet();
+            renderer.renderInvoice(invoice, out);
+        }, second);
+
+        assertThat(renders.get()).isEqualTo(1);
+        assertThat(cache.contains(key)).isTrue();
+        assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Task 4: Content hash changes with any printed field")
+    void testContentHash_FollowsContent() {
+        InvoiceDocument original = invoice(3, BigDecimal.valueOf(25000));
+
+        assertThat(invoice(3, new BigDecimal("25000.00")).getContentHash()).isEqualTo(original.getContentHash());
+        assertThat(invoice(3, BigDecimal.valueOf(26000)).getContentHash()).isNotEqualTo(original.getContentHash());
+        assertThat(invoice(4, BigDecimal.valueOf(25000)).getContentHash()).isNotEqualTo(original.getContentHash());
+    }
+
+    static InvoiceDocument invoice(int lineCount, BigDecimal price) {
+        List<InvoiceDocument.Line> lines = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= lineCount; i++) {
+            lines.add(new InvoiceDocument.Line("Nasi Goreng " + i, 1, price, price));
+            total = total.add(price);
+        }
+        BigDecimal tax = total.multiply(BigDecimal.valueOf(0.10));
+        return new InvoiceDocument("INV-20250101-0001", LocalDateTime.of(2025, 1, 1, 12, 30), "Kasir Satu",
+                "ORD-20250101-0001", "Budi", Order.PaymentMethod.CASH, lines, total, tax, total.add(tax));
+    }
+}
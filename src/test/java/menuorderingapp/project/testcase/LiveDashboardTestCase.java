@@ -0,0 +1,213 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.DashboardEvent;
+import menuorderingapp.project.model.dto.DashboardOrderRow;
+import menuorderingapp.project.model.dto.DashboardSnapshot;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.impl.LiveDashboardImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Live Dashboard Test")
+class LiveDashboardTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private LiveDashboardImpl liveDashboard;
+
+    @Test
+    @DisplayName("Task 1: Reconcile seeds the counters and snapshots are served without queries")
+    void testReconcile_SeedsCounters() {
+        LocalDateTime now = LocalDateTime.now();
+        when(orderRepository.findDashboardRows(any(), eq(Order.OrderStatus.PENDING))).thenReturn(List.of(
+                row(1L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, "20000.00", now.minusDays(2)),
+                row(2L, Order.OrderStatus.COMPLETED, Order.PaymentStatus.PAID, "35000.50", now),
+                row(3L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, "15000.00", now)));
+        when(menuRepository.findAvailableIds()).thenReturn(List.of(10L, 11L, 12L));
+
+        liveDashboard.reconcile();
+        DashboardSnapshot snapshot = liveDashboard.getSnapshot();
+        liveDashboard.getSnapshot();
+
+        assertThat(snapshot.getPendingOrders()).isEqualTo(2);
+        assertThat(snapshot.getTodayOrders()).isEqualTo(2);
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(35000.5);
+        assertThat(snapshot.getAvailableMenus()).isEqualTo(3);
+        assertThat(snapshot.getOrdersByStatus().get(Order.OrderStatus.COMPLETED)).isEqualTo(1);
+        verify(orderRepository, times(1)).findDashboardRows(any(), any());
+        verify(menuRepository, times(1)).findAvailableIds();
+    }
+
+    @Test
+    @DisplayName("Task 2: Order events move the counters by the difference between old and new state")
+    void testOrderEvents_ApplyDifference() {
+        LocalDateTime now = LocalDateTime.now();
+
+        liveDashboard.orderCreated(order(1L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, now));
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, now.plusSeconds(1)));
+        liveDashboard.orderCreated(order(2L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, now));
+        liveDashboard.orderClosed(2L, Order.OrderStatus.CANCELLED, now.plusSeconds(2));
+
+        DashboardSnapshot snapshot = liveDashboard.getSnapshot();
+        assertThat(snapshot.getPendingOrders()).isZero();
+        assertThat(snapshot.getTodayOrders()).isEqualTo(2);
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(25000.0);
+        assertThat(snapshot.getOrdersByStatus().get(Order.OrderStatus.CONFIRMED)).isEqualTo(1);
+        assertThat(snapshot.getOrdersByStatus().get(Order.OrderStatus.CANCELLED)).isEqualTo(1);
+        verify(messagingTemplate, times(4)).convertAndSend(eq("/topic/dashboard"), any(DashboardEvent.class));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Task 3: A stale order event does not undo a newer one")
+    void testStaleEvent_Ignored() {
+        LocalDateTime now = LocalDateTime.now();
+
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, now));
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, now.minusSeconds(1)));
+
+        assertThat(liveDashboard.getSnapshot().getPendingOrders()).isZero();
+        assertThat(liveDashboard.getSnapshot().getTodayRevenue()).isEqualTo(25000.0);
+    }
+
+    @Test
+    @DisplayName("Task 4: Reconcile repairs missed events and drops orders the database no longer counts")
+    void testReconcile_RepairsDrift() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, before.minusDays(1)));
+        liveDashboard.orderChanged(order(2L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, before));
+        // Order 1 was completed and order 2 paid without an event reaching the dashboard
+        when(orderRepository.findDashboardRows(any(), eq(Order.OrderStatus.PENDING))).thenReturn(List.of(
+                row(2L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, "25000.00", before.plusSeconds(30))));
+        when(menuRepository.findAvailableIds()).thenReturn(List.of());
+
+        liveDashboard.reconcile();
+
+        DashboardSnapshot snapshot = liveDashboard.getSnapshot();
+        assertThat(snapshot.getPendingOrders()).isZero();
+        assertThat(snapshot.getTodayOrders()).isEqualTo(1);
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(25000.0);
+    }
+
+    @Test
+    @DisplayName("Task 5: Menu availability changes adjust the available menu count once")
+    void testMenuEvents() {
+        liveDashboard.menuChanged(10L, true);
+        liveDashboard.menuChanged(11L, true);
+        liveDashboard.menuChanged(11L, true);
+        liveDashboard.menuChanged(10L, false);
+        liveDashboard.menuRemoved(12L);
+
+        assertThat(liveDashboard.getSnapshot().getAvailableMenus()).isEqualTo(1);
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/dashboard"), any(DashboardEvent.class));
+        verifyNoInteractions(menuRepository);
+    }
+
+    @Test
+    @DisplayName("Task 6: Events are typed, carry the changed fields and number consecutively from the snapshot")
+    void testEvents_TypedAndSequenced() {
+        LocalDateTime now = LocalDateTime.now();
+        long start = liveDashboard.getSnapshot().getSequence();
+
+        liveDashboard.orderCreated(order(1L, Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, now));
+        Order paid = order(1L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, now.plusSeconds(1));
+        paid.setPaymentMethod(Order.PaymentMethod.CASH);
+        liveDashboard.orderChanged(paid);
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.PREPARING, Order.PaymentStatus.PAID, now.plusSeconds(2)));
+        // Same state again: nothing to tell subscribers
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.PREPARING, Order.PaymentStatus.PAID, now.plusSeconds(3)));
+
+        ArgumentCaptor<DashboardEvent> events = ArgumentCaptor.forClass(DashboardEvent.class);
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/topic/dashboard"), events.capture());
+        assertThat(events.getAllValues()).extracting(DashboardEvent::getType).containsExactly(
+                DashboardEvent.Type.ORDER_CREATED, DashboardEvent.Type.PAYMENT_COMPLETED, DashboardEvent.Type.STATUS_CHANGED);
+        assertThat(events.getAllValues()).extracting(DashboardEvent::getSequence)
+                .containsExactly(start + 1, start + 2, start + 3);
+        DashboardEvent payment = events.getAllValues().get(1);
+        assertThat(payment.getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(payment.getPaymentMethod()).isEqualTo(Order.PaymentMethod.CASH);
+        assertThat(payment.getTotal()).isEqualByComparingTo("25000.00");
+        assertThat(payment.getCounters().getTodayRevenue()).isEqualTo(25000.0);
+        assertThat(payment.getCounters().getSequence()).isEqualTo(start + 2);
+        assertThat(liveDashboard.getSnapshot().getSequence()).isEqualTo(start + 3);
+    }
+
+    @Test
+    @DisplayName("Task 7: A same-second event arriving out of order does not replace the newer state")
+    void testSameSecondEvents_FullPrecision() {
+        LocalDateTime second = LocalDateTime.now().withNano(0);
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.COMPLETED, Order.PaymentStatus.PAID,
+                second.withNano(800_000_000)));
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID,
+                second.withNano(200_000_000)));
+
+        DashboardSnapshot snapshot = liveDashboard.getSnapshot();
+        assertThat(snapshot.getOrdersByStatus().get(Order.OrderStatus.COMPLETED)).isEqualTo(1L);
+        assertThat(snapshot.getOrdersByStatus().get(Order.OrderStatus.CONFIRMED)).isZero();
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(25000.0);
+    }
+
+    @Test
+    @DisplayName("Task 8: A row read before an event committed does not undo it, a row from a later second does")
+    void testReconcileRows_ComparedAsStored() {
+        LocalDateTime second = LocalDateTime.now().withNano(0);
+        liveDashboard.orderChanged(order(1L, Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID,
+                second.withNano(300_000_000)));
+        when(menuRepository.findAvailableIds()).thenReturn(List.of());
+        // Read before the payment committed; stored rounded to the same second
+        when(orderRepository.findDashboardRows(any(), eq(Order.OrderStatus.PENDING))).thenReturn(
+                List.of(new DashboardOrderRow(1L, "ORD-1", Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING,
+                        new BigDecimal("25000.00"), second, second)),
+                List.of(new DashboardOrderRow(1L, "ORD-1", Order.OrderStatus.COMPLETED, Order.PaymentStatus.PAID,
+                        new BigDecimal("25000.00"), second, second.plusSeconds(1))));
+
+        liveDashboard.reconcile();
+        assertThat(liveDashboard.getSnapshot().getPendingOrders()).isZero();
+        assertThat(liveDashboard.getSnapshot().getTodayRevenue()).isEqualTo(25000.0);
+
+        liveDashboard.reconcile();
+        assertThat(liveDashboard.getSnapshot().getOrdersByStatus().get(Order.OrderStatus.COMPLETED)).isEqualTo(1L);
+    }
+
+    private static Order order(Long id, Order.OrderStatus status, Order.PaymentStatus paymentStatus, LocalDateTime changedAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        order.setStatus(status);
+        order.setPaymentStatus(paymentStatus);
+        order.setTotal(new BigDecimal("25000.00"));
+        order.setCreatedAt(changedAt);
+        order.setUpdatedAt(changedAt);
+        return order;
+    }
+
+    private static DashboardOrderRow row(Long id, Order.OrderStatus status, Order.PaymentStatus paymentStatus,
+                                         String total, LocalDateTime createdAt) {
+        return new DashboardOrderRow(id, "ORD-" + id, status, paymentStatus, new BigDecimal(total), createdAt, createdAt);
+    }
+}
@@ -0,0 +1,121 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.dto.MenuCatalogRow;
+import menuorderingapp.project.repository.CategoryRepository;
+import menuorderingapp.project.repository.MenuRepository;
+import menuorderingapp.project.service.impl.MenuServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Catalog Test")
+class MenuCatalogTestCase {
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private MenuServiceImpl menuService;
+
+    @Test
+    @DisplayName("Task 1: Categories with menus load in one query for a small catalog")
+    void testCategoriesWithMenus_SingleQuery_FewCategories() {
+        when(categoryRepository.findCatalogRows()).thenReturn(catalogRows(3, 4));
+
+        List<Category> categories = menuService.getCategoriesWithMenus();
+
+        assertThat(categories).hasSize(3);
+        assertThat(categories).allSatisfy(category -> assertThat(category.getMenus()).hasSize(4));
+        verify(categoryRepository, times(1)).findCatalogRows();
+        verifyNoMoreInteractions(categoryRepository);
+        verifyNoInteractions(menuRepository);
+    }
+
+    @Test
+    @DisplayName("Task 2: Categories with menus load in one query for a large catalog")
+    void testCategoriesWithMenus_SingleQuery_ManyCategories() {
+        when(categoryRepository.findCatalogRows()).thenReturn(catalogRows(60, 4));
+
+        List<Category> categories = menuService.getCategoriesWithMenus();
+
+        assertThat(categories).hasSize(60);
+        verify(categoryRepository, times(1)).findCatalogRows();
+        verifyNoMoreInteractions(categoryRepository);
+        verifyNoInteractions(menuRepository);
+    }
+
+    @Test
+    @DisplayName("Task 3: Menu reads and DTO fields are served from the loaded catalog")
+    void testCatalogReads_NoFurtherQueries() {
+        when(categoryRepository.findCatalogRows()).thenReturn(catalogRows(5, 2));
+
+        menuService.getCategoriesWithMenus();
+        List<Menu> menus = menuService.getAvailableMenus();
+        menuService.getMenusByCategory(2L);
+        menuService.getPromoMenus();
+        menuService.getAllCategories();
+
+        assertThat(menus).hasSize(10);
+        assertThat(menus).allSatisfy(menu -> assertThat(menu.getCategory().getName()).isNotBlank());
+        verify(categoryRepository, times(1)).findCatalogRows();
+        verifyNoInteractions(menuRepository);
+    }
+
+    @Test
+    @DisplayName("Task 4: Empty categories are kept without menus")
+    void testCategoriesWithMenus_EmptyCategory() {
+        List<MenuCatalogRow> rows = new ArrayList<>(catalogRows(1, 2));
+        rows.add(new MenuCatalogRow(99L, "Kosong", 99, null, null, null, null, null, null, null));
+        when(categoryRepository.findCatalogRows()).thenReturn(rows);
+
+        List<Category> categories = menuService.getCategoriesWithMenus();
+
+        assertThat(categories).hasSize(2);
+        assertThat(categories.get(1).getName()).isEqualTo("Kosong");
+        assertThat(categories.get(1).getMenus()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Task 5: Order lines resolve their menus in one catalog lookup")
+    void testGetMenusByIds_SingleLookup() {
+        when(categoryRepository.findCatalogRows()).thenReturn(catalogRows(3, 5));
+
+        Map<Long, Menu> menus = menuService.getMenusByIds(List.of(1L, 7L, 15L, 999L));
+
+        assertThat(menus).containsOnlyKeys(1L, 7L, 15L);
+        assertThat(menus.get(7L).getName()).isEqualTo("Menu 7");
+        verify(categoryRepository, times(1)).findCatalogRows();
+        verifyNoInteractions(menuRepository);
+    }
+
+    private List<MenuCatalogRow> catalogRows(int categoryCount, int menusPerCategory) {
+        List<MenuCatalogRow> rows = new ArrayList<>();
+        long menuId = 1;
+        for (long categoryId = 1; categoryId <= categoryCount; categoryId++) {
+            for (int i = 0; i < menusPerCategory; i++) {
+                rows.add(new MenuCatalogRow(categoryId, "Category " + categoryId, (int) categoryId,
+                        menuId, "Menu " + menuId, "Description " + menuId, BigDecimal.valueOf(15000),
+                        null, i == 0, i == 0 ? BigDecimal.valueOf(12000) : null));
+                menuId++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,116 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import menuorderingapp.project.controller.CustomerController;
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.service.MenuService;
+import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.service.PaymentService;
+import menuorderingapp.project.util.JsonResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Menu Response Cache Test")
+class MenuResponseCacheTestCase {
+
+    @Mock
+    private MenuService menuService;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private InvoiceService invoiceService;
+
+    private CustomerController controller;
+
+    @BeforeEach
+    void setUp() {
+        JsonResponseCache cache = new JsonResponseCache(new ObjectMapper().registerModule(new JavaTimeModule()));
+        controller = new CustomerController(menuService, orderService, paymentService, invoiceService, cache);
+    }
+
+    @Test
+    @DisplayName("Task 1: A matching If-None-Match is answered with 304 and no body, without re-rendering")
+    void testMatchingETag_NotModified() {
+        when(menuService.getCatalogVersion()).thenReturn(1L);
+        when(menuService.getAvailableMenus()).thenReturn(List.of(menu(1L, "Nasi Goreng")));
+
+        ResponseEntity<byte[]> first = controller.getAvailableMenus(null, null, null, null);
+        String etag = first.getHeaders().getETag();
+        ResponseEntity<byte[]> second = controller.getAvailableMenus(null, null, etag, null);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(second.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        verify(menuService, times(1)).getAvailableMenus();
+    }
+
+    @Test
+    @DisplayName("Task 2: After the catalog changes the old ETag gets a 200 with the new body and a new ETag")
+    void testCatalogChanged_NewETag() {
+        when(menuService.getCatalogVersion()).thenReturn(1L, 2L);
+        when(menuService.getAvailableMenus()).thenReturn(
+                List.of(menu(1L, "Nasi Goreng")), List.of(menu(1L, "Nasi Goreng Spesial")));
+
+        String oldETag = controller.getAvailableMenus(null, null, null, null).getHeaders().getETag();
+        ResponseEntity<byte[]> changed = controller.getAvailableMenus(null, null, oldETag, null);
+
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(oldETag);
+        assertThat(new String(changed.getBody(), StandardCharsets.UTF_8)).contains("Nasi Goreng Spesial");
+    }
+
+    @Test
+    @DisplayName("Task 3: Accept-Encoding gzip selects the pre-gzipped body under its own ETag")
+    void testAcceptGzip_PreCompressedVariant() throws IOException {
+        when(menuService.getCatalogVersion()).thenReturn(1L);
+        when(menuService.getAvailableMenus()).thenReturn(List.of(menu(1L, "Nasi Goreng")));
+
+        ResponseEntity<byte[]> plain = controller.getAvailableMenus(null, null, null, "br;q=1, identity");
+        ResponseEntity<byte[]> gzipped = controller.getAvailableMenus(null, null, null, "br, gzip;q=0.8");
+        ResponseEntity<byte[]> refused = controller.getAvailableMenus(null, null, null, "gzip;q=0");
+
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getBody());
+        }
+        // The plain ETag does not validate the gzipped representation
+        assertThat(controller.getAvailableMenus(null, null, plain.getHeaders().getETag(), "gzip")
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(menuService, times(1)).getAvailableMenus();
+    }
+
+    private static Menu menu(Long id, String name) {
+        Menu menu = new Menu(name, "Enak", BigDecimal.valueOf(25000), new Category("Makanan", 1));
+        menu.setId(id);
+        menu.setAvailable(true);
+        return menu;
+    }
+}
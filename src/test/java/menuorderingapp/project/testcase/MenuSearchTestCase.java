@@ -0,0 +1,95 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.util.MenuSearchIndex;
+import menuorderingapp.project.util.MenuSearchIndex.IndexedMenu;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Menu Search Test")
+class MenuSearchTestCase {
+
+    private MenuSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MenuSearchIndex();
+    }
+
+    @Test
+    @DisplayName("Task 1: Tokens are folded for case, accents, old spellings and synonyms")
+    void testTokenize_Normalized() {
+        assertThat(MenuSearchIndex.tokenize("Ès Tjampur, Kopi-Susu")).containsExactly("es", "campur", "kopi", "susu");
+        assertThat(MenuSearchIndex.tokenize("Mie Goreng Chicken")).containsExactly("mi", "goreng", "ayam");
+        assertThat(MenuSearchIndex.tokenize("Soto Djakarta")).containsExactly("soto", "jakarta");
+        assertThat(MenuSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(MenuSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Task 2: Name matches outrank category matches, which outrank description matches")
+    void testRanking_ByField() {
+        build(menu(1L, "Es Teh", "Segar", "Minuman"),
+                menu(2L, "Jus Jeruk", "Dengan teh melati", "Minuman"),
+                menu(3L, "Pisang Goreng", "Manis", "Teh dan Camilan"));
+
+        assertThat(ids(index.search("teh"))).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Task 3: Every token must match, prefixes count and exact words rank first")
+    void testMatching_AllTokensAndPrefixes() {
+        build(menu(1L, "Nasi Goreng", "Pedas", "Makanan"),
+                menu(2L, "Nasi Gorengan Spesial", "Pedas", "Makanan"),
+                menu(3L, "Mi Goreng", "Pedas", "Makanan"));
+
+        assertThat(ids(index.search("nasi goreng"))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("gor"))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("fried rice"))).isEmpty();
+        assertThat(ids(index.search("rice"))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Task 4: Updates replace a menu's terms and unavailable menus drop out")
+    void testUpdate_ReindexesAndRemoves() {
+        build(menu(1L, "Sate Ayam", "Bumbu kacang", "Makanan"));
+
+        index.update(new IndexedMenu(1L, "Sate Kambing", "Bumbu kecap", "Makanan", BigDecimal.TEN, true));
+        assertThat(ids(index.search("ayam"))).isEmpty();
+        assertThat(ids(index.search("kambing"))).containsExactly(1L);
+
+        index.update(new IndexedMenu(1L, "Sate Kambing", "Bumbu kecap", "Makanan", BigDecimal.TEN, false));
+        assertThat(ids(index.search("sate"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Task 5: A rebuild from menus read before a concurrent change is refused")
+    void testRebuild_RefusedAfterConcurrentChange() {
+        long generation = index.generation();
+        List<IndexedMenu> staleMenus = List.of(menu(1L, "Sate Ayam", "Bumbu kacang", "Makanan"));
+
+        index.update(menu(1L, "Sate Ayam", "Bumbu kacang", "Makanan"));
+
+        assertThat(index.rebuild(staleMenus, generation)).isFalse();
+        assertThat(index.isBuilt()).isFalse();
+        assertThat(index.rebuild(staleMenus, index.generation())).isTrue();
+        assertThat(ids(index.search("sate"))).containsExactly(1L);
+    }
+
+    private void build(IndexedMenu... menus) {
+        assertThat(index.rebuild(List.of(menus), index.generation())).isTrue();
+    }
+
+    private static IndexedMenu menu(Long id, String name, String description, String category) {
+        return new IndexedMenu(id, name, description, category, BigDecimal.valueOf(15000), true);
+    }
+
+    private static List<Long> ids(List<IndexedMenu> menus) {
+        return menus.stream().map(IndexedMenu::id).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.CursorPage;
+import menuorderingapp.project.model.dto.OrderFilter;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ActiveOrderBoard;
+import menuorderingapp.project.service.LiveDashboard;
+import menuorderingapp.project.service.SalesRollupService;
+import menuorderingapp.project.service.impl.OrderServiceImpl;
+import menuorderingapp.project.util.OrderCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Page Test")
+class OrderPageTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ActiveOrderBoard activeOrderBoard;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private LiveDashboard liveDashboard;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 10, 18, 12, 0);
+
+    @Test
+    @DisplayName("Task 1: A full page returns a cursor pointing at its last row")
+    void testOrderPage_HasMore() {
+        List<Order> rows = orders(4);
+        when(orderRepository.findOrderPage(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(rows);
+        when(orderRepository.findWithItemsByIdIn(anyCollection())).thenReturn(rows.subList(0, 3));
+
+        CursorPage<Order> page = orderService.getOrderPage(new OrderFilter(), null, 3);
+
+        assertThat(page.getItems()).extracting(Order::getId).containsExactly(4L, 3L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(OrderCursor.decode(page.getNextCursor())).isEqualTo(new OrderCursor(base.plusMinutes(2), 2L));
+        verify(orderRepository).findOrderPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), eq(Pageable.ofSize(4)));
+    }
+
+    @Test
+    @DisplayName("Task 2: Cursor and filters are passed to the keyset query")
+    void testOrderPage_CursorAndFilters() {
+        OrderFilter filter = new OrderFilter();
+        filter.setStatus(Order.OrderStatus.COMPLETED);
+        filter.setCashierId(7L);
+        filter.setDate(LocalDate.of(2025, 10, 18));
+        String cursor = new OrderCursor(base, 42L).encode();
+        when(orderRepository.findOrderPage(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        CursorPage<Order> page = orderService.getOrderPage(filter, cursor, 50);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        verify(orderRepository).findOrderPage(eq(Order.OrderStatus.COMPLETED), isNull(), isNull(), isNull(), eq(7L),
+                eq(LocalDate.of(2025, 10, 18).atStartOfDay()), eq(LocalDate.of(2025, 10, 19).atStartOfDay()),
+                eq(base), eq(42L), any(Pageable.class));
+        verify(orderRepository, never()).findWithItemsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Task 3: A tampered cursor is rejected")
+    void testOrderPage_InvalidCursor() {
+        assertThatThrownBy(() -> orderService.getOrderPage(new OrderFilter(), "not-a-cursor", 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (long id = count; id >= 1; id--) {
+            Order order = new Order();
+            order.setId(id);
+            order.setCreatedAt(base.plusMinutes(id));
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,125 @@
+package menuorderingapp.project.testcase;
+
+import jakarta.persistence.EntityManager;
+import menuorderingapp.project.model.Category;
+import menuorderingapp.project.model.Menu;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.OrderItemRequest;
+import menuorderingapp.project.service.MenuService;
+import menuorderingapp.project.service.OrderService;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts JDBC round trips (statement executions plus batch executions) per created order, once with the
+ * configured batching and once as a baseline with batching switched off for the session. The baseline runs
+ * every INSERT on its own, as IDENTITY keys forced before; it still includes the occasional id allocation
+ * of the pooled table generator, so it slightly overstates the old cost.
+ * Needs the test database: mvn test -Dtest=OrderRoundTripBenchmark -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+        + "menuorderingapp.project.testcase.OrderRoundTripBenchmark$RoundTripCounter")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Order Round Trip Benchmark")
+class OrderRoundTripBenchmark {
+
+    private static final int ORDERS_PER_RUN = 200;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Round trips per order for 1, 5 and 15 line orders, batched and unbatched")
+    void roundTripsPerOrder() {
+        Category category = menuService.saveCategory(new Category("Benchmark " + System.nanoTime(), 999));
+        List<Menu> menus = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            menus.add(menuService.saveMenu(new Menu("Benchmark Menu " + i, null, BigDecimal.valueOf(10000 + i), category)));
+        }
+        Map<Long, Menu> catalog = menuService.getMenusByIds(menus.stream().map(Menu::getId).toList());
+
+        for (int lines : new int[]{1, 5, 15}) {
+            List<OrderItemRequest> items = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                OrderItemRequest item = new OrderItemRequest();
+                item.setMenuId(menus.get(i).getId());
+                item.setQuantity(1);
+                items.add(item);
+            }
+
+            run("batched", lines, items, catalog, null);
+            run("unbatched", lines, items, catalog, 1);
+        }
+    }
+
+    private void run(String mode, int lines, List<OrderItemRequest> items, Map<Long, Menu> catalog,
+                     Integer batchSize) {
+        createOrders(items, catalog, 20, batchSize);
+        RoundTripCounter.reset();
+        createOrders(items, catalog, ORDERS_PER_RUN, batchSize);
+
+        System.out.printf("%2d lines, %-9s: %.2f round trips/order (%d statements, %d batches)%n", lines, mode,
+                (RoundTripCounter.statements.get() + RoundTripCounter.batches.get()) / (double) ORDERS_PER_RUN,
+                RoundTripCounter.statements.get(), RoundTripCounter.batches.get());
+    }
+
+    // Each order in its own transaction, as the controller creates them; a batch size of 1 turns batching off
+    private void createOrders(List<OrderItemRequest> items, Map<Long, Menu> catalog, int count, Integer batchSize) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (batchSize != null) {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                }
+                Order order = new Order();
+                order.setOrderType(Order.OrderType.CUSTOMER_SELF);
+                order.setCustomerName("Benchmark");
+                order.setStatus(Order.OrderStatus.PENDING);
+                order.setPaymentStatus(Order.PaymentStatus.PENDING);
+                orderService.createOrder(order, items, catalog);
+            });
+        }
+    }
+
+    public static class RoundTripCounter implements SessionEventListener {
+        static final AtomicLong statements = new AtomicLong();
+        static final AtomicLong batches = new AtomicLong();
+
+        static void reset() {
+            statements.set(0);
+            batches.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.OrderNotFoundException;
+import menuorderingapp.project.exception.OrderStateConflictException;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.OrderChange;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ActiveOrderBoard;
+import menuorderingapp.project.service.LiveDashboard;
+import menuorderingapp.project.service.SalesRollupService;
+import menuorderingapp.project.service.OrderStateMachine;
+import menuorderingapp.project.service.ReportJobService;
+import menuorderingapp.project.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order State Test")
+class OrderStateTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ActiveOrderBoard activeOrderBoard;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private LiveDashboard liveDashboard;
+
+    @Mock
+    private ReportJobService reportJobService;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Test
+    @DisplayName("Task 1: Transition table follows the kitchen flow")
+    void testTransitionTable() {
+        assertThat(OrderStateMachine.canTransition(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED)).isTrue();
+        assertThat(OrderStateMachine.canTransition(Order.OrderStatus.READY, Order.OrderStatus.PREPARING)).isFalse();
+        assertThat(OrderStateMachine.canTransition(Order.OrderStatus.COMPLETED, Order.OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStateMachine.canTransition(Order.PaymentStatus.PAID, Order.PaymentStatus.REFUNDED)).isTrue();
+        assertThat(OrderStateMachine.sourcesOf(Order.OrderStatus.CANCELLED)).containsExactlyInAnyOrder(
+                Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING, Order.OrderStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Task 2: Status change runs the conditional update first and loads the order once afterwards")
+    void testUpdateOrderStatus_ConditionalUpdate() {
+        when(orderRepository.transitionStatus(eq(1L), anyCollection(), eq(Order.OrderStatus.PREPARING),
+                eq(false), any(), any())).thenReturn(1);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L))).thenReturn(List.of(order(Order.OrderStatus.PREPARING,
+                Order.PaymentStatus.PENDING)));
+
+        Order result = orderService.updateOrderStatus(1L, Order.OrderStatus.PREPARING);
+
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PREPARING);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderRepository).transitionStatus(eq(1L), eq(OrderStateMachine.sourcesOf(Order.OrderStatus.PREPARING)),
+                eq(Order.OrderStatus.PREPARING), eq(false), any(), now.capture());
+        ArgumentCaptor<OrderChange> change = ArgumentCaptor.forClass(OrderChange.class);
+        verify(activeOrderBoard).orderChanged(change.capture());
+        assertThat(change.getValue().status()).isEqualTo(Order.OrderStatus.PREPARING);
+        assertThat(change.getValue().updatedAt()).isEqualTo(now.getValue());
+        verify(orderRepository, times(1)).findWithItemsByIdIn(any());
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Task 3: A lost race is reported when the row still passes both guards")
+    void testUpdateOrderStatus_LostRace() {
+        when(orderRepository.transitionStatus(eq(1L), anyCollection(), any(), anyBoolean(), any(), any())).thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(Order.OrderStatus.PENDING));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, Order.OrderStatus.CONFIRMED))
+                .isInstanceOf(OrderStateConflictException.class)
+                .hasMessageContaining("changed by another request");
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(activeOrderBoard, liveDashboard);
+    }
+
+    @Test
+    @DisplayName("Task 4: Completing an unpaid order names the payment status as the conflict")
+    void testUpdateOrderStatus_CompleteRequiresPaid() {
+        when(orderRepository.transitionStatus(eq(1L), anyCollection(), eq(Order.OrderStatus.COMPLETED),
+                eq(true), any(), any())).thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(Order.OrderStatus.READY));
+        when(orderRepository.findPaymentStatusById(1L)).thenReturn(Optional.of(Order.PaymentStatus.PENDING));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, Order.OrderStatus.COMPLETED))
+                .isInstanceOf(OrderStateConflictException.class)
+                .hasMessage("Order 1 payment status is PENDING and cannot be moved to COMPLETED");
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Task 5: Cancelling a missing order reports not found")
+    void testCancelOrder_NotFound() {
+        when(orderRepository.transitionToCancelled(eq(99L), anyCollection(), any(), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findStatusById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.cancelOrder(99L))
+                .isInstanceOf(OrderNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Task 6: Paying twice names the payment status, a closed order names the order status")
+    void testProcessPayment_ConflictNamesField() {
+        when(orderRepository.transitionToPaid(eq(1L), any(), anyCollection(), anyCollection(),
+                any(), any(), any(), any())).thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(
+                Optional.of(Order.OrderStatus.CONFIRMED), Optional.of(Order.OrderStatus.CANCELLED));
+        when(orderRepository.findPaymentStatusById(1L)).thenReturn(Optional.of(Order.PaymentStatus.PAID));
+
+        assertThatThrownBy(() -> orderService.processPayment(1L, Order.PaymentMethod.CASH))
+                .hasMessage("Order 1 payment status is PAID and cannot be paid");
+        assertThatThrownBy(() -> orderService.processPayment(1L, Order.PaymentMethod.CASH))
+                .hasMessage("Order 1 status is CANCELLED and cannot be paid");
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
+        verifyNoInteractions(salesRollupService, activeOrderBoard, liveDashboard);
+    }
+
+    @Test
+    @DisplayName("Task 7: A successful payment notifies from the order header, without loading its lines")
+    void testProcessPayment_NotifiesFromHeader() {
+        LocalDateTime createdAt = LocalDate.now().atTime(9, 0);
+        when(orderRepository.transitionToPaid(eq(1L), eq(Order.PaymentMethod.QR_CODE), anyCollection(), anyCollection(),
+                any(), any(), any(), any())).thenReturn(1);
+        when(orderRepository.findChangeById(1L)).thenReturn(Optional.of(new OrderChange(1L, "ORD-1",
+                Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, Order.PaymentMethod.QR_CODE,
+                new BigDecimal("25000.00"), createdAt, createdAt.withSecond(30))));
+
+        orderService.processPayment(1L, Order.PaymentMethod.QR_CODE);
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderRepository).transitionToPaid(eq(1L), any(), anyCollection(), anyCollection(),
+                any(), any(), any(), now.capture());
+        ArgumentCaptor<OrderChange> change = ArgumentCaptor.forClass(OrderChange.class);
+        verify(liveDashboard).orderChanged(change.capture());
+        assertThat(change.getValue().status()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(change.getValue().paymentStatus()).isEqualTo(Order.PaymentStatus.PAID);
+        assertThat(change.getValue().updatedAt()).isEqualTo(now.getValue());
+        verify(activeOrderBoard).orderChanged(change.getValue());
+        verify(salesRollupService).orderPaid(1L, createdAt.toLocalDate());
+        verify(reportJobService).invalidateCachedResults(createdAt.toLocalDate());
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Task 8: Cancelling an order drops the shared reports covering the day it was placed")
+    void testCancelOrder_InvalidatesReportsForOrderDay() {
+        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
+        when(orderRepository.findCreatedAtById(1L)).thenReturn(Optional.of(lastWeek));
+        when(orderRepository.transitionToCancelled(eq(1L), anyCollection(), any(), any(), any(), any())).thenReturn(1);
+
+        orderService.cancelOrder(1L);
+
+        verify(salesRollupService).orderRefunded(1L);
+        verify(reportJobService).invalidateCachedResults(lastWeek.toLocalDate());
+    }
+
+    private static Order order(Order.OrderStatus status, Order.PaymentStatus paymentStatus) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(status);
+        order.setPaymentStatus(paymentStatus);
+        order.setCreatedAt(LocalDate.now().atTime(9, 0));
+        return order;
+    }
+}
@@ -0,0 +1,130 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.config.PasswordEncoderConfig;
+import menuorderingapp.project.config.SecurityConfig;
+import menuorderingapp.project.controller.CashierController;
+import menuorderingapp.project.controller.OrderWebSocketController;
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.security.CashierUserDetailsService;
+import menuorderingapp.project.security.PosTokenService;
+import menuorderingapp.project.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs bearer requests through the application's security filter chain, not just the token filter on its own.
+ */
+@WebMvcTest(controllers = CashierController.class)
+@Import({SecurityConfig.class, PasswordEncoderConfig.class, PosTokenService.class})
+@TestPropertySource(properties = {
+        "app.auth.pos-token.enabled=true",
+        "app.auth.pos-token.secret=0123456789abcdef0123456789abcdef",
+        "app.auth.pos-token.ttl-minutes=15"
+})
+@DisplayName("POS Token Security Test")
+class PosTokenSecurityTestCase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PosTokenService tokenService;
+
+    @MockitoBean
+    private CashierUserDetailsService cashierUserDetailsService;
+    @MockitoBean
+    private OrderService orderService;
+    @MockitoBean
+    private MenuService menuService;
+    @MockitoBean
+    private PaymentService paymentService;
+    @MockitoBean
+    private ReportService reportService;
+    @MockitoBean
+    private InvoiceService invoiceService;
+    @MockitoBean
+    private AuthService authService;
+    @MockitoBean
+    private OrderWebSocketController webSocketController;
+    @MockitoBean
+    private MenuAuditService menuAuditService;
+    @MockitoBean
+    private CashierService cashierService;
+    @MockitoBean
+    private ActiveOrderBoard activeOrderBoard;
+    @MockitoBean
+    private LiveDashboard liveDashboard;
+
+    private Cashier cashier;
+
+    @BeforeEach
+    void setUp() {
+        cashier = new Cashier("kasir1", "hash", "Kasir Satu", Cashier.CashierRole.CASHIER);
+        cashier.setId(2L);
+        when(activeOrderBoard.getActiveOrders()).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Task 1: A bearer request is answered 200 without a session, a cookie or a cashier lookup")
+    void testBearerRequest_Stateless() throws Exception {
+        String token = tokenService.issue(cashier).token();
+
+        MvcResult result = mockMvc.perform(get("/cashier/api/orders/active")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE))
+                .andReturn();
+
+        assertThat(result.getRequest().getSession(false)).isNull();
+        verify(activeOrderBoard).getActiveOrders();
+        verifyNoInteractions(cashierUserDetailsService, authService, cashierService);
+    }
+
+    @Test
+    @DisplayName("Task 2: Forged and logged-out tokens are answered 401 before reaching the controller")
+    void testBadTokens_Unauthorized() throws Exception {
+        String token = tokenService.issue(cashier).token();
+        tokenService.revoke(token);
+
+        mockMvc.perform(get("/cashier/api/orders/active")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer forged.token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+        MvcResult revoked = mockMvc.perform(get("/cashier/api/orders/active")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE))
+                .andReturn();
+
+        assertThat(revoked.getRequest().getSession(false)).isNull();
+        verifyNoInteractions(activeOrderBoard);
+    }
+
+    @Test
+    @DisplayName("Task 3: Without a token the API still requires a form login")
+    void testNoToken_RedirectsToLogin() throws Exception {
+        mockMvc.perform(get("/cashier/api/orders/active"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/auth/login"));
+
+        verifyNoInteractions(activeOrderBoard);
+    }
+}
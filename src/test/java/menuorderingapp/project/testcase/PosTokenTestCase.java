@@ -0,0 +1,118 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.security.PosTokenAuthenticationFilter;
+import menuorderingapp.project.security.PosTokenService;
+import menuorderingapp.project.util.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("POS Token Test")
+class PosTokenTestCase {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private PosTokenService tokenService;
+    private Cashier cashier;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new PosTokenService(true, SECRET, 15);
+        cashier = new Cashier("kasir:1", "hash", "Kasir Satu", Cashier.CashierRole.CASHIER);
+        cashier.setId(2L);
+    }
+
+    @Test
+    @DisplayName("Task 1: An issued token verifies to the cashier's id, role and username")
+    void testIssuedToken_Verifies() {
+        PosTokenService.IssuedToken issued = tokenService.issue(cashier);
+
+        PosTokenService.Claims claims = tokenService.verify(issued.token());
+
+        assertThat(claims.cashierId()).isEqualTo(2L);
+        assertThat(claims.role()).isEqualTo(Cashier.CashierRole.CASHIER);
+        assertThat(claims.username()).isEqualTo("kasir:1");
+        assertThat(claims.expiresAt()).isEqualTo(issued.expiresAt().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @DisplayName("Task 2: Tampered, foreign, expired and malformed tokens are rejected")
+    void testInvalidTokens_Rejected() {
+        String token = tokenService.issue(cashier).token();
+        String payload = token.substring(0, token.indexOf('.'));
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(payload)).replace("CASHIER", "ADMIN").getBytes());
+
+        assertThat(tokenService.verify(forgedPayload + token.substring(token.indexOf('.')))).isNull();
+        assertThat(new PosTokenService(true, SECRET.replace('0', 'x'), 15).verify(token)).isNull();
+        assertThat(new PosTokenService(true, SECRET, 0).verify(
+                new PosTokenService(true, SECRET, 0).issue(cashier).token())).isNull();
+        assertThat(tokenService.verify("not-a-token")).isNull();
+        assertThat(tokenService.verify("a.b.c")).isNull();
+        assertThatThrownBy(() -> new PosTokenService(true, "short", 15)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Task 3: Logout revokes one token, deactivation revokes every token issued so far")
+    void testRevocation() throws Exception {
+        String first = tokenService.issue(cashier).token();
+        Thread.sleep(2);
+        String second = tokenService.issue(cashier).token();
+
+        tokenService.revoke(first);
+        assertThat(tokenService.verify(first)).isNull();
+        assertThat(tokenService.verify(second)).isNotNull();
+
+        tokenService.revokeCashier(2L);
+        assertThat(tokenService.verify(second)).isNull();
+        Thread.sleep(2);
+        assertThat(tokenService.verify(tokenService.issue(cashier).token())).isNotNull();
+
+        tokenService.purgeRevocations();
+        assertThat(tokenService.revocationCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Task 4: The filter authenticates a bearer request from the token alone, without a session")
+    void testFilter_AuthenticatesWithoutSession() throws Exception {
+        PosTokenAuthenticationFilter filter = new PosTokenAuthenticationFilter(tokenService);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cashier/api/orders");
+        request.addHeader("Authorization", "Bearer " + tokenService.issue(cashier).token());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<CashierUserDetails> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(SecurityUtils.getCurrentCashier()));
+
+        assertThat(seen.get().getCashierId()).isEqualTo(2L);
+        assertThat(seen.get().getAuthorities()).extracting("authority").containsExactly("CASHIER");
+        assertThat(request.getSession(false)).isNull();
+        assertThat(SecurityUtils.getCurrentCashier()).isNull();
+    }
+
+    @Test
+    @DisplayName("Task 5: A bad bearer token is answered with 401 and never reaches the controller")
+    void testFilter_BadTokenUnauthorized() throws Exception {
+        PosTokenAuthenticationFilter filter = new PosTokenAuthenticationFilter(tokenService);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cashier/api/orders");
+        request.addHeader("Authorization", "Bearer forged.token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> reached = new AtomicReference<>(false);
+
+        filter.doFilter(request, response, (req, res) -> reached.set(true));
+
+        assertThat(reached.get()).isFalse();
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("\"success\":false");
+    }
+}
@@ -0,0 +1,47 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.util.QRCodeImageCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QR Code Cache Test")
+class QRCodeCacheTestCase {
+
+    private final QRCodeImageCache cache = new QRCodeImageCache();
+
+    @Test
+    @DisplayName("Task 1: Repeat renders of the same payload return the cached image")
+    void testSamePayload_RenderedOnce() {
+        QRCodeImageCache.QRCodeImage first = cache.get("order_number=ORD-1&amount=27500.00");
+        QRCodeImageCache.QRCodeImage second = cache.get("order_number=ORD-1&amount=27500.00");
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getDataUri()).isSameAs(first.getDataUri());
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Task 2: A changed amount is a different image and version")
+    void testChangedAmount_NewVersion() {
+        QRCodeImageCache.QRCodeImage before = cache.get("order_number=ORD-1&amount=27500.00");
+        QRCodeImageCache.QRCodeImage after = cache.get("order_number=ORD-1&amount=33000.00");
+
+        assertThat(after.getVersion()).isNotEqualTo(before.getVersion());
+        assertThat(after.matches(before.getETag())).isFalse();
+        assertThat(after.matches("W/" + after.getETag())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Task 3: Binary PNG is about a quarter smaller than the base64 data URI")
+    void testBinaryPng_SmallerThanDataUri() {
+        QRCodeImageCache.QRCodeImage image = cache.get("order_number=ORD-1&amount=27500.00");
+
+        assertThat(Base64.getDecoder().decode(image.getDataUri().substring("data:image/png;base64,".length())))
+                .isEqualTo(image.getPng());
+        assertThat(image.getPng().length).isLessThan(image.getDataUri().length() * 3 / 4 + 1);
+    }
+}
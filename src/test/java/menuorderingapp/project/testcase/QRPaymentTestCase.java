@@ -0,0 +1,129 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.exception.OrderStateConflictException;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.PaymentResponse;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.InvoiceService;
+import menuorderingapp.project.service.OrderService;
+import menuorderingapp.project.service.QRPaymentProvider;
+import menuorderingapp.project.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QR Payment Test")
+class QRPaymentTestCase {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @Mock
+    private QRPaymentProvider qrPaymentProvider;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    @Test
+    @DisplayName("Task 1: Submitting a QR payment stores its reference on the order and does not wait for the provider")
+    void testSubmitQRPayment_ReturnsPendingHandle() {
+        when(orderRepository.findByOrderNumber("ORD-1")).thenReturn(Optional.of(order(Order.PaymentStatus.PENDING)));
+        when(orderRepository.startQRPayment(eq(1L), anyString(), eq(3L), any())).thenReturn(1);
+
+        String reference = paymentService.submitQRPayment("ORD-1", 3L);
+
+        assertThat(reference).isNotBlank();
+        verify(orderRepository).startQRPayment(eq(1L), eq(reference), eq(3L), any());
+        verify(qrPaymentProvider).requestPayment(reference, "ORD-1", new BigDecimal("27500.00"));
+        verifyNoInteractions(orderService, invoiceService, messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Task 2: Confirmation pays the order, invoices it and notifies the customer once")
+    void testConfirmQRPayment_AppliesOnce() {
+        Order order = order(Order.PaymentStatus.PENDING);
+        order.setPaymentRequestedBy(3L);
+        when(orderService.processQRPayment("ref-1")).thenReturn(Optional.of(order), Optional.empty());
+
+        assertThat(paymentService.confirmQRPayment("ref-1", true)).isTrue();
+        assertThat(paymentService.confirmQRPayment("ref-1", true)).isFalse();
+
+        verify(invoiceService, times(1)).generateInvoice(order, 3L);
+        ArgumentCaptor<PaymentResponse> pushed = ArgumentCaptor.forClass(PaymentResponse.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/payments/ORD-1"), pushed.capture());
+        assertThat(pushed.getValue().getStatus()).isEqualTo("PAID");
+    }
+
+    @Test
+    @DisplayName("Task 3: An order that is already paid cannot start a QR payment")
+    void testSubmitQRPayment_AlreadyPaid() {
+        when(orderRepository.findByOrderNumber("ORD-1")).thenReturn(Optional.of(order(Order.PaymentStatus.PAID)));
+
+        assertThatThrownBy(() -> paymentService.submitQRPayment("ORD-1", null))
+                .isInstanceOf(OrderStateConflictException.class);
+        verifyNoInteractions(qrPaymentProvider);
+    }
+
+    @Test
+    @DisplayName("Task 4: A callback is matched by the stored reference, even on a node that never saw the submit")
+    void testConfirmQRPayment_MatchedFromDatabase() {
+        Order order = order(Order.PaymentStatus.PENDING);
+        when(orderService.processQRPayment("ref-from-another-node")).thenReturn(Optional.of(order));
+
+        assertThat(paymentService.confirmQRPayment("ref-from-another-node", true)).isTrue();
+
+        verify(invoiceService).generateInvoice(order, null);
+        verify(orderService, never()).processPayment(any(), any());
+    }
+
+    @Test
+    @DisplayName("Task 5: A decline releases the reference once and a new submit reuses a pending one")
+    void testDeclineAndResubmit() {
+        Order pending = order(Order.PaymentStatus.PENDING);
+        pending.setPaymentReference("ref-1");
+        when(orderRepository.findByPaymentReference("ref-1")).thenReturn(Optional.of(pending));
+        when(orderRepository.releaseQRPayment(eq("ref-1"), anyCollection())).thenReturn(1, 0);
+        when(orderRepository.findByOrderNumber("ORD-1")).thenReturn(Optional.of(pending));
+
+        assertThat(paymentService.submitQRPayment("ORD-1", null)).isEqualTo("ref-1");
+        assertThat(paymentService.confirmQRPayment("ref-1", false)).isFalse();
+        assertThat(paymentService.confirmQRPayment("ref-1", false)).isFalse();
+
+        verify(orderRepository, never()).startQRPayment(any(), any(), any(), any());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/payments/ORD-1"), any(PaymentResponse.class));
+        verifyNoInteractions(orderService, invoiceService);
+    }
+
+    private Order order(Order.PaymentStatus paymentStatus) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setOrderNumber("ORD-1");
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setPaymentStatus(paymentStatus);
+        order.setTotal(new BigDecimal("25000.00"));
+        return order;
+    }
+}
@@ -0,0 +1,182 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import menuorderingapp.project.controller.ReportController;
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.OrderExportRow;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.service.impl.ReportServiceImpl;
+import menuorderingapp.project.util.CsvTableWriter;
+import menuorderingapp.project.util.ExportFormat;
+import menuorderingapp.project.util.NdjsonTableWriter;
+import menuorderingapp.project.util.TableWriter;
+import menuorderingapp.project.util.XlsxTableWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Export Test")
+class ReportExportTestCase {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 30);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Test
+    @DisplayName("Task 1: CSV quotes separators and neutralises formulas")
+    void testCsv_QuotingAndFormulas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableWriter writer = new CsvTableWriter(out, List.of("name", "note", "total"));
+        writer.row("Budi, Jr.", "=SUM(A1:A9)", new BigDecimal("-1500.50"));
+        writer.row("say \"hi\"", null, CREATED_AT);
+        writer.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "name,note,total\r\n" +
+                "\"Budi, Jr.\",'=SUM(A1:A9),-1500.50\r\n" +
+                "\"say \"\"hi\"\"\",,2025-01-01 12:30:00\r\n");
+    }
+
+    @Test
+    @DisplayName("Task 2: NDJSON writes one object per line with exact amounts")
+    void testNdjson_OneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableWriter writer = new NdjsonTableWriter(out, List.of("orderNumber", "paymentMethod", "total"));
+        writer.row("ORD-1", Order.PaymentMethod.CASH, new BigDecimal("25000.10"));
+        writer.row("ORD-2", null, 3);
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertThat(first.get("paymentMethod").asText()).isEqualTo("CASH");
+        assertThat(first.get("total").decimalValue()).isEqualByComparingTo("25000.10");
+        assertThat(new ObjectMapper().readTree(lines[1]).get("paymentMethod").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Task 3: XLSX is a complete workbook whose rows continue on a new sheet at the row limit")
+    void testXlsx_WorkbookAndSheetRollover() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableWriter writer = new XlsxTableWriter(out, "Orders", List.of("orderNumber", "total"), 3);
+        for (int i = 1; i <= 5; i++) {
+            writer.row("ORD-" + i + " <&>", BigDecimal.valueOf(i * 1000L));
+        }
+        writer.finish();
+
+        Map<String, String> parts = unzip(out.toByteArray());
+        assertThat(parts).containsKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/styles.xml", "xl/worksheets/sheet1.xml",
+                "xl/worksheets/sheet2.xml", "xl/worksheets/sheet3.xml");
+        assertThat(parts.get("xl/workbook.xml")).contains("name=\"Orders 1\"", "name=\"Orders 3\"");
+        assertThat(parts.get("xl/worksheets/sheet1.xml"))
+                .contains("<t xml:space=\"preserve\">ORD-1 &lt;&amp;&gt;</t>", "<c r=\"B2\"><v>1000</v></c>")
+                .endsWith("</sheetData></worksheet>");
+        assertThat(parts.get("xl/worksheets/sheet3.xml")).contains("ORD-5").contains("orderNumber");
+    }
+
+    @Test
+    @DisplayName("Task 4: Order export writes every cursor row and closes the cursor")
+    void testOrderExport_StreamsAndCloses() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        LocalDateTime start = CREATED_AT.toLocalDate().atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+        when(orderRepository.streamExportRows(start, end)).thenReturn(Stream.of(
+                        new OrderExportRow("ORD-1", CREATED_AT, "Budi", Order.OrderType.CASHIER_ASSISTED, Order.OrderStatus.COMPLETED,
+                                Order.PaymentStatus.PAID, Order.PaymentMethod.CASH, "Kasir Satu", new BigDecimal("55000.00")),
+                        new OrderExportRow("ORD-2", CREATED_AT, null, Order.OrderType.CUSTOMER_SELF, Order.OrderStatus.PENDING,
+                                Order.PaymentStatus.PENDING, null, null, new BigDecimal("12000.00")))
+                .onClose(() -> closed.set(true)));
+        ReportServiceImpl reportService = new ReportServiceImpl(orderRepository, null, null, null, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = reportService.writeOrderExport(start, end, ExportFormat.CSV, out, written -> { });
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(closed).isTrue();
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize(3)
+                .contains("ORD-1,2025-01-01 12:30:00,Budi,CASHIER_ASSISTED,COMPLETED,PAID,CASH,Kasir Satu,55000.00");
+    }
+
+    @Test
+    @DisplayName("Task 5: Unknown export format is rejected")
+    void testExportFormat_Unknown() {
+        assertThat(ExportFormat.fromString("XLSX")).isEqualTo(ExportFormat.XLSX);
+        assertThatThrownBy(() -> ExportFormat.fromString("xls"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported export format");
+    }
+
+    @Test
+    @DisplayName("Task 6: The export is read before the response starts and further exports are refused meanwhile")
+    void testExportEndpoint_BufferedAndCapped() throws IOException {
+        ReportController controller = new ReportController(reportService, null, null, 1);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("cashier", "kasir1");
+        AtomicReference<HttpStatusCode> concurrent = new AtomicReference<>();
+        when(reportService.writeOrderExport(any(), any(), eq(ExportFormat.CSV), any(), any())).thenAnswer(invocation -> {
+            concurrent.set(controller.exportOrders("2025-01-01", "2025-01-31", "csv", session).getStatusCode());
+            invocation.<OutputStream>getArgument(3).write("orderNumber\r\nORD-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportOrders("2025-01-01", "2025-01-31", "csv", session);
+        verify(reportService, times(1)).writeOrderExport(any(), any(), any(), any(), any());
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertThat(concurrent.get()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(body.size());
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("orderNumber\r\nORD-1\r\n");
+        // The slot is free again once the rows are buffered
+        assertThat(controller.exportOrders("2025-01-01", "2025-01-31", "csv", session).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,227 @@
+package menuorderingapp.project.testcase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import menuorderingapp.project.exception.ReportJobRejectedException;
+import menuorderingapp.project.model.dto.ReportJobStatus;
+import menuorderingapp.project.model.dto.ReportRequest;
+import menuorderingapp.project.repository.InvoiceRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.ReportService;
+import menuorderingapp.project.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Job Test")
+class ReportJobTestCase {
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @TempDir
+    private Path jobDir;
+
+    private ReportJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        jobService = new ReportJobServiceImpl(reportService, orderRepository, invoiceRepository, objectMapper,
+                messagingTemplate, jobDir.toString(), 2, 4, 1, 60, 24);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Task 1: Export job runs in the background, reports progress and keeps the result for download")
+    void testSubmit_RunsAndDownloads() throws Exception {
+        LocalDate today = LocalDate.now();
+        when(orderRepository.countExportRows(any(), any())).thenReturn(2L);
+        when(reportService.writeOrderExport(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("orderNumber\r\nORD-1\r\nORD-2\r\n".getBytes(StandardCharsets.UTF_8));
+            invocation.<LongConsumer>getArgument(4).accept(2);
+            return 2L;
+        });
+
+        ReportJobStatus submitted = jobService.submit(1L, request("orders", null, today, today));
+        ReportJobStatus done = awaitFinished(1L, submitted.getJobId());
+
+        assertThat(done.getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+        assertThat(done.getRowsWritten()).isEqualTo(2);
+        assertThat(done.getProgressPercent()).isEqualTo(100);
+        assertThat(done.getContentType()).isEqualTo("text/csv");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jobService.writeResult(1L, submitted.getJobId(), out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("ORD-2");
+        verify(reportService).writeOrderExport(eq(today.atStartOfDay()), eq(today.plusDays(1).atStartOfDay()), any(), any(), any());
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq("/topic/reports/jobs/" + submitted.getJobId()), any(ReportJobStatus.class));
+    }
+
+    @Test
+    @DisplayName("Task 2: A cashier cannot run more jobs than the cap, other cashiers are unaffected")
+    void testSubmit_PerCashierCap() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.getSalesReport(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of("totalOrders", 0L);
+        });
+        LocalDate today = LocalDate.now();
+
+        ReportJobStatus first = jobService.submit(1L, request("sales", null, today, today));
+        assertThatThrownBy(() -> jobService.submit(1L, request("sales", null, today, today)))
+                .isInstanceOf(ReportJobRejectedException.class);
+        ReportJobStatus other = jobService.submit(2L, request("sales", null, today, today));
+
+        release.countDown();
+        assertThat(awaitFinished(1L, first.getJobId()).getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+        assertThat(awaitFinished(2L, other.getJobId()).getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+        assertThat(jobService.getJob(2L, first.getJobId())).isEmpty();
+        // The slot is free again once the first job is done
+        ReportJobStatus next = jobService.submit(1L, request("sales", null, today, today));
+        assertThat(awaitFinished(1L, next.getJobId()).getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Task 3: Closed periods are served from the cached result, open periods run again")
+    void testSubmit_ClosedPeriodCached() throws Exception {
+        when(reportService.getSalesReport(any(), any())).thenReturn(Map.of("totalOrders", 5L));
+        LocalDate lastMonth = LocalDate.now().minusMonths(1);
+        LocalDate today = LocalDate.now();
+
+        awaitFinished(1L, jobService.submit(1L, request("sales", "json", lastMonth, lastMonth.plusDays(6))).getJobId());
+        ReportJobStatus cached = jobService.submit(2L, request("SALES", null, lastMonth, lastMonth.plusDays(6)));
+        awaitFinished(1L, jobService.submit(1L, request("sales", null, today, today)).getJobId());
+        awaitFinished(1L, jobService.submit(1L, request("sales", null, today, today)).getJobId());
+
+        assertThat(cached.getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+        assertThat(cached.isCached()).isTrue();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        jobService.writeResult(2L, cached.getJobId(), out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"totalOrders\":5}");
+        verify(reportService, times(1)).getSalesReport(eq(lastMonth.atStartOfDay()), any());
+        verify(reportService, times(2)).getSalesReport(eq(today.atStartOfDay()), any());
+    }
+
+    @Test
+    @DisplayName("Task 4: Invalid report specs are rejected before anything is queued")
+    void testSubmit_InvalidSpec() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> jobService.submit(1L, request("orders", "pdf", today, today)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unsupported format");
+        assertThatThrownBy(() -> jobService.submit(1L, request("sales", null, today, today.minusDays(1))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Start date");
+        assertThat(jobService.getJobs(1L)).isEmpty();
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    @DisplayName("Task 5: Cancelling a running export stops it at the next progress report")
+    void testCancel_RunningJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(invoiceRepository.countExportRows(any(), any())).thenReturn(1000L);
+        when(reportService.writeInvoiceExport(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            invocation.<LongConsumer>getArgument(4).accept(500);
+            return 1000L;
+        });
+        LocalDate today = LocalDate.now();
+
+        ReportJobStatus job = jobService.submit(1L, request("invoices", "xlsx", today, today));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobService.cancel(1L, job.getJobId())).isTrue();
+        cancelled.countDown();
+
+        assertThat(awaitFinished(1L, job.getJobId()).getState()).isEqualTo(ReportJobStatus.State.CANCELLED);
+        assertThatThrownBy(() -> jobService.writeResult(1L, job.getJobId(), OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(jobService.cancel(1L, job.getJobId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Task 6: A changed day drops the shared results covering it, also for a job still reading it")
+    void testInvalidate_DropsCoveringResults() throws Exception {
+        LocalDate lastMonth = LocalDate.now().minusMonths(1);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch changed = new CountDownLatch(1);
+        when(reportService.getSalesReport(any(), any())).thenReturn(Map.of("totalOrders", 5L));
+        when(reportService.getTopSellingItems(any(), any())).thenAnswer(invocation -> {
+            reading.countDown();
+            changed.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+
+        awaitFinished(1L, jobService.submit(1L, request("sales", null, lastMonth, lastMonth.plusDays(6))).getJobId());
+        awaitFinished(1L, jobService.submit(1L, request("sales", null, lastMonth.plusDays(10), lastMonth.plusDays(12))).getJobId());
+        ReportJobStatus items = jobService.submit(2L, request("items", null, lastMonth, lastMonth.plusDays(6)));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        jobService.invalidateCachedResults(lastMonth.plusDays(3));
+        changed.countDown();
+        awaitFinished(2L, items.getJobId());
+
+        assertThat(jobService.submit(1L, request("sales", null, lastMonth.plusDays(10), lastMonth.plusDays(12))).isCached()).isTrue();
+        assertThat(jobService.submit(2L, request("items", null, lastMonth, lastMonth.plusDays(6))).isCached()).isFalse();
+        ReportJobStatus rerun = jobService.submit(1L, request("sales", null, lastMonth, lastMonth.plusDays(6)));
+        assertThat(rerun.isCached()).isFalse();
+        awaitFinished(1L, rerun.getJobId());
+        verify(reportService, times(2)).getSalesReport(eq(lastMonth.atStartOfDay()), any());
+    }
+
+    private ReportJobStatus awaitFinished(Long cashierId, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            ReportJobStatus status = jobService.getJob(cashierId, jobId).orElseThrow();
+            if (status.getState() != ReportJobStatus.State.QUEUED && status.getState() != ReportJobStatus.State.RUNNING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish");
+    }
+
+    private static ReportRequest request(String type, String format, LocalDate start, LocalDate end) {
+        ReportRequest request = new ReportRequest(start, end);
+        request.setReportType(type);
+        request.setFormat(format);
+        return request;
+    }
+}
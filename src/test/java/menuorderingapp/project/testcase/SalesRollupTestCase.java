@@ -0,0 +1,165 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Order;
+import menuorderingapp.project.model.dto.CashierSales;
+import menuorderingapp.project.model.dto.MenuSales;
+import menuorderingapp.project.model.dto.OrderStateCount;
+import menuorderingapp.project.model.dto.PaymentMethodSales;
+import menuorderingapp.project.model.dto.SalesReportResponse;
+import menuorderingapp.project.repository.DailyMenuRollupRepository;
+import menuorderingapp.project.repository.DailySalesRollupRepository;
+import menuorderingapp.project.repository.OrderRepository;
+import menuorderingapp.project.service.impl.ReportServiceImpl;
+import menuorderingapp.project.service.impl.SalesRollupServiceImpl;
+import menuorderingapp.project.service.impl.SalesRollupWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sales Rollup Test")
+class SalesRollupTestCase {
+
+    @Mock
+    private DailySalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private DailyMenuRollupRepository menuRollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private SalesRollupWriter rollupWriter;
+
+    private SalesRollupServiceImpl rollupService;
+
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new SalesRollupServiceImpl(salesRollupRepository, menuRollupRepository, orderRepository, rollupWriter);
+        reportService = new ReportServiceImpl(orderRepository, null, salesRollupRepository, menuRollupRepository, null);
+    }
+
+    @Test
+    @DisplayName("Task 1: Sales report is summed from the rollups without loading orders")
+    void testSalesReport_FromRollups() {
+        when(salesRollupRepository.sumByPaymentMethod(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)))
+                .thenReturn(List.of(new PaymentMethodSales(Order.PaymentMethod.CASH, 3L, new BigDecimal("60000.00")),
+                        new PaymentMethodSales(Order.PaymentMethod.QR_CODE, 1L, new BigDecimal("20000.00")),
+                        new PaymentMethodSales(Order.PaymentMethod.CREDIT_CARD, 0L, BigDecimal.ZERO)));
+        when(salesRollupRepository.sumByDay(any(), any())).thenReturn(List.of());
+
+        Map<String, Object> report = reportService.getSalesReport(LocalDate.of(2025, 1, 1).atStartOfDay(),
+                LocalDate.of(2025, 12, 31).atTime(23, 59, 59));
+
+        assertThat(report.get("totalRevenue")).isEqualTo(80000.0);
+        assertThat(report.get("totalOrders")).isEqualTo(4L);
+        assertThat(report.get("averageOrderValue")).isEqualTo(20000.0);
+        assertThat(report.get("revenueByPaymentMethod")).isEqualTo(
+                Map.of(Order.PaymentMethod.CASH, 60000.0, Order.PaymentMethod.QR_CODE, 20000.0));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Task 2: Top items and cashier performance come back as grouped rows from one query each")
+    void testGroupedReports_FromRollups() {
+        List<MenuSales> menus = List.of(new MenuSales(7L, "Nasi Goreng", 4L, new BigDecimal("60000.00")));
+        List<CashierSales> cashiers = List.of(new CashierSales(2L, "Kasir Satu", 3L, new BigDecimal("45000.00")));
+        when(menuRollupRepository.sumByMenu(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7))).thenReturn(menus);
+        when(salesRollupRepository.sumByCashier(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7))).thenReturn(cashiers);
+
+        LocalDateTime start = LocalDate.of(2025, 1, 1).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2025, 1, 7).atTime(23, 59, 59);
+
+        assertThat(reportService.getTopSellingItems(start, end)).isEqualTo(menus);
+        assertThat(reportService.getCashierPerformanceReport(start, end)).isEqualTo(cashiers);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Task 3: Payment adds the order to its day, refund takes it back out")
+    void testIncrementalUpdates() {
+        Order order = new Order();
+        order.setId(5L);
+        order.setCreatedAt(LocalDateTime.of(2025, 3, 1, 23, 50));
+        order.setPaymentStatus(Order.PaymentStatus.REFUNDED);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+
+        rollupService.orderPaid(5L, order.getCreatedAt().toLocalDate());
+        rollupService.orderRefunded(5L);
+
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        verify(salesRollupRepository).applyOrder(5L, day, "PAID", 1);
+        verify(menuRollupRepository).applyOrder(5L, day, "PAID", 1);
+        verify(salesRollupRepository).applyOrder(5L, day, "REFUNDED", -1);
+        verify(menuRollupRepository).applyOrder(5L, day, "REFUNDED", -1);
+    }
+
+    @Test
+    @DisplayName("Task 4: Cancelling an unpaid order leaves the rollups alone")
+    void testRefund_UnpaidOrderIgnored() {
+        Order order = new Order();
+        order.setPaymentStatus(Order.PaymentStatus.PENDING);
+        when(orderRepository.findById(6L)).thenReturn(Optional.of(order));
+
+        rollupService.orderRefunded(6L);
+
+        verifyNoInteractions(salesRollupRepository, menuRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Task 5: Rebuild runs in month-sized transactions covering every day once")
+    void testRebuild_Chunked() {
+        when(rollupWriter.rebuildDays(any(), any())).thenAnswer(invocation -> (int) ChronoUnit.DAYS
+                .between(invocation.<LocalDate>getArgument(0), invocation.<LocalDate>getArgument(1)));
+
+        int days = rollupService.rebuild(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 15));
+
+        assertThat(days).isEqualTo(74);
+        verify(rollupWriter).rebuildDays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+        verify(rollupWriter).rebuildDays(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 4));
+        verify(rollupWriter).rebuildDays(LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 16));
+        verifyNoMoreInteractions(rollupWriter);
+    }
+
+    @Test
+    @DisplayName("Task 6: The report screen summary is counted per state in one query over whole days")
+    void testOrderSummary_GroupedCounts() {
+        when(orderRepository.countByStateBetween(LocalDate.of(2025, 1, 1).atStartOfDay(),
+                LocalDate.of(2025, 1, 8).atStartOfDay())).thenReturn(List.of(
+                new OrderStateCount(Order.OrderStatus.COMPLETED, Order.PaymentStatus.PAID, Order.PaymentMethod.CASH,
+                        3L, new BigDecimal("60000.00")),
+                new OrderStateCount(Order.OrderStatus.CONFIRMED, Order.PaymentStatus.PAID, Order.PaymentMethod.QR_CODE,
+                        1L, new BigDecimal("20000.00")),
+                new OrderStateCount(Order.OrderStatus.CANCELLED, Order.PaymentStatus.REFUNDED, Order.PaymentMethod.CASH,
+                        2L, new BigDecimal("30000.00")),
+                new OrderStateCount(Order.OrderStatus.PENDING, Order.PaymentStatus.PENDING, null,
+                        4L, new BigDecimal("50000.00"))));
+
+        SalesReportResponse summary = reportService.getOrderSummary(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 7));
+
+        assertThat(summary.getTotalOrders()).isEqualTo(10L);
+        assertThat(summary.getPaidOrders()).isEqualTo(4L);
+        assertThat(summary.getCancelledOrders()).isEqualTo(2L);
+        assertThat(summary.getTotalRevenue()).isEqualTo(80000.0);
+        assertThat(summary.getPaidOrdersByPaymentMethod()).isEqualTo(Map.of("CASH", 3L, "QR_CODE", 1L));
+        verify(orderRepository, never()).findOrdersByDateRange(any(), any());
+    }
+}
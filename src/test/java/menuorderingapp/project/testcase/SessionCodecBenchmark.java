@@ -0,0 +1,77 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.session.CompactSessionAttributeCodec;
+import menuorderingapp.project.session.JavaSessionAttributeCodec;
+import menuorderingapp.project.session.SessionAttributeCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes written to SPRING_SESSION_ATTRIBUTES and microseconds spent encoding (save) and decoding (load)
+ * a logged-in cashier's session, per codec. The cashier DTO is not Serializable, so only the compact codec
+ * can store it at all; it is reported on its own line.
+ * This is a timed loop with a warm-up round, not a JMH harness, so treat the timings as rough comparisons.
+ * Run with: mvn test -Dtest=SessionCodecBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Session Codec Benchmark")
+class SessionCodecBenchmark {
+
+    private static final long RUN_MILLIS = 2000;
+
+    private final JavaSessionAttributeCodec java = new JavaSessionAttributeCodec(getClass().getClassLoader());
+    private final CompactSessionAttributeCodec compact = new CompactSessionAttributeCodec(java);
+
+    @Test
+    @DisplayName("Bytes and microseconds per session save and load")
+    void bytesAndMicrosPerSave() {
+        Cashier cashier = new Cashier("kasir1", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZB2YCeFz5ygV1r0VdYxS3K",
+                "Kasir Satu", Cashier.CashierRole.CASHIER);
+        cashier.setId(1L);
+        CashierUserDetails principal = new CashierUserDetails(cashier);
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("sessionToken", "7f9c2ba4-e88f-4a3b-9d5e-1c2b3a4d5e6f");
+        session.put("cashierId", 1L);
+        session.put("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+
+        for (int round = 0; round < 2; round++) {
+            measure("java", java, session);
+            measure("compact", compact, session);
+        }
+        measure("compact", compact, Map.of("cashier", SessionCodecTestCase.cashier()));
+    }
+
+    private void measure(String label, SessionAttributeCodec codec, Map<String, Object> attributes) {
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        attributes.forEach((name, value) -> encoded.put(name, codec.encode(value)));
+        int bytes = encoded.values().stream().mapToInt(value -> value.length).sum();
+
+        double saveMicros = microsPerRun(() -> attributes.values().forEach(codec::encode));
+        double loadMicros = microsPerRun(() -> encoded.values().forEach(codec::decode));
+
+        System.out.printf("%-8s %-45s %5d bytes  %7.2f us/save  %7.2f us/load%n",
+                label, attributes.keySet(), bytes, saveMicros, loadMicros);
+    }
+
+    private static double microsPerRun(Runnable work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        long started = System.nanoTime();
+        long runs = 0;
+        while (System.nanoTime() < deadline) {
+            work.run();
+            runs++;
+        }
+        return (System.nanoTime() - started) / 1000.0 / runs;
+    }
+}
@@ -0,0 +1,127 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.controller.CartController;
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.dto.CashierDto;
+import menuorderingapp.project.security.CashierUserDetails;
+import menuorderingapp.project.session.CompactSessionAttributeCodec;
+import menuorderingapp.project.session.JavaSessionAttributeCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Session Codec Test")
+class SessionCodecTestCase {
+
+    private final JavaSessionAttributeCodec java = new JavaSessionAttributeCodec(getClass().getClassLoader());
+    private final CompactSessionAttributeCodec codec = new CompactSessionAttributeCodec(java);
+
+    @Test
+    @DisplayName("Task 1: Strings, ids and flags round trip in a tag byte plus the value")
+    void testKnownTypes_RoundTripCompact() {
+        String token = "7f9c2ba4-e88f-4a3b-9d5e-1c2b3a4d5e6f";
+
+        assertThat(codec.decode(codec.encode(token))).isEqualTo(token);
+        assertThat(codec.decode(codec.encode(42L))).isEqualTo(42L);
+        assertThat(codec.decode(codec.encode(7))).isEqualTo(7);
+        assertThat(codec.decode(codec.encode(true))).isEqualTo(true);
+        assertThat(codec.encode(token)).hasSize(token.length() + 1);
+        assertThat(codec.encode(42L)).hasSize(9);
+        assertThat(java.encode(42L).length).isGreaterThan(70);
+    }
+
+    @Test
+    @DisplayName("Task 2: The cashier round trips with all fields, and with only some set")
+    void testCashier_RoundTrip() {
+        CashierDto full = cashier();
+        CashierDto partial = new CashierDto();
+        partial.setId(3L);
+        partial.setUsername("kasir3");
+
+        CashierDto decodedFull = (CashierDto) codec.decode(codec.encode(full));
+        CashierDto decodedPartial = (CashierDto) codec.decode(codec.encode(partial));
+
+        assertThat(decodedFull).usingRecursiveComparison().isEqualTo(full);
+        assertThat(decodedPartial).usingRecursiveComparison().isEqualTo(partial);
+        assertThat(codec.encode(full).length).isLessThan(70);
+    }
+
+    @Test
+    @DisplayName("Task 3: A cashier's password login context round trips in a fraction of its Java size")
+    void testCashierLogin_RoundTripCompact() {
+        Cashier cashier = new Cashier("kasir1", "$2a$10$hash", "Kasir Satu", Cashier.CashierRole.ADMIN);
+        cashier.setId(1L);
+        cashier.setIsActive(true);
+        cashier.setCreatedAt(LocalDateTime.of(2024, 11, 2, 9, 0));
+        CashierUserDetails principal = new CashierUserDetails(cashier);
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("10.0.0.7", null));
+        SecurityContextImpl context = new SecurityContextImpl(authentication);
+
+        byte[] encoded = codec.encode(context);
+        SecurityContextImpl decoded = (SecurityContextImpl) codec.decode(encoded);
+
+        assertThat(encoded.length * 5).isLessThan(java.encode(context).length);
+        assertThat(decoded.getAuthentication().isAuthenticated()).isTrue();
+        assertThat(decoded.getAuthentication().getAuthorities()).extracting("authority").containsExactly("ADMIN");
+        assertThat(decoded.getAuthentication().getDetails()).isEqualTo(authentication.getDetails());
+        assertThat(((CashierUserDetails) decoded.getAuthentication().getPrincipal()).getCashier())
+                .usingRecursiveComparison().isEqualTo(cashier);
+    }
+
+    @Test
+    @DisplayName("Task 4: Other types fall back to Java serialization and rows written before the codec still decode")
+    void testFallbackAndLegacyRows_Decode() {
+        CartController.ShoppingCart cart = new CartController.ShoppingCart();
+        cart.getItems().put(10L, new CartController.CartItem(10L, "Nasi Goreng", null, 2, null));
+
+        byte[] encoded = codec.encode(cart);
+        CartController.ShoppingCart decoded = (CartController.ShoppingCart) codec.decode(encoded);
+
+        assertThat(encoded).isEqualTo(java.encode(cart));
+        assertThat(decoded.getItems().get(10L).getQuantity()).isEqualTo(2);
+        assertThat(codec.decode(java.encode("token-1"))).isEqualTo("token-1");
+        assertThat(codec.decode(java.encode(5L))).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Task 5: An unknown tag is rejected instead of misread")
+    void testUnknownTag_Rejected() {
+        assertThatThrownBy(() -> codec.decode(new byte[]{99, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("Task 6: With compact writes off values are written as Java serialization, compact rows still load")
+    void testJavaWrites_StillDecodeCompactRows() {
+        CompactSessionAttributeCodec javaWrites = new CompactSessionAttributeCodec(java, false);
+        byte[] storedCompact = codec.encode("token-1");
+
+        assertThat(javaWrites.encode("token-1")).isEqualTo(java.encode("token-1"));
+        assertThat(javaWrites.encode(42L)).isEqualTo(java.encode(42L));
+        assertThat(javaWrites.decode(storedCompact)).isEqualTo("token-1");
+        assertThat(javaWrites.decode(codec.encode(cashier()))).usingRecursiveComparison().isEqualTo(cashier());
+        assertThat(javaWrites.decode(javaWrites.encode(42L))).isEqualTo(42L);
+    }
+
+    static CashierDto cashier() {
+        CashierDto cashier = new CashierDto();
+        cashier.setId(1L);
+        cashier.setUsername("kasir1");
+        cashier.setDisplayName("Kasir Satu");
+        cashier.setRole(Cashier.CashierRole.CASHIER);
+        cashier.setIsActive(true);
+        cashier.setLastLogin(LocalDateTime.of(2025, 1, 15, 8, 30, 12, 123_000_000));
+        cashier.setCreatedAt(LocalDateTime.of(2024, 11, 2, 9, 0));
+        return cashier;
+    }
+}
@@ -0,0 +1,155 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.session.NearCacheSessionRepository;
+import menuorderingapp.project.session.SessionNearCache;
+import menuorderingapp.project.session.SessionTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Near Cache Test")
+class SessionNearCacheTestCase {
+
+    @Mock
+    private SessionTable sessionTable;
+
+    private MapSessionRepository delegate;
+    private SessionNearCache nearCache;
+    private NearCacheSessionRepository<MapSession> repository;
+    private String sessionId;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new MapSessionRepository(new ConcurrentHashMap<>()));
+        nearCache = new SessionNearCache(sessionTable, 100);
+        repository = new NearCacheSessionRepository<>(delegate, nearCache, sessionTable);
+
+        MapSession stored = delegate.createSession();
+        stored.setAttribute("cashierId", 1L);
+        stored.setAttribute("sessionToken", "token-1");
+        delegate.save(stored);
+        sessionId = stored.getId();
+        clearInvocations(delegate);
+    }
+
+    @Test
+    @DisplayName("Task 1: A session at an unchanged version is served from the cache")
+    void testUnchangedVersion_ServedFromCache() {
+        when(sessionTable.findVersion(sessionId)).thenReturn(new SessionTable.SessionVersion(3, Instant.now()));
+
+        repository.findById(sessionId);
+        NearCacheSessionRepository<MapSession>.CachedSession second = repository.findById(sessionId);
+
+        assertThat(second.<Long>getAttribute("cashierId")).isEqualTo(1L);
+        verify(delegate, times(1)).findById(sessionId);
+        verify(sessionTable, times(2)).findVersion(sessionId);
+    }
+
+    @Test
+    @DisplayName("Task 2: A session written by another node is reloaded")
+    void testNewerVersion_Reloaded() {
+        when(sessionTable.findVersion(sessionId)).thenReturn(
+                new SessionTable.SessionVersion(3, Instant.now()), new SessionTable.SessionVersion(4, Instant.now()));
+        repository.findById(sessionId);
+        MapSession elsewhere = delegate.findById(sessionId);
+        elsewhere.setAttribute("cashierId", 2L);
+        delegate.save(elsewhere);
+
+        NearCacheSessionRepository<MapSession>.CachedSession reloaded = repository.findById(sessionId);
+
+        assertThat(reloaded.<Long>getAttribute("cashierId")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Task 3: Requests that only touch the session are written behind, one update per session")
+    void testLastAccessOnly_WrittenBehindAndCoalesced() {
+        Instant now = Instant.now();
+        when(sessionTable.findVersion(sessionId)).thenReturn(new SessionTable.SessionVersion(3, now));
+
+        NearCacheSessionRepository<MapSession>.CachedSession first = repository.findById(sessionId);
+        first.setLastAccessedTime(now.plusSeconds(5));
+        repository.save(first);
+        NearCacheSessionRepository<MapSession>.CachedSession second = repository.findById(sessionId);
+        second.setLastAccessedTime(now.plusSeconds(9));
+        repository.save(second);
+
+        verify(delegate, never()).save(any());
+        verify(sessionTable, never()).advanceVersion(anyString(), anyLong());
+
+        nearCache.flush();
+        nearCache.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, SessionTable.SessionAccess>> accesses = ArgumentCaptor.forClass(Map.class);
+        verify(sessionTable, times(1)).touch(accesses.capture());
+        assertThat(accesses.getValue()).containsOnlyKeys(sessionId);
+        assertThat(accesses.getValue().get(sessionId).lastAccessedTime()).isEqualTo(now.plusSeconds(9));
+    }
+
+    @Test
+    @DisplayName("Task 4: Only changed attributes are written, so a concurrent change to another attribute survives")
+    void testConflictingWrite_OnlyDirtyAttributesApplied() {
+        when(sessionTable.findVersion(sessionId)).thenReturn(new SessionTable.SessionVersion(3, Instant.now()));
+        when(sessionTable.advanceVersion(sessionId, 3)).thenReturn(false);
+        NearCacheSessionRepository<MapSession>.CachedSession session = repository.findById(sessionId);
+
+        MapSession elsewhere = delegate.findById(sessionId);
+        elsewhere.setAttribute("sessionToken", "token-2");
+        delegate.save(elsewhere);
+
+        session.setAttribute("cashierId", 2L);
+        repository.save(session);
+
+        MapSession stored = delegate.findById(sessionId);
+        assertThat(stored.<Long>getAttribute("cashierId")).isEqualTo(2L);
+        assertThat(stored.<String>getAttribute("sessionToken")).isEqualTo("token-2");
+        verify(sessionTable).forceAdvanceVersion(sessionId);
+        assertThat(nearCache.get(sessionId)).isNull();
+    }
+
+    @Test
+    @DisplayName("Task 5: An up-to-date write refreshes the cache at the next version")
+    void testUpToDateWrite_CachedAtNextVersion() {
+        when(sessionTable.findVersion(sessionId)).thenReturn(
+                new SessionTable.SessionVersion(3, Instant.now()), new SessionTable.SessionVersion(4, Instant.now()));
+        when(sessionTable.advanceVersion(sessionId, 3)).thenReturn(true);
+        NearCacheSessionRepository<MapSession>.CachedSession session = repository.findById(sessionId);
+
+        session.removeAttribute("sessionToken");
+        repository.save(session);
+        NearCacheSessionRepository<MapSession>.CachedSession next = repository.findById(sessionId);
+
+        // One load for the first read, one to apply the change; the read after the write is a cache hit
+        verify(delegate, times(2)).findById(sessionId);
+        verify(sessionTable, never()).forceAdvanceVersion(anyString());
+        assertThat(nearCache.get(sessionId).version()).isEqualTo(4);
+        assertThat(next.getAttributeNames()).containsExactly("cashierId");
+        assertThat(delegate.findById(sessionId).getAttributeNames()).containsExactly("cashierId");
+    }
+
+    @Test
+    @DisplayName("Task 6: A session removed by another node is not served from the cache")
+    void testDeletedElsewhere_NotServed() {
+        when(sessionTable.findVersion(sessionId)).thenReturn(new SessionTable.SessionVersion(3, Instant.now()),
+                (SessionTable.SessionVersion) null);
+        repository.findById(sessionId);
+
+        assertThat(repository.findById(sessionId)).isNull();
+        assertThat(nearCache.size()).isZero();
+    }
+}
@@ -0,0 +1,128 @@
+package menuorderingapp.project.testcase;
+
+import menuorderingapp.project.model.Cashier;
+import menuorderingapp.project.model.CashierSession;
+import menuorderingapp.project.repository.CashierRepository;
+import menuorderingapp.project.repository.CashierSessionRepository;
+import menuorderingapp.project.security.PosTokenService;
+import menuorderingapp.project.security.SessionTokenCache;
+import menuorderingapp.project.service.CashierService;
+import menuorderingapp.project.service.impl.AuthServiceImpl;
+import menuorderingapp.project.session.ExpiredSessionSweeper;
+import menuorderingapp.project.session.SessionTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Token Test")
+class SessionTokenTestCase {
+
+    @Mock
+    private CashierService cashierService;
+    @Mock
+    private CashierRepository cashierRepository;
+    @Mock
+    private CashierSessionRepository sessionRepository;
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private SessionTable sessionTable;
+
+    private SessionTokenCache tokenCache;
+    private ExpiredSessionSweeper sweeper;
+    private AuthServiceImpl authService;
+    private Cashier cashier;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new SessionTokenCache(100, 60, 10);
+        sweeper = new ExpiredSessionSweeper(sessionRepository, sessionTable, tokenCache, 500);
+        authService = new AuthServiceImpl(cashierService, cashierRepository, sessionRepository,
+                authenticationManager, tokenCache, sweeper, new PosTokenService(false, "", 15));
+
+        cashier = new Cashier("kasir1", "hash", "Kasir Satu", Cashier.CashierRole.CASHIER);
+        cashier.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Task 1: A valid token is looked up once and then served from the cache")
+    void testValidToken_LookedUpOnce() {
+        when(sessionRepository.findWithCashierBySessionToken("token-1")).thenReturn(
+                Optional.of(new CashierSession(cashier, "token-1", LocalDateTime.now().plusHours(8))));
+
+        assertThat(authService.validateSession("token-1")).isTrue();
+        assertThat(authService.getCashierFromSession("token-1")).isSameAs(cashier);
+        assertThat(authService.getCashierFromSession("token-1")).isSameAs(cashier);
+
+        verify(sessionRepository, times(1)).findWithCashierBySessionToken("token-1");
+    }
+
+    @Test
+    @DisplayName("Task 2: Unknown and expired tokens are remembered as invalid")
+    void testUnknownAndExpiredTokens_NegativelyCached() {
+        when(sessionRepository.findWithCashierBySessionToken("unknown")).thenReturn(Optional.empty());
+        when(sessionRepository.findWithCashierBySessionToken("expired")).thenReturn(
+                Optional.of(new CashierSession(cashier, "expired", LocalDateTime.now().minusMinutes(1))));
+
+        assertThat(authService.validateSession("unknown")).isFalse();
+        assertThat(authService.validateSession("unknown")).isFalse();
+        assertThatThrownBy(() -> authService.getCashierFromSession("expired"))
+                .hasMessage("Invalid or expired session");
+        assertThat(authService.validateSession("expired")).isFalse();
+
+        verify(sessionRepository, times(1)).findWithCashierBySessionToken("unknown");
+        verify(sessionRepository, times(1)).findWithCashierBySessionToken("expired");
+    }
+
+    @Test
+    @DisplayName("Task 3: Logout invalidates a cached token immediately")
+    void testLogout_InvalidatesCachedToken() {
+        tokenCache.putValid("token-1", cashier, LocalDateTime.now().plusHours(8));
+        CashierSession session = new CashierSession(cashier, "token-1", LocalDateTime.now().plusHours(8));
+        when(sessionRepository.findBySessionToken("token-1")).thenReturn(Optional.of(session));
+
+        authService.logout("token-1");
+
+        assertThat(authService.validateSession("token-1")).isFalse();
+        verify(sessionRepository).delete(session);
+        verify(sessionRepository, never()).findWithCashierBySessionToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Task 4: A cached token is not kept past its session's expiry")
+    void testCachedToken_BoundedBySessionExpiry() {
+        tokenCache.putValid("token-1", cashier, LocalDateTime.now().minusSeconds(1));
+        when(sessionRepository.findWithCashierBySessionToken("token-1")).thenReturn(Optional.empty());
+
+        assertThat(authService.validateSession("token-1")).isFalse();
+        verify(sessionRepository).findWithCashierBySessionToken("token-1");
+    }
+
+    @Test
+    @DisplayName("Task 5: The sweeper deletes expired rows in chunks until a chunk comes back short")
+    void testSweep_DeletesInChunks() {
+        when(sessionRepository.deleteExpiredChunk(any(LocalDateTime.class), eq(500))).thenReturn(500, 500, 12);
+        when(sessionTable.deleteExpired(any(), eq(500))).thenReturn(3);
+        tokenCache.putInvalid("unknown");
+        tokenCache.putValid("token-1", cashier, LocalDateTime.now().minusSeconds(1));
+
+        authService.cleanupExpiredSessions();
+
+        verify(sessionRepository, times(3)).deleteExpiredChunk(any(LocalDateTime.class), eq(500));
+        verify(sessionTable, times(1)).deleteExpired(any(), eq(500));
+        assertThat(tokenCache.size()).isEqualTo(1);
+    }
+}